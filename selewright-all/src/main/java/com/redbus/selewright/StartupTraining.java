@@ -0,0 +1,107 @@
+package com.redbus.selewright;
+
+import com.microsoft.playwright.BrowserType;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import io.appium.java_client.ios.options.XCUITestOptions;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * This class is the training run used by the "appcds" and "aot" build profiles. It drives a short, representative scenario through
+ * every backend against a local {@link StubServer}, so that the JVM records the classes a test suite loads before its first action
+ * (Selenium, Playwright, Appium, Gson, the HTTP clients and Selewright itself).
+ * <pre>
+ * java -XX:ArchiveClassesAtExit=selewright.jsa -cp ... com.redbus.selewright.StartupTraining [selenium,playwright,appium]
+ * </pre>
+ * A backend whose browser cannot be started is skipped with a warning. The classes loaded up to that point are still recorded.
+ * An archive is only used by JVMs whose class path starts with the training class path, so when the system property
+ * "selewright.training.classpathFile" is set, the class path of the run is written to that file for the test launcher to reuse.
+ */
+public class StartupTraining {
+
+    private static final String PAGE = "<!DOCTYPE html><html><head><title>Selewright</title></head><body>"
+            + "<input id='name'/><button id='greet' onclick=\"fetch('/api/greeting?name=' + encodeURIComponent("
+            + "document.getElementById('name').value)).then(r => r.json()).then(j => {"
+            + "document.getElementById('greeting').textContent = j.greeting;})\">Greet</button>"
+            + "<p id='greeting'></p><ul>" + "<li class='item'>item</li>".repeat(20) + "</ul></body></html>";
+
+    public static void main(String[] args) {
+        String[] backends = (args.length > 0 ? args[0] : "selenium,playwright,appium").split(",");
+        MetricsRegistry registry = new MetricsRegistry();
+        String classpathFile = System.getProperty("selewright.training.classpathFile");
+        if (classpathFile != null) {
+            try {
+                Files.writeString(Paths.get(classpathFile), System.getProperty("java.class.path"), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        try (StubServer server = new StubServer().start()) {
+            server.stub("GET", "/training", new StubResponse().setResponseHeader("Content-Type", "text/html").setResponseBody(PAGE));
+            server.stub("GET", "/api/greeting*", request -> new StubResponse()
+                    .setResponseBody("{\"greeting\":\"Hello " + request.getQueryParameter("name") + "\"}"));
+            for (String backend : backends) {
+                try {
+                    train(backend.trim(), server, registry);
+                } catch (RuntimeException | LinkageError e) {
+                    System.err.println("Skipping " + backend.trim() + " training: " + e.getMessage());
+                }
+            }
+        }
+        System.out.println(registry.toJson());
+    }
+
+    private static void train(String backend, StubServer server, MetricsRegistry registry) {
+        if (backend.equalsIgnoreCase("selenium")) {
+            ChromeOptions options = new ChromeOptions().addArguments("--headless=new", "--disable-gpu", "--no-sandbox");
+            SeleniumImplementation selenium = new SeleniumImplementation(RoundTripCounter.decorate(new ChromeDriver(options)));
+            try {
+                scenario(InstrumentedSelewright.wrap(selenium, registry), server);
+            } finally {
+                selenium.closeBrowser();
+            }
+        } else if (backend.equalsIgnoreCase("playwright")) {
+            try (PlaywrightLauncher launcher = new PlaywrightLauncher().setLaunchOptions(new BrowserType.LaunchOptions().setHeadless(true))) {
+                PlaywrightImplementation playwright = launcher.acquire();
+                try {
+                    scenario(InstrumentedSelewright.wrap(playwright, registry), server);
+                } finally {
+                    launcher.release(playwright);
+                }
+            }
+        } else if (backend.equalsIgnoreCase("appium")) {
+            // No device is available at build time, so only the client side (capabilities and locators) is loaded
+            new UiAutomator2Options().setAutomationName("UiAutomator2").setNewCommandTimeout(Duration.ofSeconds(60)).asMap();
+            new XCUITestOptions().setAutomationName("XCUITest").asMap();
+            AppiumBy.accessibilityId("training").toString();
+        } else {
+            throw new IllegalArgumentException("Invalid backend: " + backend);
+        }
+    }
+
+    private static void scenario(Selewright selewright, StubServer server) {
+        selewright.openUrl(server.url("/training"));
+        selewright.waitForElementToBeVisible("#name", 10);
+        selewright.enterText("#name", "Selewright");
+        selewright.fetchResponse("/api/greeting", "#greet", Selewright.BrowserAction.CLICK);
+        selewright.getText("#greeting");
+        selewright.getAllText(".item");
+        selewright.isDisplayed("#greet");
+
+        Map<RequestConditionsToMock, MockResponseToSend> mocks = new HashMap<>();
+        mocks.put(new RequestConditionsToMock().setRequestURLSubStrings(new HashSet<>(Collections.singletonList("/api/greeting"))),
+                new MockResponseToSend().setResponseBodyModificationParams(Map.of("greeting", "Mocked")));
+        selewright.clickAndMock("#greet", mocks);
+        selewright.takeScreenshotAsBase64(false);
+    }
+}
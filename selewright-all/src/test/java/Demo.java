@@ -1,5 +1,7 @@
-import com.microsoft.playwright.*;
-import com.redbus.selewright.PlaywrightImplementation;
+import com.redbus.selewright.InstrumentedSelewright;
+import com.redbus.selewright.MetricsRegistry;
+import com.redbus.selewright.PlaywrightLauncher;
+import com.redbus.selewright.RoundTripCounter;
 import com.redbus.selewright.SeleniumImplementation;
 import com.redbus.selewright.Selewright;
 import org.openqa.selenium.WebDriver;
@@ -11,15 +13,17 @@ import org.openqa.selenium.chrome.ChromeDriver;
 public class Demo {
     public static void main(String[] args) {
         Selewright selewright = null;
+        MetricsRegistry metrics = new MetricsRegistry();
 
         try {
-            selewright = setupSelewright("selenium");
+            selewright = InstrumentedSelewright.wrap(setupSelewright("selenium"), metrics);
             boolean result = runSampleTest(selewright);
             System.out.println("Test Verification: " + result);
         } finally {
             if (selewright != null) {
                 selewright.closeBrowser();
             }
+            System.out.println(metrics.toJson());
         }
     }
 
@@ -30,15 +34,11 @@ public class Demo {
      */
     private static Selewright setupSelewright(String automationTool) {
         if ("selenium".equalsIgnoreCase(automationTool.trim())) {
-            WebDriver driver = new ChromeDriver();
+            WebDriver driver = RoundTripCounter.decorate(new ChromeDriver());
             return new SeleniumImplementation(driver);
         } else if ("playwright".equalsIgnoreCase(automationTool.trim())) {
-            Playwright playwright = Playwright.create();
-            Browser browser = playwright.chromium()
-                    .launch(new BrowserType.LaunchOptions().setHeadless(false));
-            BrowserContext context = browser.newContext();
-            Page page = context.newPage();
-            return new PlaywrightImplementation(page);
+            // Driver and browser are started in the background by the launcher, ideally as early as the suite setup
+            return PlaywrightLauncher.getDefault().acquire();
         }
         throw new IllegalArgumentException("Invalid tool: " + automationTool);
     }
@@ -51,10 +51,7 @@ public class Demo {
      */
     private static boolean runSampleTest(Selewright selewright) {
         selewright.openUrl("https://github.com/orgs/redbus-labs/repositories");
-        long startTime = System.nanoTime();
         selewright.click("//a[@href='/redbus-labs/selewright']");
-        long endTime = System.nanoTime();
-        System.out.println("Time taken to click and load repository: " + (endTime - startTime) / 1_000_000 + " ms");
         return selewright.isDisplayed("(//a[@href='/redbus-labs/selewright/blob/main/README.md'])[last()]");
     }
 }
@@ -0,0 +1,340 @@
+package com.redbus.selewright;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.remote.SupportsContextSwitching;
+import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Interactive;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class implements Selewright Interface using Appium, for native apps and web views on mobile devices. Methods not specific
+ * to touch devices are inherited from {@link SeleniumImplementation}. For method documentation please refer to the interface.
+ * <p>
+ * Gestures are sent as W3C action sequences, one "perform" call per gesture or per {@link GestureBatch}. Elements found are cached
+ * per locator until an action which may change the screen (click, tap, typing, swipe, navigation, window switch) runs, so repeated
+ * reads of the same screen do not go back to the Appium server. The screen size is cached the same way, except that gestures keep it.
+ * Call {@link #invalidateElementCache()} when the screen changes on its own, e.g. after a rotation or a context switch.
+ * <p>
+ * Besides CSS and XPath, locators can be "~accessibility id", "id=resource id", "android=UiSelector" and "ios=NSPredicate".
+ */
+public class AppiumImplementation extends SeleniumImplementation {
+    private static final String BACKEND = "appium";
+    private static final int ELEMENT_CACHE_SIZE = 256;
+    private static final int SWIPE_DURATION_MS = 400;
+
+    private final Map<String, WebElement> elementCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WebElement> eldest) {
+            return size() > ELEMENT_CACHE_SIZE;
+        }
+    };
+    private Dimension screenSize;
+
+    /**
+     * @param driver An AppiumDriver, or one decorated with RoundTripCounter.
+     */
+    public AppiumImplementation(WebDriver driver) {
+        super(driver);
+        logger = new SelewrightLogger("appium");
+    }
+
+    @Override
+    By locator(String address) {
+        if (address.startsWith("~")) {
+            return AppiumBy.accessibilityId(address.substring(1));
+        } else if (address.startsWith("id=")) {
+            return AppiumBy.id(address.substring(3));
+        } else if (address.startsWith("android=")) {
+            return AppiumBy.androidUIAutomator(address.substring(8));
+        } else if (address.startsWith("ios=")) {
+            return AppiumBy.iOSNsPredicateString(address.substring(4));
+        }
+        return getLocator(address);
+    }
+
+    /**
+     * Get a batch to send several gestures to the device in a single call
+     */
+    public GestureBatch gestures() {
+        return new GestureBatch(this);
+    }
+
+    /**
+     * Drops every cached element and the cached screen size, e.g. after the app changed the screen without a Selewright action
+     */
+    public void invalidateElementCache() {
+        elementCache.clear();
+        screenSize = null;
+    }
+
+    @Override
+    public WebElement findElement(String address) {
+        WebElement element = elementCache.get(address);
+        if (element != null) {
+            return element;
+        }
+        try {
+            // Most lookups succeed on the first try, so the polling wait is only used when the element is not there yet
+            element = driver.findElement(locator(address));
+        } catch (NoSuchElementException e) {
+            element = super.findElement(address);
+        }
+        elementCache.put(address, element);
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements(String address) {
+        List<WebElement> elements = driver.findElements(locator(address));
+        return elements.isEmpty() ? super.findElements(address) : elements;
+    }
+
+    @Override
+    public void click(String address) {
+        Instrumentation.action(BACKEND, "click", address, () -> {
+            withElement(address, element -> {
+                element.click();
+                return null;
+            });
+            invalidateElementCache();
+        });
+    }
+
+    @Override
+    public void tap(String address) {
+        Instrumentation.action(BACKEND, "tap", address, () -> {
+            withElement(address, element -> {
+                send(gestures().tap(address));
+                return null;
+            });
+        });
+    }
+
+    @Override
+    public void clear(String address) {
+        Instrumentation.action(BACKEND, "clear", address, () -> {
+            withElement(address, element -> {
+                element.clear();
+                return null;
+            });
+        });
+    }
+
+    @Override
+    public void enterText(String address, String text) {
+        Instrumentation.action(BACKEND, "enterText", address, () -> {
+            withElement(address, element -> {
+                element.sendKeys(text);
+                return null;
+            });
+            invalidateElementCache();
+        });
+    }
+
+    @Override
+    public void enterText(String address, String text, TypingStrategy strategy) {
+        super.enterText(address, text, strategy);
+        invalidateElementCache();
+    }
+
+    @Override
+    public String getText(String address) {
+        return withElement(address, WebElement::getText);
+    }
+
+    @Override
+    public String getAttribute(String address, String attributeName) {
+        return withElement(address, element -> element.getAttribute(attributeName));
+    }
+
+    @Override
+    public void openUrl(String url) {
+        invalidateElementCache();
+        super.openUrl(url);
+    }
+
+    @Override
+    public void refreshPage() {
+        invalidateElementCache();
+        super.refreshPage();
+    }
+
+    @Override
+    public void navigateBack() {
+        invalidateElementCache();
+        super.navigateBack();
+    }
+
+    @Override
+    public void navigateForward() {
+        invalidateElementCache();
+        super.navigateForward();
+    }
+
+    @Override
+    public boolean switchToChildWindow() {
+        boolean switched = super.switchToChildWindow();
+        invalidateElementCache();
+        return switched;
+    }
+
+    @Override
+    public boolean switchToParentWindow() {
+        boolean switched = super.switchToParentWindow();
+        invalidateElementCache();
+        return switched;
+    }
+
+    @Override
+    public void closeCurrentTab() {
+        super.closeCurrentTab();
+        invalidateElementCache();
+    }
+
+    @Override
+    public void selectDropdownBasedOnValue(String address, String value) {
+        withElement(address, element -> {
+            super.selectDropdownBasedOnValue(address, value);
+            return null;
+        });
+        invalidateElementCache();
+    }
+
+    @Override
+    public void clickUsingJavascriptExecutor(String address) {
+        withElement(address, element -> {
+            super.clickUsingJavascriptExecutor(address);
+            return null;
+        });
+        invalidateElementCache();
+    }
+
+    @Override
+    public void clickAllElements(String address) {
+        super.clickAllElements(address);
+        invalidateElementCache();
+    }
+
+    @Override
+    public void clickUsingCoordinatesInsideCanvas(int xCoordinates, int yCoordinates) {
+        super.clickUsingCoordinatesInsideCanvas(xCoordinates, yCoordinates);
+        invalidateElementCache();
+    }
+
+    @Override
+    public void enterTextUsingKeyboard(String text) {
+        super.enterTextUsingKeyboard(text);
+        invalidateElementCache();
+    }
+
+    @Override
+    public void removeElements(String address) {
+        withElement(address, element -> {
+            super.removeElements(address);
+            return null;
+        });
+        invalidateElementCache();
+    }
+
+    @Override
+    public void removeElements(String address, String data) {
+        super.removeElements(address, data);
+        invalidateElementCache();
+    }
+
+    @Override
+    public boolean waitUntilPageLoadComplete() {
+        if (driver instanceof SupportsContextSwitching && String.valueOf(((SupportsContextSwitching) driver).getContext()).startsWith("NATIVE")) {
+            // Native screens have no document to wait for
+            return true;
+        }
+        return super.waitUntilPageLoadComplete();
+    }
+
+    @Override
+    public void clickUsingCoordinates(int xCoordinates, int yCoordinates) {
+        Instrumentation.action(BACKEND, "clickUsingCoordinates", xCoordinates + "," + yCoordinates, () -> {
+            send(gestures().tap(xCoordinates, yCoordinates));
+        });
+    }
+
+    @Override
+    public void swipeHorizontal(double startXPercent, double endXPercent, double yPercent, int durationMs) {
+        Instrumentation.action(BACKEND, "swipeHorizontal", null, () -> {
+            Dimension size = getScreenSize();
+            int y = (int) (size.getHeight() * fraction(yPercent));
+            send(gestures().swipe((int) (size.getWidth() * fraction(startXPercent)), y, (int) (size.getWidth() * fraction(endXPercent)), y, durationMs));
+        });
+    }
+
+    @Override
+    public void swipeElement() {
+        Instrumentation.action(BACKEND, "swipeElement", null, () -> {
+            Dimension size = getScreenSize();
+            int x = size.getWidth() / 2;
+            send(gestures().swipe(x, (int) (size.getHeight() * 0.8), x, (int) (size.getHeight() * 0.2), SWIPE_DURATION_MS));
+        });
+    }
+
+    @Override
+    public void swipeDown() {
+        Instrumentation.action(BACKEND, "swipeDown", null, () -> {
+            Dimension size = getScreenSize();
+            int x = size.getWidth() / 2;
+            send(gestures().swipe(x, (int) (size.getHeight() * 0.2), x, (int) (size.getHeight() * 0.8), SWIPE_DURATION_MS));
+        });
+    }
+
+    @Override
+    public boolean isTouchDevice() {
+        return true;
+    }
+
+    /**
+     * Get the screen size, read again after the element cache was invalidated
+     */
+    public Dimension getScreenSize() {
+        if (screenSize == null) {
+            screenSize = driver.manage().window().getSize();
+        }
+        return screenSize;
+    }
+
+    void perform(GestureBatch batch) {
+        Instrumentation.action(BACKEND, "gestures", batch.size() + " gestures", () -> {
+            send(batch);
+        });
+    }
+
+    private void send(GestureBatch batch) {
+        if (batch.size() == 0) {
+            return;
+        }
+        ((Interactive) driver).perform(Collections.singletonList(batch.getSequence()));
+        // A gesture may change what is on the screen, not its size
+        elementCache.clear();
+    }
+
+    private <T> T withElement(String address, Function<WebElement, T> action) {
+        boolean cached = elementCache.containsKey(address);
+        try {
+            return action.apply(findElement(address));
+        } catch (StaleElementReferenceException | NoSuchElementException e) {
+            if (e instanceof NoSuchElementException && !cached) {
+                throw e;
+            }
+            // The screen, window or context changed since the element was cached
+            elementCache.remove(address);
+            return action.apply(findElement(address));
+        }
+    }
+
+    private static double fraction(double percent) {
+        return percent / 100;
+    }
+}
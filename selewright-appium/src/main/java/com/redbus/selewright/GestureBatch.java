@@ -0,0 +1,117 @@
+package com.redbus.selewright;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+
+/**
+ * This class collects touch gestures into a single W3C action sequence, so that any number of taps, long presses and swipes
+ * reach the Appium server as one "perform" call instead of one call per gesture.
+ * <pre>
+ * appium.gestures()
+ *         .tap("~Search")
+ *         .swipe(500, 1600, 500, 400, 300)
+ *         .tap(200, 900)
+ *         .perform();
+ * </pre>
+ * Gestures on elements use the element as origin, so no extra call is made to read the element position.
+ */
+public class GestureBatch {
+    private static final Duration TAP_DURATION = Duration.ofMillis(50);
+    private static final Duration GESTURE_GAP = Duration.ofMillis(100);
+
+    private final AppiumImplementation appium;
+    private final PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+    private final Sequence sequence = new Sequence(finger, 0);
+    private int size = 0;
+
+    GestureBatch(AppiumImplementation appium) {
+        this.appium = appium;
+    }
+
+    /**
+     * Taps on the given screen coordinates
+     */
+    public GestureBatch tap(int x, int y) {
+        next();
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y));
+        press(TAP_DURATION);
+        return this;
+    }
+
+    /**
+     * Taps on the center of the element identified by the given locator
+     */
+    public GestureBatch tap(String address) {
+        WebElement element = appium.findElement(address);
+        next();
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.fromElement(element), 0, 0));
+        press(TAP_DURATION);
+        return this;
+    }
+
+    /**
+     * Presses on the given screen coordinates for the given duration
+     */
+    public GestureBatch longPress(int x, int y, int durationMs) {
+        next();
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y));
+        press(Duration.ofMillis(durationMs));
+        return this;
+    }
+
+    /**
+     * Swipes from the start to the end coordinates in the given duration
+     */
+    public GestureBatch swipe(int startX, int startY, int endX, int endY, int durationMs) {
+        next();
+        sequence.addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), startX, startY));
+        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        sequence.addAction(finger.createPointerMove(Duration.ofMillis(durationMs), PointerInput.Origin.viewport(), endX, endY));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        return this;
+    }
+
+    /**
+     * Waits between two gestures, e.g. for an animation to finish
+     */
+    public GestureBatch pause(int durationMs) {
+        sequence.addAction(new Pause(finger, Duration.ofMillis(durationMs)));
+        return this;
+    }
+
+    /**
+     * Get the number of gestures in this batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sends all gestures of this batch to the Appium server in a single call. Cached elements are dropped afterwards,
+     * as the gestures may have changed the screen.
+     */
+    public void perform() {
+        appium.perform(this);
+    }
+
+    Sequence getSequence() {
+        return sequence;
+    }
+
+    private void next() {
+        if (size > 0) {
+            sequence.addAction(new Pause(finger, GESTURE_GAP));
+        }
+        size++;
+    }
+
+    private void press(Duration duration) {
+        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+        sequence.addAction(new Pause(finger, duration));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+    }
+}
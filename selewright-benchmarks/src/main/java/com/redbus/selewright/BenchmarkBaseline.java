@@ -0,0 +1,117 @@
+package com.redbus.selewright;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class compares a JMH result file (written with "-rf json") against a baseline result file and fails when a benchmark regressed.
+ * A benchmark regressed when it got worse by more than the threshold and by more than the combined error of both runs.
+ * <pre>
+ * java -jar target/benchmarks.jar -rf json -rff target/results.json
+ * java -cp target/benchmarks.jar com.redbus.selewright.BenchmarkBaseline compare target/results.json baseline/benchmarks-baseline.json 10
+ * java -cp target/benchmarks.jar com.redbus.selewright.BenchmarkBaseline update target/results.json baseline/benchmarks-baseline.json
+ * </pre>
+ */
+public class BenchmarkBaseline {
+    public static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: BenchmarkBaseline compare|update <results.json> <baseline.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Path results = Paths.get(args[1]);
+        Path baseline = Paths.get(args[2]);
+        if (args[0].equals("update")) {
+            if (baseline.getParent() != null) {
+                Files.createDirectories(baseline.getParent());
+            }
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline found at " + baseline + ". Create one with: BenchmarkBaseline update " + results + " " + baseline);
+            return;
+        }
+        double threshold = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_THRESHOLD_PERCENT;
+        int regressions = compare(read(results), read(baseline), threshold);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /**
+     * Prints the comparison of every benchmark present in both files.
+     *
+     * @param current          Scores of the current run.
+     * @param baseline         Scores of the baseline run.
+     * @param thresholdPercent Allowed slowdown in percent.
+     * @return The number of regressed benchmarks.
+     */
+    static int compare(Map<String, Score> current, Map<String, Score> baseline, double thresholdPercent) {
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %-90s %12.3f %s%n", entry.getKey(), now.score, now.unit);
+                continue;
+            }
+            // For throughput a higher score is better, for every other mode a lower score is better
+            double worse = now.higherIsBetter ? before.score - now.score : now.score - before.score;
+            double changePercent = before.score == 0 ? 0 : 100 * worse / before.score;
+            boolean regressed = changePercent > thresholdPercent && worse > now.error + before.error;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %-90s %12.3f -> %12.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "OK",
+                    entry.getKey(), before.score, now.score, now.unit, changePercent);
+        }
+        System.out.println(regressions + " regression(s) above " + thresholdPercent + "%");
+        return regressions;
+    }
+
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        JsonArray runs = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonArray();
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+            if (run.has("params")) {
+                // Sorted so that the key does not depend on the order in the file
+                new TreeMap<>(run.getAsJsonObject("params").asMap()).forEach((name, value) ->
+                        key.append(' ').append(name).append('=').append(value.getAsString()));
+            }
+            JsonObject metric = run.getAsJsonObject("primaryMetric");
+            double error = metric.get("scoreError").isJsonPrimitive() && metric.get("scoreError").getAsJsonPrimitive().isNumber()
+                    ? metric.get("scoreError").getAsDouble() : 0;
+            scores.put(key.toString(), new Score(metric.get("score").getAsDouble(), Double.isNaN(error) ? 0 : error,
+                    metric.get("scoreUnit").getAsString(), run.get("mode").getAsString().equals("thrpt")));
+        }
+        return scores;
+    }
+
+    static final class Score {
+        final double score;
+        final double error;
+        final String unit;
+        final boolean higherIsBetter;
+
+        Score(double score, double error, String unit, boolean higherIsBetter) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+}
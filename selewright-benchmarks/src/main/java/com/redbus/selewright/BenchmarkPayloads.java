@@ -0,0 +1,80 @@
+package com.redbus.selewright;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class builds the payloads used by the benchmarks: search-result style JSON documents of a given size and mock rule sets.
+ * Payloads are deterministic so that results of different runs can be compared.
+ */
+final class BenchmarkPayloads {
+    static final String SHALLOW_KEY_PATH = "meta.requestId";
+    static final String DEEP_KEY_PATH = "search.filters.operator";
+    static final String REQUEST_URL = "https://www.redbus.in/api/v2/search/inventory?from=122&to=123&doj=2025-10-18";
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * Builds a JSON object of roughly the given size. The value of {@link #DEEP_KEY_PATH} is placed after the bulk of the document,
+     * so that looking it up scans the complete payload.
+     */
+    static String json(int targetBytes) {
+        StringBuilder json = new StringBuilder(targetBytes + 512);
+        json.append("{\"meta\":{\"requestId\":\"5f0c2a\",\"currency\":\"INR\",\"count\":0},\"inventory\":[");
+        int item = 0;
+        while (json.length() < targetBytes - 200) {
+            if (item > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(item)
+                    .append(",\"operator\":\"Operator ").append(item % 97)
+                    .append("\",\"busType\":\"A/C Sleeper (2+1)\",\"departure\":\"2025-10-18T")
+                    .append(String.format("%02d:%02d", item % 24, item % 60))
+                    .append("\",\"fare\":{\"base\":").append(400 + item % 900)
+                    .append(",\"tax\":").append(item % 50)
+                    .append("},\"seats\":{\"available\":").append(item % 40)
+                    .append(",\"windows\":").append(item % 12)
+                    .append("},\"amenities\":[\"wifi\",\"charging\",\"water\"],\"rating\":")
+                    .append(3 + item % 3).append(".").append(item % 10).append('}');
+            item++;
+        }
+        json.append("],\"search\":{\"source\":\"Bangalore\",\"destination\":\"Chennai\",\"filters\":{\"operator\":\"Operator 7\",\"ac\":true}}}");
+        return json.toString();
+    }
+
+    /**
+     * Builds a rule set where only the last rule matches {@link #REQUEST_URL} with the given body.
+     * Every third rule has header conditions and every second rule has body conditions, so that all kinds of checks are exercised.
+     */
+    static Map<RequestConditionsToMock, MockResponseToSend> rules(int count) {
+        Map<RequestConditionsToMock, MockResponseToSend> rules = new LinkedHashMap<>();
+        for (int i = 0; i < count - 1; i++) {
+            RequestConditionsToMock conditions = new RequestConditionsToMock()
+                    .setRequestURLSubStrings(Set.of(i % 4 == 0 ? "/api/v2/search" : "/api/v1/route" + i));
+            if (i % 3 == 0) {
+                conditions.setRequestHeaders(Map.of("x-channel", "APP" + i));
+            }
+            if (i % 2 == 0) {
+                conditions.setRequestBodyKeyPathsAndValues(Map.of(DEEP_KEY_PATH, "Operator " + (i + 1000)));
+            }
+            rules.put(conditions, new MockResponseToSend().setResponseCode(200).setResponseBody("{\"rule\":" + i + "}"));
+        }
+        rules.put(new RequestConditionsToMock()
+                        .setRequestURLSubStrings(Set.of("/api/v2/search"))
+                        .setRequestHeaders(Map.of("x-channel", "WEB"))
+                        .setRequestBodyKeyPathsAndValues(Map.of(DEEP_KEY_PATH, "Operator 7")),
+                new MockResponseToSend().setResponseCode(200).setResponseBody("{\"rule\":\"last\"}"));
+        return rules;
+    }
+
+    static Map<String, String> headers() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-channel", "WEB");
+        headers.put("content-type", "application/json");
+        headers.put("user-agent", "Mozilla/5.0");
+        return headers;
+    }
+}
@@ -0,0 +1,122 @@
+package com.redbus.selewright;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This class runs the {@link EndToEndScenario}s against a local {@link FixtureServer} with headless browsers and reports the
+ * latency (p50/p99), wait time and wire calls of every Selewright method, per backend.
+ * <pre>
+ * java -cp target/benchmarks.jar com.redbus.selewright.EndToEndBenchmark [selenium,playwright] [iterations] [outputDirectory]
+ * </pre>
+ * A JSON report per backend is written to the output directory (default "target").
+ */
+public class EndToEndBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        String[] backends = (args.length > 0 ? args[0] : "selenium,playwright").split(",");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path outputDirectory = Paths.get(args.length > 2 ? args[2] : "target");
+        Files.createDirectories(outputDirectory);
+
+        try (FixtureServer server = new FixtureServer().start()) {
+            for (String backend : backends) {
+                MetricsRegistry registry = run(backend.trim(), server, iterations);
+                print(backend.trim(), registry);
+                Path report = outputDirectory.resolve("e2e-" + backend.trim() + ".json");
+                Files.writeString(report, registry.toJson(), StandardCharsets.UTF_8);
+                System.out.println("Report written to " + report.toAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Runs every scenario once as warm up and then the given number of times while recording.
+     *
+     * @param backend    "selenium" or "playwright".
+     * @param server     The fixture server.
+     * @param iterations The number of measured runs of every scenario.
+     * @return The registry holding the measured calls. Complete scenarios are recorded as "scenario:NAME".
+     */
+    public static MetricsRegistry run(String backend, FixtureServer server, int iterations) {
+        MetricsRegistry registry = new MetricsRegistry();
+        Session session = open(backend);
+        try {
+            Selewright warmUp = InstrumentedSelewright.wrap(session.selewright, new MetricsRegistry());
+            for (EndToEndScenario scenario : EndToEndScenario.values()) {
+                scenario.run(warmUp, server);
+            }
+            Selewright selewright = InstrumentedSelewright.wrap(session.selewright, registry);
+            for (int i = 0; i < iterations; i++) {
+                for (EndToEndScenario scenario : EndToEndScenario.values()) {
+                    long start = System.nanoTime();
+                    boolean failed = true;
+                    try {
+                        scenario.run(selewright, server);
+                        failed = false;
+                    } catch (RuntimeException e) {
+                        System.err.println(backend + " " + scenario + " failed: " + e.getMessage());
+                    } finally {
+                        registry.record("scenario:" + scenario, System.nanoTime() - start, 0, 0, failed);
+                    }
+                }
+            }
+        } finally {
+            session.close();
+        }
+        return registry;
+    }
+
+    private static Session open(String backend) {
+        if (backend.equalsIgnoreCase("selenium")) {
+            ChromeOptions options = new ChromeOptions().addArguments("--headless=new", "--disable-gpu", "--no-sandbox");
+            SeleniumImplementation selenium = new SeleniumImplementation(RoundTripCounter.decorate(new ChromeDriver(options)));
+            return new Session(selenium, selenium::closeBrowser);
+        } else if (backend.equalsIgnoreCase("playwright")) {
+            Playwright playwright = Playwright.create();
+            Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+            PlaywrightImplementation implementation = new PlaywrightImplementation(browser.newContext().newPage());
+            return new Session(implementation, () -> {
+                implementation.closeBrowser();
+                browser.close();
+                playwright.close();
+            });
+        }
+        throw new IllegalArgumentException("Invalid backend: " + backend);
+    }
+
+    private static void print(String backend, MetricsRegistry registry) {
+        System.out.println();
+        System.out.println("== " + backend + " ==");
+        System.out.printf("%-32s %7s %7s %10s %10s %10s %10s %10s%n", "method", "count", "errors", "p50 ms", "p99 ms", "mean ms", "wait/call", "wire/call");
+        for (MethodMetrics method : registry.getAll()) {
+            LatencyHistogram latency = method.getLatency();
+            System.out.printf("%-32s %7d %7d %10.1f %10.1f %10.1f %10.1f %10.1f%n", method.getMethod(), method.getCount(),
+                    method.getErrorCount(), latency.getPercentileMillis(50), latency.getPercentileMillis(99), latency.getMeanMillis(),
+                    method.getWaitMillis() / Math.max(1, method.getCount()), (double) method.getRoundTrips() / Math.max(1, method.getCount()));
+        }
+    }
+
+    private static final class Session {
+        private final Selewright selewright;
+        private final Runnable closer;
+
+        private Session(Selewright selewright, Runnable closer) {
+            this.selewright = selewright;
+            this.closer = closer;
+        }
+
+        void close() {
+            closer.run();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.redbus.selewright;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The scripted scenarios run by {@link EndToEndBenchmark}. Every scenario only uses the Selewright interface, so both backends run exactly the same steps.
+ */
+public enum EndToEndScenario {
+    SPA {
+        @Override
+        void run(Selewright selewright, FixtureServer server) {
+            selewright.openUrl(server.url("/spa#/home"));
+            selewright.click("#nav-items");
+            selewright.isDisplayed("#item-49");
+            selewright.getText("#item-10");
+            selewright.click("#nav-form");
+            selewright.enterText("#name", "Selewright");
+            selewright.click("#submit");
+            selewright.getText("#greeting");
+            selewright.navigateBack();
+        }
+    },
+    INFINITE_SCROLL {
+        @Override
+        void run(Selewright selewright, FixtureServer server) {
+            selewright.openUrl(server.url("/infinite"));
+            selewright.scrollTillEnd("/api/feed");
+            selewright.getElementCount(".card");
+            selewright.isDisplayed("#end");
+        }
+    },
+    DIALOGS {
+        @Override
+        void run(Selewright selewright, FixtureServer server) {
+            selewright.openUrl(server.url("/dialogs"));
+            selewright.clickAndAcceptAlert("#alert");
+        }
+    },
+    HEAVY_XHR {
+        @Override
+        void run(Selewright selewright, FixtureServer server) {
+            selewright.openUrl(server.url("/xhr"));
+            selewright.waitForElementToBeVisible("#done", 30);
+            selewright.getText("#summary");
+        }
+    },
+    MOCK_REWRITE {
+        /**
+         * The longest gap allowed between two pings while the mocked response is rewritten. The rewrite itself takes well over a second.
+         */
+        static final int MAX_STALL_MS = 500;
+
+        @Override
+        void run(Selewright selewright, FixtureServer server) {
+            Map<String, Object> modifications = new LinkedHashMap<>();
+            for (int i = 0; i < 10; i++) {
+                modifications.put("/inventory/" + i + "/fare/base", 1);
+            }
+            Map<RequestConditionsToMock, MockResponseToSend> rules = Map.of(
+                    new RequestConditionsToMock().setRequestURLSubStrings(Set.of("/api/data")),
+                    new MockResponseToSend().setResponseBodyModificationParams(modifications));
+            if (selewright.openUrlAndMock(server.url("/mock"), rules) == null) {
+                // Backend without mocking support, only the page is measured
+                selewright.openUrl(server.url("/mock"));
+            }
+            selewright.waitForElementToBeVisible("#done", 30);
+            int stall = Integer.parseInt(selewright.getText("#stall"));
+            if (stall > MAX_STALL_MS) {
+                throw new IllegalStateException("Pings stalled for " + stall + " ms while the mocked response was rewritten");
+            }
+        }
+    };
+
+    abstract void run(Selewright selewright, FixtureServer server);
+}
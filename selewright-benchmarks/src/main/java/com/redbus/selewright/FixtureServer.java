@@ -0,0 +1,98 @@
+package com.redbus.selewright;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class serves deterministic fixture pages for the end-to-end benchmarks from a {@link StubServer}, so that both backends
+ * are measured against the same content without any network noise.
+ * Pages: /spa (client side routing), /infinite (infinite scroll), /dialogs (alert and confirm), /xhr (many parallel requests),
+ * /mock (pings an API while a large response is in flight).
+ * APIs: /api/items?count=, /api/feed?page=, /api/data?size=&amp;delay=.
+ */
+public class FixtureServer implements AutoCloseable {
+    public static final int FEED_PAGES = 8;
+    public static final int FEED_PAGE_SIZE = 10;
+
+    private final StubServer server = new StubServer();
+
+    public FixtureServer() {
+        for (String page : new String[]{"spa", "infinite", "dialogs", "xhr", "mock"}) {
+            server.stub("GET", "/" + page, new StubResponse()
+                    .setResponseHeader("Content-Type", "text/html; charset=utf-8")
+                    .setResponseHeader("Cache-Control", "no-store")
+                    .setResponseBody(resource("fixtures/" + page + ".html")));
+        }
+        server.stub("GET", "/api/items", request -> new StubResponse().setResponseBody(items(intParam(request, "count", 20))));
+        server.stub("GET", "/api/feed", request -> new StubResponse().setResponseBody(feed(intParam(request, "page", 0))));
+        server.stub("GET", "/api/data", request -> new StubResponse()
+                .setLatency(intParam(request, "delay", 0), 0)
+                .setResponseBody(BenchmarkPayloads.json(intParam(request, "size", 1024))));
+    }
+
+    /**
+     * Starts the server on a free local port
+     */
+    public FixtureServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Get the absolute URL of a path served by this server, e.g. url("/spa#/items")
+     */
+    public String url(String path) {
+        return server.url(path);
+    }
+
+    /**
+     * Get the underlying stub server, e.g. to inspect its request journal
+     */
+    public StubServer getStubServer() {
+        return server;
+    }
+
+    @Override
+    public void close() {
+        server.close();
+    }
+
+    private static String items(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"Item ").append(i).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String feed(int page) {
+        StringBuilder json = new StringBuilder("{\"cards\":[");
+        for (int i = 0; i < FEED_PAGE_SIZE; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"title\":\"Card ").append(page * FEED_PAGE_SIZE + i).append("\"}");
+        }
+        json.append("],\"last\":").append(page >= FEED_PAGES - 1).append('}');
+        return json.toString();
+    }
+
+    private static byte[] resource(String name) {
+        try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int intParam(RecordedRequest request, String name, int defaultValue) {
+        try {
+            String value = request.getQueryParameter(name);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
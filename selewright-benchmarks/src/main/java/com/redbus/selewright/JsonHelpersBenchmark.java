@@ -0,0 +1,51 @@
+package com.redbus.selewright;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the JSON helpers of {@link OtherHelpers} which run for every mocked request: reading a value from a request body
+ * (rule evaluation) and rewriting a response body (dynamic mocking).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonHelpersBenchmark {
+
+    @Param({"1024", "65536", "1048576", "5242880"})
+    int payloadBytes;
+
+    private final OtherHelpers otherHelpers = new OtherHelpers();
+    private String json;
+    private Map<String, Object> modifications;
+
+    @Setup
+    public void setup() {
+        json = BenchmarkPayloads.json(payloadBytes);
+        modifications = new LinkedHashMap<>();
+        modifications.put("/meta/currency", "USD");
+        modifications.put("/inventory/0/fare/base", 1);
+        modifications.put("/search/filters/ac", false);
+    }
+
+    @Benchmark
+    public String getJsonValueShallow() {
+        return otherHelpers.getJsonValue(json, BenchmarkPayloads.SHALLOW_KEY_PATH);
+    }
+
+    @Benchmark
+    public String getJsonValueDeep() {
+        return otherHelpers.getJsonValue(json, BenchmarkPayloads.DEEP_KEY_PATH);
+    }
+
+    @Benchmark
+    public String modifyJsonValues() {
+        return otherHelpers.modifyJsonValues(json, modifications);
+    }
+}
@@ -0,0 +1,51 @@
+package com.redbus.selewright;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the evaluation of mock rules done for every intercepted request. Only the last rule matches, so a hit walks the complete rule set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MockRuleMatcherBenchmark {
+
+    @Param({"10", "100", "500"})
+    int ruleCount;
+
+    @Param({"1024", "1048576"})
+    int payloadBytes;
+
+    private final MockRuleMatcher matcher = new MockRuleMatcher();
+    private Map<RequestConditionsToMock, MockResponseToSend> rules;
+    private Map<String, String> headers;
+    private String body;
+
+    @Setup
+    public void setup() {
+        rules = BenchmarkPayloads.rules(ruleCount);
+        headers = BenchmarkPayloads.headers();
+        body = BenchmarkPayloads.json(payloadBytes);
+    }
+
+    @Benchmark
+    public Object findMatchingRuleHit() {
+        return matcher.findMatchingRule(rules, BenchmarkPayloads.REQUEST_URL, headers, body);
+    }
+
+    @Benchmark
+    public Object findMatchingRuleMiss() {
+        return matcher.findMatchingRule(rules, "https://www.redbus.in/static/app.js", headers, null);
+    }
+
+    @Benchmark
+    public boolean mayMatchMiss() {
+        return matcher.mayMatch(rules, "https://www.redbus.in/static/app.js");
+    }
+}
@@ -0,0 +1,38 @@
+package com.redbus.selewright;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+
+/**
+ * Benchmarks the small string helpers called on every action or link: locator parsing, JSON path conversion and domain extraction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringHelpersBenchmark {
+
+    private final OtherHelpers otherHelpers = new OtherHelpers();
+
+    @Benchmark
+    public String convertIntelliJJsonPathToRightFormat() {
+        return otherHelpers.convertIntelliJJsonPathToRightFormat("/details/0/data/*1/inventory/12/fare/base");
+    }
+
+    @Benchmark
+    public String extractDomain() {
+        return otherHelpers.extractDomain("https://www.redbus.in:443/bus-tickets/bangalore-to-chennai?fromCityId=122&toCityId=123");
+    }
+
+    @Benchmark
+    public void getLocator(Blackhole blackhole) {
+        blackhole.consume(SeleniumImplementation.getLocator("//a[@href='/redbus-labs/selewright']"));
+        blackhole.consume(SeleniumImplementation.getLocator("((//div[@class='bus-item'])[3]//span)[1]"));
+        blackhole.consume(SeleniumImplementation.getLocator("div.bus-item > span.fare"));
+    }
+}
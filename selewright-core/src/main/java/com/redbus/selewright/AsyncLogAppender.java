@@ -0,0 +1,137 @@
+package com.redbus.selewright;
+
+import java.io.PrintStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class writes log lines on a background thread so that test threads never block on console output.
+ * Producers only append to a lock-free queue. When the queue is full, new lines are dropped and counted instead of
+ * slowing the test down, and the number of dropped lines is reported with the next batch.
+ * <p>
+ * The writer thread is started by {@link #start()} and stopped by {@link #close()}, which writes the remaining lines.
+ * The default appender is started on first use and closed on shutdown.
+ */
+public class AsyncLogAppender implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private static final AsyncLogAppender DEFAULT = new AsyncLogAppender(System.out, DEFAULT_CAPACITY).start();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DEFAULT::close, "selewright-log-shutdown"));
+    }
+
+    private final PrintStream out;
+    private final int capacity;
+    private final Queue<String> lines = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private long reportedDropped = 0;
+    private volatile Thread writer;
+    private volatile boolean closed = false;
+
+    public AsyncLogAppender(PrintStream out, int capacity) {
+        this.out = out;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Starts the writer thread. Lines appended before are kept and written once it runs.
+     */
+    public synchronized AsyncLogAppender start() {
+        if (writer == null && !closed) {
+            writer = new Thread(this::writeLoop, "selewright-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        return this;
+    }
+
+    /**
+     * Get the appender shared by all loggers writing to the console. It is closed on shutdown and must not be closed otherwise.
+     */
+    public static AsyncLogAppender getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Queues a line to be written. Never blocks.
+     *
+     * @param line The fully formatted log line.
+     */
+    public void append(String line) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        lines.add(line);
+        if (closed) {
+            flush();
+        } else {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Get the number of lines dropped since the appender was created because the queue was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes every queued line on the calling thread. Used by {@link #close()} so that the last lines are not lost.
+     */
+    public synchronized void flush() {
+        StringBuilder batch = new StringBuilder();
+        String line;
+        while ((line = lines.poll()) != null) {
+            size.decrementAndGet();
+            batch.append(line).append(System.lineSeparator());
+        }
+        long droppedLines = dropped.get() - reportedDropped;
+        reportedDropped += droppedLines;
+        if (droppedLines > 0) {
+            batch.append("[selewright] WARN  ").append(droppedLines).append(" log lines dropped as the log queue was full").append(System.lineSeparator());
+        }
+        if (batch.length() > 0) {
+            out.print(batch);
+            out.flush();
+        }
+    }
+
+    /**
+     * Stops the writer thread and writes every queued line. Lines appended afterwards are written on the calling thread.
+     */
+    @Override
+    public void close() {
+        Thread running;
+        synchronized (this) {
+            closed = true;
+            running = writer;
+        }
+        if (running != null) {
+            LockSupport.unpark(running);
+            try {
+                running.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            if (lines.isEmpty()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            flush();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.redbus.selewright;
+
+import java.util.List;
+
+/**
+ * This class holds the outcome of the evaluation of a page by a {@link PerformanceBudget}
+ */
+public class BudgetResult {
+    private final String page;
+    private final PagePerformance performance;
+    private final List<String> violations;
+    private final List<String> regressions;
+
+    BudgetResult(String page, PagePerformance performance, List<String> violations, List<String> regressions) {
+        this.page = page;
+        this.performance = performance;
+        this.violations = violations;
+        this.regressions = regressions;
+    }
+
+    /**
+     * Get the page the history of the evaluation is kept under: the URL without query and fragment
+     */
+    public String getPage() {
+        return page;
+    }
+
+    /**
+     * Get the evaluated performance
+     */
+    public PagePerformance getPerformance() {
+        return performance;
+    }
+
+    /**
+     * Get the limits the page is above
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Get the metrics which got worse than the rolling baseline of the page by more than the regression threshold
+     */
+    public List<String> getRegressions() {
+        return regressions;
+    }
+
+    /**
+     * Get whether the page is within every limit and did not regress
+     */
+    public boolean isPassed() {
+        return violations.isEmpty() && regressions.isEmpty();
+    }
+
+    /**
+     * Checks that the page is within every limit and did not regress
+     *
+     * @throws AssertionError listing the violations and regressions otherwise.
+     */
+    public BudgetResult assertPassed() {
+        if (!isPassed()) {
+            throw new AssertionError(toString());
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        if (isPassed()) {
+            return page + " within budget";
+        }
+        StringBuilder text = new StringBuilder(page).append(" over budget:");
+        violations.forEach(violation -> text.append("\n  ").append(violation));
+        regressions.forEach(regression -> text.append("\n  ").append(regression));
+        return text.toString();
+    }
+}
@@ -0,0 +1,188 @@
+package com.redbus.selewright;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents a single network exchange captured by Selewright, either while mocking or while listening to responses.
+ * The response body is kept as raw bytes (in memory or spilled to disk) and is only converted to a string when it is asked for.
+ */
+public class CapturedExchange {
+    private final long sequence;
+    private final String url;
+    private final long capturedAtMillis;
+    private final Integer responseCode;
+    private final Map<String, String> responseHeaders;
+    private final int bodyLength;
+    private byte[] inMemoryBody;
+    private Path spilledBody;
+
+    CapturedExchange(long sequence, String url, Integer responseCode, Map<String, String> responseHeaders, byte[] body) {
+        this.sequence = sequence;
+        this.url = url;
+        this.capturedAtMillis = System.currentTimeMillis();
+        this.responseCode = responseCode;
+        this.responseHeaders = responseHeaders;
+        this.bodyLength = body == null ? 0 : body.length;
+        this.inMemoryBody = body;
+    }
+
+    /**
+     * Get the order in which this exchange was captured within its store
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Get the request URL of the exchange
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the epoch time in milliseconds at which the exchange was captured
+     */
+    public long getCapturedAtMillis() {
+        return capturedAtMillis;
+    }
+
+    /**
+     * Get the response code of the exchange
+     */
+    public Integer getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * Get the response headers of the exchange
+     */
+    public Map<String, String> getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /**
+     * Get the size of the response body in bytes
+     */
+    public int getBodyLength() {
+        return bodyLength;
+    }
+
+    /**
+     * Checks whether the response body has been moved out of the heap to a file on disk
+     */
+    public synchronized boolean isSpilledToDisk() {
+        return spilledBody != null;
+    }
+
+    /**
+     * Reads the response body. The body is read from disk if it was spilled, hence avoid calling this method in a loop.
+     *
+     * @return The response body as a UTF-8 string, or null if the exchange had no body.
+     */
+    public String getResponseBody() {
+        byte[] bytes = getResponseBodyBytes();
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the raw bytes of the response body.
+     *
+     * @return The response body bytes, or null if the exchange had no body.
+     */
+    public synchronized byte[] getResponseBodyBytes() {
+        if (inMemoryBody != null) {
+            return inMemoryBody;
+        }
+        if (spilledBody == null) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(spilledBody);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Captured body for " + url + " is no longer available", e);
+        }
+    }
+
+    /**
+     * Returns the exchange in the format returned by the mocking methods of Selewright (mockResponseCode, mockResponseHeaders, mockResponseBody).
+     * The body entry is resolved only when it is read.
+     */
+    public Map<String, Object> asMockDetails() {
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, Object>> entrySet() {
+                return Set.of(
+                        new SimpleImmutableEntry<>("mockResponseCode", responseCode),
+                        new SimpleImmutableEntry<>("mockResponseHeaders", responseHeaders),
+                        new SimpleImmutableEntry<>("mockResponseBody", getResponseBody()));
+            }
+
+            @Override
+            public Object get(Object key) {
+                if ("mockResponseCode".equals(key)) {
+                    return responseCode;
+                } else if ("mockResponseHeaders".equals(key)) {
+                    return responseHeaders;
+                } else if ("mockResponseBody".equals(key)) {
+                    return getResponseBody();
+                }
+                return null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return "mockResponseCode".equals(key) || "mockResponseHeaders".equals(key) || "mockResponseBody".equals(key);
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+    }
+
+    /**
+     * Moves the in-memory body to the given file.
+     *
+     * @return Number of heap bytes released.
+     */
+    synchronized int spillTo(Path file) throws IOException {
+        if (inMemoryBody == null) {
+            return 0;
+        }
+        Files.write(file, inMemoryBody);
+        spilledBody = file;
+        inMemoryBody = null;
+        return bodyLength;
+    }
+
+    /**
+     * Returns the number of body bytes currently held on the heap
+     */
+    synchronized int inMemoryBytes() {
+        return inMemoryBody == null ? 0 : bodyLength;
+    }
+
+    /**
+     * Drops the body from memory and disk. The exchange metadata is still available after this call.
+     */
+    synchronized void discardBody() {
+        inMemoryBody = null;
+        if (spilledBody != null) {
+            try {
+                Files.deleteIfExists(spilledBody);
+            } catch (IOException e) {
+                // Removed with the spill directory when the store is closed
+            }
+            spilledBody = null;
+        }
+    }
+}
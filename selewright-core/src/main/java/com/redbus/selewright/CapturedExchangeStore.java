@@ -0,0 +1,349 @@
+package com.redbus.selewright;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * This class stores the network exchanges captured during a browser session (mocked responses, fetched responses etc.).
+ * Unlike a plain map keyed by URL, it keeps a short history per URL, caps the heap used by response bodies,
+ * moves large bodies to disk and evicts the oldest exchanges once the limits are reached. This keeps memory flat in long sessions.
+ * <p>
+ * A spilled body is deleted as soon as its exchange is evicted. The temporary directory created for spilled bodies is removed by
+ * {@link #close()}, or on shutdown for stores which are never closed.
+ */
+public class CapturedExchangeStore implements AutoCloseable {
+    private static final Set<Path> TEMPORARY_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Path directory : TEMPORARY_DIRECTORIES) {
+                deleteDirectory(directory);
+            }
+        }, "selewright-capture-shutdown"));
+    }
+
+    public static final long DEFAULT_MAX_IN_MEMORY_BYTES = 32L * 1024 * 1024;
+    public static final int DEFAULT_SPILL_THRESHOLD_BYTES = 256 * 1024;
+    public static final int DEFAULT_MAX_ENTRIES_PER_URL = 10;
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private long maxInMemoryBytes = DEFAULT_MAX_IN_MEMORY_BYTES;
+    private int spillThresholdBytes = DEFAULT_SPILL_THRESHOLD_BYTES;
+    private int maxEntriesPerUrl = DEFAULT_MAX_ENTRIES_PER_URL;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private boolean spillToDisk = true;
+    private Path spillDirectory;
+    private Path temporaryDirectory;
+
+    private final SelewrightLogger logger;
+    private final Map<String, Deque<CapturedExchange>> historyByUrl = new HashMap<>();
+    private final Deque<CapturedExchange> allExchanges = new ArrayDeque<>();
+    private long nextSequence = 0;
+    private long inMemoryBytes = 0;
+
+    public CapturedExchangeStore() {
+        this(new SelewrightLogger("capture-store"));
+    }
+
+    public CapturedExchangeStore(SelewrightLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Set the maximum number of response body bytes to be held on the heap across all exchanges
+     */
+    public synchronized CapturedExchangeStore setMaxInMemoryBytes(long maxInMemoryBytes) {
+        this.maxInMemoryBytes = maxInMemoryBytes;
+        enforceLimits();
+        return this;
+    }
+
+    /**
+     * Set the body size (in bytes) above which a body is written to disk straight away instead of being held on the heap
+     */
+    public synchronized CapturedExchangeStore setSpillThresholdBytes(int spillThresholdBytes) {
+        this.spillThresholdBytes = spillThresholdBytes;
+        return this;
+    }
+
+    /**
+     * Set the number of exchanges to be remembered for a single URL. Older exchanges of the same URL are evicted.
+     */
+    public synchronized CapturedExchangeStore setMaxEntriesPerUrl(int maxEntriesPerUrl) {
+        this.maxEntriesPerUrl = Math.max(1, maxEntriesPerUrl);
+        enforceLimits();
+        return this;
+    }
+
+    /**
+     * Set the total number of exchanges to be remembered. Oldest exchanges are evicted first.
+     */
+    public synchronized CapturedExchangeStore setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        enforceLimits();
+        return this;
+    }
+
+    /**
+     * Enable or disable writing large bodies to disk. When disabled, bodies above the heap limit are evicted instead.
+     */
+    public synchronized CapturedExchangeStore setSpillToDisk(boolean spillToDisk) {
+        this.spillToDisk = spillToDisk;
+        return this;
+    }
+
+    /**
+     * Set the directory in which spilled bodies are written. A temporary directory is used if this is not set.
+     */
+    public synchronized CapturedExchangeStore setSpillDirectory(Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    /**
+     * Records an exchange.
+     *
+     * @param url             The request URL.
+     * @param responseCode    The response code sent to the browser.
+     * @param responseHeaders The response headers sent to the browser.
+     * @param responseBody    The response body sent to the browser.
+     * @return The captured exchange.
+     */
+    public CapturedExchange record(String url, Integer responseCode, Map<String, String> responseHeaders, String responseBody) {
+        return record(url, responseCode, responseHeaders, responseBody == null ? null : responseBody.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Records an exchange whose body is available as raw bytes.
+     *
+     * @param url             The request URL.
+     * @param responseCode    The response code sent to the browser.
+     * @param responseHeaders The response headers sent to the browser.
+     * @param responseBody    The response body bytes sent to the browser.
+     * @return The captured exchange.
+     */
+    public synchronized CapturedExchange record(String url, Integer responseCode, Map<String, String> responseHeaders, byte[] responseBody) {
+        CapturedExchange exchange = new CapturedExchange(nextSequence++, url, responseCode, responseHeaders, responseBody);
+        if (responseBody != null && responseBody.length > spillThresholdBytes && spillToDisk) {
+            spill(exchange);
+        }
+        inMemoryBytes += exchange.inMemoryBytes();
+        historyByUrl.computeIfAbsent(url, k -> new ArrayDeque<>()).addLast(exchange);
+        allExchanges.addLast(exchange);
+        enforceLimits();
+        return exchange;
+    }
+
+    /**
+     * Returns a marker which can later be passed to {@link #mockDetailsSince(long)} or {@link #bodiesSince(long, Collection)}
+     * to look only at the exchanges captured after this point.
+     */
+    public synchronized long mark() {
+        return nextSequence;
+    }
+
+    /**
+     * Get the exchanges still remembered for the URL, oldest first
+     */
+    public synchronized List<CapturedExchange> getHistory(String url) {
+        Deque<CapturedExchange> history = historyByUrl.get(url);
+        return history == null ? Collections.emptyList() : new ArrayList<>(history);
+    }
+
+    /**
+     * Get the most recent exchange for the URL, or null if nothing is remembered for it
+     */
+    public synchronized CapturedExchange getLatest(String url) {
+        Deque<CapturedExchange> history = historyByUrl.get(url);
+        return history == null ? null : history.peekLast();
+    }
+
+    /**
+     * Get all exchanges still remembered, oldest first
+     */
+    public synchronized List<CapturedExchange> getAll() {
+        return new ArrayList<>(allExchanges);
+    }
+
+    /**
+     * Get the number of exchanges still remembered
+     */
+    public synchronized int size() {
+        return allExchanges.size();
+    }
+
+    /**
+     * Get the number of response body bytes currently held on the heap
+     */
+    public synchronized long getInMemoryBytes() {
+        return inMemoryBytes;
+    }
+
+    /**
+     * Returns the latest exchange of every URL captured after the marker, in the format returned by the mocking methods of Selewright.
+     * Bodies are read only when the map values are accessed.
+     *
+     * @param marker Value returned by {@link #mark()}.
+     * @return A map where the keys are request URLs and the values are their respective mock details.
+     */
+    public synchronized Map<String, Map<String, Object>> mockDetailsSince(long marker) {
+        Map<String, Map<String, Object>> details = new LinkedHashMap<>();
+        for (CapturedExchange exchange : allExchanges) {
+            if (exchange.getSequence() >= marker) {
+                details.put(exchange.getUrl(), exchange.asMockDetails());
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Returns the latest body captured after the marker for every API name, where an API name matches an exchange if it is part of its URL.
+     *
+     * @param marker   Value returned by {@link #mark()}.
+     * @param apiNames The API names to look for.
+     * @return A map where the keys are API names and the values are their respective response bodies.
+     */
+    public synchronized Map<String, String> bodiesSince(long marker, Collection<String> apiNames) {
+        Map<String, CapturedExchange> latest = new HashMap<>();
+        for (CapturedExchange exchange : allExchanges) {
+            if (exchange.getSequence() < marker) {
+                continue;
+            }
+            for (String apiName : apiNames) {
+                if (exchange.getUrl().contains(apiName)) {
+                    latest.put(apiName, exchange);
+                }
+            }
+        }
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<String, String>> entrySet() {
+                Set<Entry<String, String>> entries = new LinkedHashSet<>();
+                for (Map.Entry<String, CapturedExchange> entry : latest.entrySet()) {
+                    entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().getResponseBody()));
+                }
+                return entries;
+            }
+
+            @Override
+            public String get(Object key) {
+                CapturedExchange exchange = latest.get(key);
+                return exchange == null ? null : exchange.getResponseBody();
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return latest.containsKey(key);
+            }
+
+            @Override
+            public int size() {
+                return latest.size();
+            }
+        };
+    }
+
+    /**
+     * Forgets every exchange and deletes the spilled bodies
+     */
+    public synchronized void clear() {
+        for (CapturedExchange exchange : allExchanges) {
+            exchange.discardBody();
+        }
+        allExchanges.clear();
+        historyByUrl.clear();
+        inMemoryBytes = 0;
+    }
+
+    /**
+     * Forgets every exchange and deletes the spilled bodies, along with the temporary directory if one was created for them
+     */
+    @Override
+    public synchronized void close() {
+        clear();
+        if (temporaryDirectory != null) {
+            deleteDirectory(temporaryDirectory);
+            TEMPORARY_DIRECTORIES.remove(temporaryDirectory);
+            if (temporaryDirectory.equals(spillDirectory)) {
+                spillDirectory = null;
+            }
+            temporaryDirectory = null;
+        }
+    }
+
+    private void enforceLimits() {
+        for (Iterator<Deque<CapturedExchange>> it = historyByUrl.values().iterator(); it.hasNext(); ) {
+            Deque<CapturedExchange> history = it.next();
+            while (history.size() > maxEntriesPerUrl) {
+                CapturedExchange evicted = history.pollFirst();
+                allExchanges.remove(evicted);
+                evict(evicted);
+            }
+        }
+        while (allExchanges.size() > maxEntries) {
+            CapturedExchange evicted = allExchanges.pollFirst();
+            Deque<CapturedExchange> history = historyByUrl.get(evicted.getUrl());
+            history.remove(evicted);
+            if (history.isEmpty()) {
+                historyByUrl.remove(evicted.getUrl());
+            }
+            evict(evicted);
+        }
+        if (inMemoryBytes > maxInMemoryBytes) {
+            // Oldest bodies leave the heap first: to disk if allowed, otherwise they are dropped
+            for (CapturedExchange exchange : allExchanges) {
+                if (inMemoryBytes <= maxInMemoryBytes) {
+                    break;
+                }
+                int held = exchange.inMemoryBytes();
+                if (held == 0) {
+                    continue;
+                }
+                if (spillToDisk && spill(exchange)) {
+                    inMemoryBytes -= held;
+                } else {
+                    exchange.discardBody();
+                    inMemoryBytes -= held;
+                }
+            }
+        }
+    }
+
+    private void evict(CapturedExchange exchange) {
+        inMemoryBytes -= exchange.inMemoryBytes();
+        exchange.discardBody();
+    }
+
+    private boolean spill(CapturedExchange exchange) {
+        try {
+            if (spillDirectory == null) {
+                spillDirectory = Files.createTempDirectory("selewright-captures");
+                temporaryDirectory = spillDirectory;
+                TEMPORARY_DIRECTORIES.add(temporaryDirectory);
+            }
+            Path file = Files.createTempFile(spillDirectory, "body_" + exchange.getSequence() + "_", ".bin");
+            exchange.spillTo(file);
+            return true;
+        } catch (IOException e) {
+            logger.warn(() -> "Not able to spill captured body to disk: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException | UncheckedIOException e) {
+            // Left to the temporary directory cleanup of the OS
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.redbus.selewright;
+
+import com.google.gson.Gson;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds what {@link SiteCrawler} found on one page
+ */
+public class CrawledPage {
+    private static final Gson GSON = new Gson();
+
+    private final String url;
+    private final int depth;
+    private final String title;
+    private final long loadTimeMillis;
+    private final boolean slow;
+    private final int linkCount;
+    private final List<String> consoleErrors;
+    private final List<String> brokenLinks;
+    private final List<String> brokenImages;
+    private final String error;
+
+    CrawledPage(String url, int depth, String title, long loadTimeMillis, boolean slow, int linkCount, List<String> consoleErrors,
+                List<String> brokenLinks, List<String> brokenImages, String error) {
+        this.url = url;
+        this.depth = depth;
+        this.title = title;
+        this.loadTimeMillis = loadTimeMillis;
+        this.slow = slow;
+        this.linkCount = linkCount;
+        this.consoleErrors = consoleErrors == null ? Collections.emptyList() : consoleErrors;
+        this.brokenLinks = brokenLinks == null ? Collections.emptyList() : brokenLinks;
+        this.brokenImages = brokenImages == null ? Collections.emptyList() : brokenImages;
+        this.error = error;
+    }
+
+    static CrawledPage failed(String url, int depth, long loadTimeMillis, String error) {
+        return new CrawledPage(url, depth, null, loadTimeMillis, false, 0, null, null, null, error);
+    }
+
+    /**
+     * Get the URL of the page
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the number of links between the seed URL and the page
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Get the title of the page
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Get how long opening the page took, in milliseconds
+     */
+    public long getLoadTimeMillis() {
+        return loadTimeMillis;
+    }
+
+    /**
+     * Get whether the page took longer than the maximum load time of the crawler
+     */
+    public boolean isSlow() {
+        return slow;
+    }
+
+    /**
+     * Get the number of links found on the page
+     */
+    public int getLinkCount() {
+        return linkCount;
+    }
+
+    /**
+     * Get the console errors and uncaught exceptions of the page
+     */
+    public List<String> getConsoleErrors() {
+        return consoleErrors;
+    }
+
+    /**
+     * Get the links of the page which do not work, with their status
+     */
+    public List<String> getBrokenLinks() {
+        return brokenLinks;
+    }
+
+    /**
+     * Get the sources of the images of the page which did not load
+     */
+    public List<String> getBrokenImages() {
+        return brokenImages;
+    }
+
+    /**
+     * Get why the page could not be visited, or null
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Get whether every check of the page passed
+     */
+    public boolean isOk() {
+        return error == null && !slow && consoleErrors.isEmpty() && brokenLinks.isEmpty() && brokenImages.isEmpty();
+    }
+
+    /**
+     * Get the page as a single line of JSON
+     */
+    public String toJson() {
+        return GSON.toJson(this);
+    }
+
+    @Override
+    public String toString() {
+        return url + (isOk() ? " OK" : " " + (error != null ? error : (slow ? "slow " : "") + consoleErrors.size() + " console errors, "
+                + brokenLinks.size() + " broken links, " + brokenImages.size() + " broken images"));
+    }
+}
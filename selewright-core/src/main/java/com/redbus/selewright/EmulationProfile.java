@@ -0,0 +1,155 @@
+package com.redbus.selewright;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class is used to define the network and CPU conditions applied to a session by
+ * {@link Selewright#setEmulationProfile(EmulationProfile)}. They are applied through the DevTools protocol, so only Chromium
+ * supports them, except {@link #OFFLINE} which Playwright also supports on other browsers.
+ * <p>
+ * The network presets are the ones of the Network panel of DevTools. Profiles are immutable; combine a network preset with a
+ * CPU slowdown with {@link #withCpuSlowdown(double)}:
+ * <pre>
+ * selewright.setEmulationProfile(EmulationProfile.SLOW_4G.withCpuSlowdown(4));
+ * </pre>
+ */
+public final class EmulationProfile {
+    /**
+     * No throttling, the conditions of a session which was never throttled
+     */
+    public static final EmulationProfile NONE = new EmulationProfile("No throttling", false, 0, -1, -1, 1);
+    /**
+     * 2000 ms latency, 400 kbit/s down and up
+     */
+    public static final EmulationProfile SLOW_3G = new EmulationProfile("Slow 3G", 2000, 50_000, 50_000);
+    /**
+     * 562.5 ms latency, 1.44 Mbit/s down, 675 kbit/s up (named Fast 3G in older DevTools)
+     */
+    public static final EmulationProfile SLOW_4G = new EmulationProfile("Slow 4G", 562.5, 180_000, 84_375);
+    /**
+     * 165 ms latency, 8.1 Mbit/s down, 1.35 Mbit/s up
+     */
+    public static final EmulationProfile FAST_4G = new EmulationProfile("Fast 4G", 165, 1_012_500, 168_750);
+    /**
+     * No network at all
+     */
+    public static final EmulationProfile OFFLINE = new EmulationProfile("Offline", true, 0, -1, -1, 1);
+    /**
+     * Unthrottled network on a CPU four times slower, a mid-range phone
+     */
+    public static final EmulationProfile CPU_4X_SLOWDOWN = NONE.withCpuSlowdown(4);
+
+    private final String name;
+    private final boolean offline;
+    private final double latencyMillis;
+    private final long downloadBytesPerSecond;
+    private final long uploadBytesPerSecond;
+    private final double cpuSlowdown;
+
+    /**
+     * @param name                   The name of the profile, used in logs and metrics.
+     * @param latencyMillis          The latency added to every request, in milliseconds.
+     * @param downloadBytesPerSecond The download throughput, in bytes per second, or -1 for no limit.
+     * @param uploadBytesPerSecond   The upload throughput, in bytes per second, or -1 for no limit.
+     */
+    public EmulationProfile(String name, double latencyMillis, long downloadBytesPerSecond, long uploadBytesPerSecond) {
+        this(name, false, latencyMillis, downloadBytesPerSecond, uploadBytesPerSecond, 1);
+    }
+
+    private EmulationProfile(String name, boolean offline, double latencyMillis, long downloadBytesPerSecond, long uploadBytesPerSecond,
+                             double cpuSlowdown) {
+        this.name = name;
+        this.offline = offline;
+        this.latencyMillis = latencyMillis;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+        this.cpuSlowdown = cpuSlowdown;
+    }
+
+    /**
+     * Get a copy of this profile with the CPU slowed down by the given factor, e.g. 4 for a mid-range phone or 6 for a low-end one
+     */
+    public EmulationProfile withCpuSlowdown(double cpuSlowdown) {
+        String slowdown = String.format(Locale.ROOT, "%sx CPU slowdown", cpuSlowdown == Math.rint(cpuSlowdown)
+                ? String.valueOf((long) cpuSlowdown) : String.valueOf(cpuSlowdown));
+        return new EmulationProfile(this == NONE ? slowdown : name + ", " + slowdown, offline, latencyMillis, downloadBytesPerSecond,
+                uploadBytesPerSecond, Math.max(1, cpuSlowdown));
+    }
+
+    /**
+     * Get the name of the profile
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get whether the network is cut
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Get the latency added to every request, in milliseconds
+     */
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Get the download throughput, in bytes per second, or -1 for no limit
+     */
+    public long getDownloadBytesPerSecond() {
+        return downloadBytesPerSecond;
+    }
+
+    /**
+     * Get the upload throughput, in bytes per second, or -1 for no limit
+     */
+    public long getUploadBytesPerSecond() {
+        return uploadBytesPerSecond;
+    }
+
+    /**
+     * Get by how many times the CPU is slowed down, 1 for no slowdown
+     */
+    public double getCpuSlowdown() {
+        return cpuSlowdown;
+    }
+
+    /**
+     * Get whether the profile needs the DevTools protocol: any throttling other than going offline
+     */
+    public boolean needsDevTools() {
+        return latencyMillis > 0 || downloadBytesPerSecond >= 0 || uploadBytesPerSecond >= 0 || cpuSlowdown > 1;
+    }
+
+    /**
+     * Builds the parameters of the DevTools command Network.emulateNetworkConditions
+     */
+    Map<String, Object> toNetworkConditions() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("offline", offline);
+        parameters.put("latency", latencyMillis);
+        parameters.put("downloadThroughput", downloadBytesPerSecond);
+        parameters.put("uploadThroughput", uploadBytesPerSecond);
+        return parameters;
+    }
+
+    /**
+     * Builds the parameters of the DevTools command Emulation.setCPUThrottlingRate
+     */
+    Map<String, Object> toCpuThrottling() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("rate", cpuSlowdown);
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
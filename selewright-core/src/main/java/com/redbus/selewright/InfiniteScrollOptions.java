@@ -0,0 +1,137 @@
+package com.redbus.selewright;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class is used to define how {@link Selewright#scrollTillEnd(String, InfiniteScrollOptions)} scrolls an infinite list.
+ * The page is scrolled again as soon as it settled: no DOM change and no paging call in flight for the quiet period. The end is
+ * reached when a scroll did not make the page grow. A page which never settles, e.g. because of a live ticker or a carousel, is
+ * scrolled again after the page timeout if it grew meanwhile.
+ */
+public class InfiniteScrollOptions {
+    private int quietPeriodMs = 500;
+    private int maxPages = 100;
+    private int pageTimeoutInSeconds = 15;
+
+    /**
+     * Get the time without DOM change or paging call after which the page is considered settled, in milliseconds
+     */
+    public int getQuietPeriod() {
+        return quietPeriodMs;
+    }
+
+    /**
+     * Set the time without DOM change or paging call after which the page is considered settled. Default is 500 milliseconds.
+     */
+    public InfiniteScrollOptions setQuietPeriod(int quietPeriodMs) {
+        this.quietPeriodMs = Math.max(0, quietPeriodMs);
+        return this;
+    }
+
+    /**
+     * Get the maximum number of scrolls
+     */
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * Set the maximum number of scrolls, as a safety net for lists without end. Default is 100.
+     */
+    public InfiniteScrollOptions setMaxPages(int maxPages) {
+        this.maxPages = Math.max(1, maxPages);
+        return this;
+    }
+
+    /**
+     * Get how long a single page may take to settle, in seconds
+     */
+    public int getPageTimeout() {
+        return pageTimeoutInSeconds;
+    }
+
+    /**
+     * Set how long a single page may take to settle, e.g. a slow paging call. Past it, the page is scrolled again if it grew,
+     * otherwise the scroll stops. Default is 15 seconds.
+     */
+    public InfiniteScrollOptions setPageTimeout(int pageTimeoutInSeconds) {
+        this.pageTimeoutInSeconds = Math.max(1, pageTimeoutInSeconds);
+        return this;
+    }
+
+    /**
+     * Get the longest time the whole scroll may take, in milliseconds
+     */
+    long getOverallTimeoutMillis() {
+        return (long) maxPages * (pageTimeoutInSeconds * 1000L + quietPeriodMs);
+    }
+
+    /**
+     * Builds the single parameter of {@link #SCROLL_FUNCTION}
+     */
+    Map<String, Object> toScriptArguments(String api) {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("api", api == null ? "" : api);
+        arguments.put("quietMs", quietPeriodMs);
+        arguments.put("maxPages", maxPages);
+        arguments.put("pageTimeoutMs", pageTimeoutInSeconds * 1000);
+        return arguments;
+    }
+
+    /**
+     * Script scrolling the page until its end inside the page, so the whole scroll is a single round trip. DOM changes are
+     * observed with a MutationObserver and the paging calls by wrapping fetch and XMLHttpRequest for the duration of the scroll.
+     * Clients which kept a reference to fetch before the scroll are missed by these wrappers, so backends which can observe the
+     * network, like Playwright, count the calls on their side. It resolves with {calls, pages, reason}, where reason is "end",
+     * "maxPages" or "timeout".
+     */
+    static final String SCROLL_FUNCTION = "(o) => new Promise((resolve) => {"
+            + "const root = document.scrollingElement || document.documentElement;"
+            + "const matches = (url) => o.api.length > 0 && String(url).includes(o.api);"
+            + "let calls = 0, inFlight = 0, pages = 0, lastChange = Date.now(), pageStart = Date.now(), heightAtScroll = 0;"
+            + "const originalFetch = window.fetch, originalOpen = XMLHttpRequest.prototype.open, originalSend = XMLHttpRequest.prototype.send;"
+            + "const started = () => { calls++; inFlight++; lastChange = Date.now(); };"
+            + "const finished = () => { inFlight = Math.max(0, inFlight - 1); lastChange = Date.now(); };"
+            + "if (originalFetch) {"
+            + "  window.fetch = function (input, init) {"
+            + "    const url = input && input.url ? input.url : input;"
+            + "    if (!matches(url)) { return originalFetch.apply(this, arguments); }"
+            + "    started();"
+            + "    return originalFetch.apply(this, arguments).finally(finished);"
+            + "  };"
+            + "}"
+            + "XMLHttpRequest.prototype.open = function (method, url) { this.__selewrightPaging = matches(url); return originalOpen.apply(this, arguments); };"
+            + "XMLHttpRequest.prototype.send = function () {"
+            + "  if (this.__selewrightPaging) { started(); this.addEventListener('loadend', finished, {once: true}); }"
+            + "  return originalSend.apply(this, arguments);"
+            + "};"
+            + "const observer = new MutationObserver(() => { lastChange = Date.now(); });"
+            + "observer.observe(document.body, {childList: true, subtree: true});"
+            + "const finish = (reason) => {"
+            + "  observer.disconnect();"
+            + "  if (originalFetch) { window.fetch = originalFetch; }"
+            + "  XMLHttpRequest.prototype.open = originalOpen;"
+            + "  XMLHttpRequest.prototype.send = originalSend;"
+            + "  resolve({calls: calls, pages: pages, reason: reason});"
+            + "};"
+            + "const scroll = () => {"
+            + "  heightAtScroll = root.scrollHeight;"
+            + "  pages++;"
+            + "  pageStart = lastChange = Date.now();"
+            + "  window.scrollTo(0, root.scrollHeight);"
+            + "};"
+            + "const tick = () => {"
+            + "  const now = Date.now();"
+            + "  const timedOut = now - pageStart > o.pageTimeoutMs;"
+            + "  if (timedOut && root.scrollHeight <= heightAtScroll) { finish('timeout'); return; }"
+            + "  if (!timedOut && (inFlight > 0 || now - lastChange < o.quietMs)) { setTimeout(tick, 50); return; }"
+            + "  if (root.scrollHeight <= heightAtScroll) { finish('end'); return; }"
+            + "  if (pages >= o.maxPages) { finish('maxPages'); return; }"
+            + "  scroll();"
+            + "  setTimeout(tick, 50);"
+            + "};"
+            + "scroll();"
+            + "setTimeout(tick, 50);"
+            + "})";
+}
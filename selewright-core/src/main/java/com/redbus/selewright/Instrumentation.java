@@ -0,0 +1,192 @@
+package com.redbus.selewright;
+
+import java.util.function.Supplier;
+
+/**
+ * This class collects the timing details of the Selewright call running on the current thread.
+ * {@link InstrumentedSelewright} opens a scope around every call, the implementations report the time they spend in explicit
+ * waits and sleeps through {@link #timeWait(String, int, Supplier)} and {@link #sleep(String, long)}, and drivers decorated with
+ * RoundTripCounter (selewright-selenium) report every command sent to the browser. When no scope is open the hooks only run the wait.
+ * The same hooks emit Java Flight Recorder events ({@link SelewrightActionEvent}, {@link SelewrightWaitEvent}) which cost
+ * a single allocation, usually eliminated by the JIT, when no recording is running.
+ */
+public final class Instrumentation {
+    private static final ThreadLocal<CallScope> CURRENT = new ThreadLocal<>();
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Runs a wait and adds its duration to the wait time of the current call.
+     *
+     * @param kind           Short description of the wait, e.g. "visible".
+     * @param timeoutSeconds The timeout of the wait.
+     * @param wait           The wait to run.
+     * @return The value returned by the wait.
+     */
+    public static <T> T timeWait(String kind, int timeoutSeconds, Supplier<T> wait) {
+        CallScope scope = CURRENT.get();
+        if (scope != null && scope.waitDepth > 0) {
+            // Waits nested inside another wait are already part of its duration
+            return wait.get();
+        }
+        SelewrightWaitEvent event = new SelewrightWaitEvent();
+        if (scope == null && !event.isEnabled()) {
+            return wait.get();
+        }
+        long start = System.nanoTime();
+        event.begin();
+        if (scope != null) {
+            scope.waitDepth++;
+        }
+        boolean satisfied = false;
+        try {
+            T result = wait.get();
+            satisfied = true;
+            return result;
+        } finally {
+            event.end();
+            if (scope != null) {
+                scope.waitDepth--;
+                scope.waitNanos += System.nanoTime() - start;
+            }
+            if (event.shouldCommit()) {
+                event.kind = kind;
+                event.timeout = timeoutSeconds;
+                event.satisfied = satisfied;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs a wait which does not return anything and adds its duration to the wait time of the current call.
+     *
+     * @param kind           Short description of the wait, e.g. "visible".
+     * @param timeoutSeconds The timeout of the wait.
+     * @param wait           The wait to run.
+     */
+    public static void timeWait(String kind, int timeoutSeconds, Runnable wait) {
+        timeWait(kind, timeoutSeconds, () -> {
+            wait.run();
+            return null;
+        });
+    }
+
+    /**
+     * Sleeps for a fixed duration and counts it as wait time of the current call.
+     *
+     * @param kind         Short description of the sleep, e.g. "cookie".
+     * @param milliseconds The time to sleep.
+     */
+    public static void sleep(String kind, long milliseconds) {
+        timeWait(kind, (int) Math.ceil(milliseconds / 1000.0), () -> {
+            try {
+                Thread.sleep(milliseconds);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * Runs a browser action and emits a {@link SelewrightActionEvent} for it when Flight Recorder is recording.
+     *
+     * @param backend The automation tool performing the action, e.g. "selenium".
+     * @param method  The Selewright method.
+     * @param target  The locator, URL or text the action is performed on.
+     * @param action  The action to run.
+     * @return The value returned by the action.
+     */
+    public static <T> T action(String backend, String method, String target, Supplier<T> action) {
+        SelewrightActionEvent event = new SelewrightActionEvent();
+        if (!event.isEnabled()) {
+            return action.get();
+        }
+        event.begin();
+        boolean succeeded = false;
+        try {
+            T result = action.get();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.backend = backend;
+                event.method = method;
+                event.target = target;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs a browser action which does not return anything and emits a {@link SelewrightActionEvent} for it when Flight Recorder is recording.
+     *
+     * @param backend The automation tool performing the action, e.g. "selenium".
+     * @param method  The Selewright method.
+     * @param target  The locator, URL or text the action is performed on.
+     * @param action  The action to run.
+     */
+    public static void action(String backend, String method, String target, Runnable action) {
+        action(backend, method, target, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Counts one command sent to the browser by the current call
+     */
+    public static void recordRoundTrip() {
+        CallScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.roundTrips++;
+        }
+    }
+
+    static CallScope enter() {
+        CallScope scope = new CallScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void exit(CallScope scope) {
+        if (scope.parent == null) {
+            CURRENT.remove();
+        } else {
+            // Calls made through a nested decorator are part of the outer call as well
+            scope.parent.waitNanos += scope.waitNanos;
+            scope.parent.roundTrips += scope.roundTrips;
+            CURRENT.set(scope.parent);
+        }
+    }
+
+    /**
+     * Timing details of a single call
+     */
+    static final class CallScope {
+        private final CallScope parent;
+        private final long startNanos = System.nanoTime();
+        private long waitNanos;
+        private long roundTrips;
+        private int waitDepth;
+
+        private CallScope(CallScope parent) {
+            this.parent = parent;
+        }
+
+        long getStartNanos() {
+            return startNanos;
+        }
+
+        long getWaitNanos() {
+            return waitNanos;
+        }
+
+        long getRoundTrips() {
+            return roundTrips;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.redbus.selewright;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class decorates any Selewright implementation so that every call is recorded in a {@link MetricsRegistry}.
+ * For every call it records the duration, the time spent in explicit waits and sleeps (the rest is counted as action time),
+ * whether it failed and, for drivers decorated with RoundTripCounter (selewright-selenium), the number of commands sent to the browser.
+ * Calls made under an {@link EmulationProfile} are recorded under the method name followed by the profile name, e.g. "fetchResponse/3 [Slow 3G]".
+ * <pre>
+ * MetricsRegistry registry = new MetricsRegistry();
+ * Selewright selewright = InstrumentedSelewright.wrap(new PlaywrightImplementation(page), registry);
+ * ...
+ * System.out.println(registry.toJson());
+ * </pre>
+ */
+public final class InstrumentedSelewright implements InvocationHandler {
+    private static final Map<Method, String> METRIC_NAMES = metricNames();
+
+    private final Selewright delegate;
+    private final MetricsRegistry registry;
+
+    private InstrumentedSelewright(Selewright delegate, MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    /**
+     * Wraps a Selewright implementation.
+     *
+     * @param delegate The implementation to be instrumented.
+     * @param registry The registry in which the calls are recorded.
+     * @return A Selewright instance which records every call and forwards it to the delegate.
+     */
+    public static Selewright wrap(Selewright delegate, MetricsRegistry registry) {
+        return (Selewright) Proxy.newProxyInstance(Selewright.class.getClassLoader(), new Class<?>[]{Selewright.class},
+                new InstrumentedSelewright(delegate, registry));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = METRIC_NAMES.get(method);
+        if (name == null) {
+            // toString, equals and hashCode are not Selewright calls
+            return invokeDelegate(method, args);
+        }
+        EmulationProfile profile = delegate.getEmulationProfile();
+        if (profile != null && profile != EmulationProfile.NONE) {
+            // Calls made under network or CPU throttling are kept apart from the unthrottled ones
+            name = name + " [" + profile.getName() + "]";
+        }
+        Instrumentation.CallScope scope = Instrumentation.enter();
+        boolean failed = true;
+        try {
+            Object result = invokeDelegate(method, args);
+            failed = false;
+            return result;
+        } finally {
+            Instrumentation.exit(scope);
+            registry.record(name, System.nanoTime() - scope.getStartNanos(), scope.getWaitNanos(), scope.getRoundTrips(), failed);
+        }
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Map<Method, String> metricNames() {
+        Map<String, Integer> overloads = new HashMap<>();
+        for (Method method : Selewright.class.getMethods()) {
+            overloads.merge(method.getName(), 1, Integer::sum);
+        }
+        Map<Method, String> names = new HashMap<>();
+        for (Method method : Selewright.class.getMethods()) {
+            String name = method.getName();
+            names.put(method, overloads.get(name) > 1 ? name + "/" + method.getParameterCount() : name);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,266 @@
+package com.redbus.selewright;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * This class checks many links at once. Every link is checked on its own virtual thread through a shared HTTP/2 client,
+ * so a page with hundreds of links takes about as long as its slowest links instead of the sum of all of them.
+ * <ul>
+ *     <li>A HEAD request is sent first. Only links answering HEAD with an error, or not answering it at all, are checked again
+ *     with GET, as some servers do not support HEAD.</li>
+ *     <li>Redirects are followed up to the redirect limit.</li>
+ *     <li>The number of requests running at the same time on one host is limited, so an audit does not flood a server.</li>
+ *     <li>Outcomes are cached for all auditors of the JVM for the cache time to live, so links shared by many pages (header,
+ *     footer) are checked once per run. Only HTTP statuses are cached: a timeout or a connection error is checked again next
+ *     time. Concurrent checks of the same link share one request.</li>
+ * </ul>
+ * <pre>
+ * Map&lt;String, LinkStatus&gt; statuses = new LinkAuditor().audit(links, "https://www.redbus.in");
+ * </pre>
+ */
+public class LinkAuditor {
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    /**
+     * Function reading the links of a list of elements in the page, already resolved by the browser
+     */
+    public static final String LINKS_FUNCTION = "(elements) => elements.map((e) => typeof e.href === 'string' && e.href ? e.href"
+            + " : (typeof e.src === 'string' && e.src ? e.src : e.getAttribute('href') || e.getAttribute('src'))).filter((link) => !!link)";
+
+    private static final Map<String, CachedStatus> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<LinkStatus>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final SelewrightLogger logger;
+    private String userAgent = "Mozilla/5.0 (compatible; selewright-link-auditor)";
+    private int timeoutInSeconds = 5;
+    private int maxRedirects = 20;
+    private int maxRequestsPerHost = 16;
+    private long cacheTtlMillis = TimeUnit.MINUTES.toMillis(10);
+
+    public LinkAuditor() {
+        this(new SelewrightLogger("links"));
+    }
+
+    public LinkAuditor(SelewrightLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Set the User-Agent header of the requests
+     */
+    public LinkAuditor setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+        return this;
+    }
+
+    /**
+     * Set how long a single request may take. Default is 5 seconds.
+     */
+    public LinkAuditor setTimeout(int timeoutInSeconds) {
+        this.timeoutInSeconds = Math.max(1, timeoutInSeconds);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of redirects followed for a link. Default is 20.
+     */
+    public LinkAuditor setMaxRedirects(int maxRedirects) {
+        this.maxRedirects = Math.max(0, maxRedirects);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of requests running at the same time on one host. Default is 16.
+     */
+    public LinkAuditor setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = Math.max(1, maxRequestsPerHost);
+        hostPermits.clear();
+        return this;
+    }
+
+    /**
+     * Set how long the outcome of a check is reused, in seconds. 0 disables the cache for this auditor. Default is 10 minutes.
+     */
+    public LinkAuditor setCacheTtl(int cacheTtlInSeconds) {
+        this.cacheTtlMillis = TimeUnit.SECONDS.toMillis(Math.max(0, cacheTtlInSeconds));
+        return this;
+    }
+
+    /**
+     * Drops every cached outcome, e.g. after a deployment in the middle of a run
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Checks all given links concurrently and waits for the outcomes. Links which are not HTTP (mailto:, tel:, javascript:)
+     * are left out, and links differing only by their fragment are checked once.
+     *
+     * @param urls    The links, absolute or relative to the base URL.
+     * @param baseUrl The URL of the page holding the links.
+     * @return The outcome of every link, by resolved URL, in the order of the given links.
+     */
+    public Map<String, LinkStatus> audit(Collection<String> urls, String baseUrl) {
+        Map<String, Future<LinkStatus>> checks = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String url : urls) {
+                String resolved = resolve(url, baseUrl);
+                if (resolved != null && !checks.containsKey(resolved)) {
+                    checks.put(resolved, executor.submit(() -> check(resolved)));
+                }
+            }
+        }
+        Map<String, LinkStatus> statuses = new LinkedHashMap<>();
+        // A check which failed unexpectedly only fails its own link
+        checks.forEach((url, check) -> statuses.put(url, check.state() == Future.State.SUCCESS ? check.resultNow()
+                : LinkStatus.failed(url, describe(check.exceptionNow()), 0)));
+        logger.debug(() -> "Audited " + statuses.size() + " links, "
+                + statuses.values().stream().filter(status -> !status.isOk()).count() + " broken");
+        return statuses;
+    }
+
+    /**
+     * Checks a single link
+     *
+     * @param url     The link, absolute or relative to the base URL.
+     * @param baseUrl The URL of the page holding the link.
+     */
+    public LinkStatus check(String url, String baseUrl) {
+        String resolved = resolve(url, baseUrl);
+        return resolved == null ? LinkStatus.failed(url, "Not an HTTP link", 0) : check(resolved);
+    }
+
+    private LinkStatus check(String url) {
+        CachedStatus cached = CACHE.get(url);
+        if (cached != null && cacheTtlMillis > 0 && System.currentTimeMillis() - cached.checkedAt < cacheTtlMillis) {
+            return cached.status.fromCache();
+        }
+        CompletableFuture<LinkStatus> mine = new CompletableFuture<>();
+        CompletableFuture<LinkStatus> running = IN_FLIGHT.putIfAbsent(url, mine);
+        if (running != null) {
+            return running.join().fromCache();
+        }
+        long start = System.currentTimeMillis();
+        try {
+            LinkStatus status;
+            try {
+                status = request(url);
+            } catch (RuntimeException e) {
+                status = LinkStatus.failed(url, describe(e), System.currentTimeMillis() - start);
+            }
+            if (status.getStatusCode() > 0) {
+                CACHE.put(url, new CachedStatus(status, System.currentTimeMillis()));
+            }
+            mine.complete(status);
+            return status;
+        } finally {
+            IN_FLIGHT.remove(url);
+        }
+    }
+
+    private LinkStatus request(String url) {
+        long start = System.currentTimeMillis();
+        URI uri = URI.create(url);
+        Semaphore permits = hostPermits.computeIfAbsent(String.valueOf(uri.getHost()), host -> new Semaphore(maxRequestsPerHost));
+        try {
+            permits.acquire();
+            try {
+                LinkStatus status = follow("HEAD", uri, url, start);
+                if (status.getStatusCode() >= 400 || status.getStatusCode() < 0) {
+                    // Some servers refuse, reset or time out on HEAD, so an error is confirmed with GET
+                    status = follow("GET", uri, url, start);
+                }
+                if (!status.isOk()) {
+                    LinkStatus broken = status;
+                    logger.warn(() -> "Broken link: " + broken);
+                }
+                return status;
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return LinkStatus.failed(url, "Interrupted", System.currentTimeMillis() - start);
+        }
+    }
+
+    private LinkStatus follow(String method, URI uri, String url, long start) throws InterruptedException {
+        URI current = uri;
+        for (int redirects = 0; redirects <= maxRedirects; redirects++) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(current)
+                        .method(method, HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofSeconds(timeoutInSeconds))
+                        .header("User-Agent", userAgent)
+                        .build();
+                HttpResponse<Void> response = CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+                int statusCode = response.statusCode();
+                Optional<String> location = response.headers().firstValue("Location");
+                if (statusCode < 300 || statusCode >= 400 || location.isEmpty()) {
+                    return new LinkStatus(url, statusCode, current.toString(), redirects, method, null, System.currentTimeMillis() - start, false);
+                }
+                current = current.resolve(location.get().trim().replace(" ", "%20"));
+                String scheme = current.getScheme();
+                if (scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+                    return LinkStatus.failed(url, "Redirected to a non HTTP link: " + current, System.currentTimeMillis() - start);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // Covers malformed Location headers as well as network errors
+                return LinkStatus.failed(url, describe(e), System.currentTimeMillis() - start);
+            }
+        }
+        return LinkStatus.failed(url, "Too many redirects", System.currentTimeMillis() - start);
+    }
+
+    private static String describe(Throwable e) {
+        return e.getClass().getSimpleName() + (e.getMessage() == null ? "" : ": " + e.getMessage());
+    }
+
+    /**
+     * Resolves a link against the URL of its page and removes its fragment
+     *
+     * @return The absolute URL, or null when the link is not an HTTP link.
+     */
+    static String resolve(String url, String baseUrl) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            // Browsers accept spaces in links, URI does not
+            URI link = new URI(url.trim().replace(" ", "%20"));
+            URI uri = baseUrl == null ? link : new URI(baseUrl).resolve(link);
+            String scheme = uri.getScheme();
+            if (scheme == null || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+                return null;
+            }
+            String resolved = uri.toString();
+            int fragment = resolved.indexOf('#');
+            return fragment < 0 ? resolved : resolved.substring(0, fragment);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static final class CachedStatus {
+        final LinkStatus status;
+        final long checkedAt;
+
+        CachedStatus(LinkStatus status, long checkedAt) {
+            this.status = status;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
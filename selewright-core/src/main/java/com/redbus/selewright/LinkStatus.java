@@ -0,0 +1,103 @@
+package com.redbus.selewright;
+
+/**
+ * This class holds the outcome of a link check made by {@link LinkAuditor}
+ */
+public class LinkStatus {
+    private final String url;
+    private final int statusCode;
+    private final String finalUrl;
+    private final int redirects;
+    private final String method;
+    private final String error;
+    private final long durationMillis;
+    private final boolean cached;
+
+    LinkStatus(String url, int statusCode, String finalUrl, int redirects, String method, String error, long durationMillis, boolean cached) {
+        this.url = url;
+        this.statusCode = statusCode;
+        this.finalUrl = finalUrl;
+        this.redirects = redirects;
+        this.method = method;
+        this.error = error;
+        this.durationMillis = durationMillis;
+        this.cached = cached;
+    }
+
+    static LinkStatus failed(String url, String error, long durationMillis) {
+        return new LinkStatus(url, -1, url, 0, null, error, durationMillis, false);
+    }
+
+    LinkStatus fromCache() {
+        return new LinkStatus(url, statusCode, finalUrl, redirects, method, error, durationMillis, true);
+    }
+
+    /**
+     * Get the checked URL, resolved against the base URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the status code of the last response, or -1 when no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Get whether the link works, i.e. the last response has a 2xx status code
+     */
+    public boolean isOk() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * Get the URL of the last response, after redirects
+     */
+    public String getFinalUrl() {
+        return finalUrl;
+    }
+
+    /**
+     * Get the number of redirects followed
+     */
+    public int getRedirects() {
+        return redirects;
+    }
+
+    /**
+     * Get the method of the last request, HEAD or GET
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Get why no response was received, e.g. a timeout or too many redirects, or null
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Get how long the check took, in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Get whether the outcome comes from the cache of an earlier check
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        return url + " -> " + (error != null ? error : statusCode + " (" + method + (redirects > 0 ? ", " + redirects + " redirects" : "") + ")")
+                + (cached ? " [cached]" : "");
+    }
+}
@@ -0,0 +1,13 @@
+package com.redbus.selewright;
+
+/**
+ * Log levels supported by {@link SelewrightLogger}, from the most verbose to none at all.
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF
+}
@@ -0,0 +1,71 @@
+package com.redbus.selewright;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class holds the memory growth of a session measured by a {@link MemorySampler}
+ */
+public class MemoryReport {
+    private final int sampleCount;
+    private final double heapBytesPerSample;
+    private final double nodesPerSample;
+    private final double listenersPerSample;
+    private final List<String> leaks;
+
+    MemoryReport(int sampleCount, double heapBytesPerSample, double nodesPerSample, double listenersPerSample, List<String> leaks) {
+        this.sampleCount = sampleCount;
+        this.heapBytesPerSample = heapBytesPerSample;
+        this.nodesPerSample = nodesPerSample;
+        this.listenersPerSample = listenersPerSample;
+        this.leaks = leaks;
+    }
+
+    /**
+     * Get the number of samples the report is based on
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Get the growth of the used JavaScript heap, in bytes per sample
+     */
+    public double getHeapBytesPerSample() {
+        return heapBytesPerSample;
+    }
+
+    /**
+     * Get the growth of the DOM nodes, per sample
+     */
+    public double getNodesPerSample() {
+        return nodesPerSample;
+    }
+
+    /**
+     * Get the growth of the JavaScript event listeners, per sample
+     */
+    public double getListenersPerSample() {
+        return listenersPerSample;
+    }
+
+    /**
+     * Get the measures which grew steadily by more than the growth limit of the sampler
+     */
+    public List<String> getLeaks() {
+        return leaks;
+    }
+
+    /**
+     * Get whether a leak was flagged
+     */
+    public boolean hasLeaks() {
+        return !leaks.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d samples: heap %+.0f bytes, nodes %+.1f, listeners %+.1f per sample%s", sampleCount,
+                heapBytesPerSample, nodesPerSample, listenersPerSample, leaks.isEmpty() ? "" : ", leaks: " + String.join("; ", leaks));
+    }
+}
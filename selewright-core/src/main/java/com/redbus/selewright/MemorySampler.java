@@ -0,0 +1,195 @@
+package com.redbus.selewright;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class samples the memory use of a session while a test runs, to find front-end memory leaks in long flows.
+ * <p>
+ * A wrapped session takes a {@link MemorySnapshot} after an action once the sampling interval elapsed since the previous one,
+ * so a fast flow costs one snapshot per interval and not one per action. The growth of the heap, DOM nodes and event listeners
+ * is the slope of a least squares line through the samples. A measure is flagged as a leak when it grew by more than the growth
+ * limit and the samples follow the line closely (r squared of at least 0.8), so the sawtooth of a heap between garbage collections is
+ * not mistaken for a leak.
+ * <pre>
+ * MemorySampler sampler = new MemorySampler();
+ * Selewright selewright = sampler.wrap(new PlaywrightImplementation(page));
+ * ... run the flow many times ...
+ * System.out.println(sampler.getReport());
+ * </pre>
+ */
+public class MemorySampler {
+    private static final double MIN_FIT = 0.8;
+
+    private final Deque<MemorySnapshot> samples = new ArrayDeque<>();
+    private final SelewrightLogger logger = new SelewrightLogger("memory");
+    private long intervalMillis = 1000;
+    private int maxSamples = 1000;
+    private int minSamples = 10;
+    private double growthPercent = 20;
+    private long lastSampleMillis;
+
+    /**
+     * Set the minimum time between two samples of a wrapped session, in milliseconds. 0 samples after every action. Default is 1000.
+     */
+    public MemorySampler setInterval(long intervalMillis) {
+        this.intervalMillis = Math.max(0, intervalMillis);
+        return this;
+    }
+
+    /**
+     * Set the number of samples kept, the oldest are dropped. Default is 1000.
+     */
+    public synchronized MemorySampler setMaxSamples(int maxSamples) {
+        this.maxSamples = Math.max(2, maxSamples);
+        return this;
+    }
+
+    /**
+     * Set the number of samples needed before leaks are flagged. Default is 10.
+     */
+    public MemorySampler setMinSamples(int minSamples) {
+        this.minSamples = Math.max(2, minSamples);
+        return this;
+    }
+
+    /**
+     * Set by how many percent a measure has to grow between the first and the last sample to be flagged as a leak. Default is 20.
+     */
+    public MemorySampler setGrowthPercent(double growthPercent) {
+        this.growthPercent = growthPercent;
+        return this;
+    }
+
+    /**
+     * Takes a snapshot of a session and adds it to the samples
+     */
+    public MemorySnapshot sample(Selewright selewright) {
+        MemorySnapshot snapshot = selewright.getMemorySnapshot();
+        add(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Adds a snapshot to the samples
+     */
+    public synchronized void add(MemorySnapshot snapshot) {
+        samples.addLast(snapshot);
+        while (samples.size() > maxSamples) {
+            samples.removeFirst();
+        }
+        lastSampleMillis = snapshot.getTimestamp();
+    }
+
+    /**
+     * Get the samples, oldest first
+     */
+    public synchronized List<MemorySnapshot> getSamples() {
+        return new ArrayList<>(samples);
+    }
+
+    /**
+     * Drops every sample, e.g. after the warm up of a flow
+     */
+    public synchronized void clear() {
+        samples.clear();
+    }
+
+    /**
+     * Computes the growth of every measure over the samples and flags the leaks
+     */
+    public synchronized MemoryReport getReport() {
+        List<MemorySnapshot> snapshots = new ArrayList<>(samples);
+        List<String> leaks = new ArrayList<>();
+        double heap = slope(snapshots, MemorySnapshot::getUsedJsHeapSize, "JS heap", leaks);
+        double nodes = slope(snapshots, MemorySnapshot::getNodes, "DOM nodes", leaks);
+        double listeners = slope(snapshots, MemorySnapshot::getJsEventListeners, "event listeners", leaks);
+        MemoryReport report = new MemoryReport(snapshots.size(), heap, nodes, listeners, leaks);
+        if (report.hasLeaks()) {
+            logger.warn(report::toString);
+        }
+        return report;
+    }
+
+    /**
+     * Wraps a session so that its memory is sampled after its actions, at most once per sampling interval
+     *
+     * @param delegate The session to be sampled.
+     * @return A Selewright instance which samples the memory and forwards every call to the delegate.
+     */
+    public Selewright wrap(Selewright delegate) {
+        return (Selewright) Proxy.newProxyInstance(Selewright.class.getClassLoader(), new Class<?>[]{Selewright.class},
+                new SamplingHandler(delegate));
+    }
+
+    private final class SamplingHandler implements InvocationHandler {
+        private final Selewright delegate;
+
+        SamplingHandler(Selewright delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (method.getDeclaringClass() == Selewright.class && !method.getName().equals("getMemorySnapshot")
+                    && System.currentTimeMillis() - lastSampleMillis >= intervalMillis) {
+                try {
+                    sample(delegate);
+                } catch (RuntimeException e) {
+                    logger.debug(() -> "Not able to sample memory after " + method.getName() + ": " + e.getMessage());
+                    lastSampleMillis = System.currentTimeMillis();
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Least squares slope of a measure per sample, adding a leak when it grew steadily by more than the growth limit
+     */
+    private double slope(List<MemorySnapshot> snapshots, ToLongFunction<MemorySnapshot> measure, String name, List<String> leaks) {
+        double[] xs = new double[snapshots.size()];
+        double[] ys = new double[snapshots.size()];
+        int n = 0;
+        for (int i = 0; i < snapshots.size(); i++) {
+            long y = measure.applyAsLong(snapshots.get(i));
+            if (y >= 0) {
+                xs[n] = i;
+                ys[n] = y;
+                n++;
+            }
+        }
+        if (n < 2) {
+            return 0;
+        }
+        double meanX = 0, meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += xs[i] / n;
+            meanY += ys[i] / n;
+        }
+        // Deviations from the means, so heaps of hundreds of megabytes do not lose precision
+        double sxx = 0, syy = 0, sxy = 0;
+        for (int i = 0; i < n; i++) {
+            sxx += (xs[i] - meanX) * (xs[i] - meanX);
+            syy += (ys[i] - meanY) * (ys[i] - meanY);
+            sxy += (xs[i] - meanX) * (ys[i] - meanY);
+        }
+        double slope = sxx == 0 ? 0 : sxy / sxx;
+        double fit = sxx == 0 || syy == 0 ? 0 : sxy * sxy / (sxx * syy);
+        double first = ys[0], last = ys[n - 1];
+        if (n >= minSamples && slope > 0 && fit >= MIN_FIT && first > 0 && last > first * (1 + growthPercent / 100)) {
+            leaks.add(String.format(Locale.ROOT, "%s grew from %.0f to %.0f (%+.1f per sample, r squared %.2f)", name, first, last, slope, fit));
+        }
+        return slope;
+    }
+}
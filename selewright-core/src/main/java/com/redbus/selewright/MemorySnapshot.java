@@ -0,0 +1,105 @@
+package com.redbus.selewright;
+
+import java.util.Map;
+
+/**
+ * This class holds the memory use of the current page at one point in time: JavaScript heap, DOM nodes and event listeners.
+ * <p>
+ * On Chromium the values come from the DevTools protocol (Runtime.getHeapUsage and Memory.getDOMCounters), so DOM nodes include
+ * the detached nodes still referenced by scripts, which is what leaks. Otherwise they are read in the page: the heap from
+ * performance.memory where available and the nodes attached to the document; event listeners are then -1.
+ */
+public class MemorySnapshot {
+    /**
+     * Function reading the memory use in the page, for browsers without the DevTools protocol
+     */
+    public static final String PAGE_FUNCTION = "() => ({"
+            + "usedJsHeapSize: performance.memory ? performance.memory.usedJSHeapSize : -1,"
+            + "totalJsHeapSize: performance.memory ? performance.memory.totalJSHeapSize : -1,"
+            + "documents: 1 + window.frames.length,"
+            + "nodes: document.getElementsByTagName('*').length})";
+
+    private final long timestamp;
+    private final long usedJsHeapSize;
+    private final long totalJsHeapSize;
+    private final long documents;
+    private final long nodes;
+    private final long jsEventListeners;
+
+    MemorySnapshot(long usedJsHeapSize, long totalJsHeapSize, long documents, long nodes, long jsEventListeners) {
+        this.timestamp = System.currentTimeMillis();
+        this.usedJsHeapSize = usedJsHeapSize;
+        this.totalJsHeapSize = totalJsHeapSize;
+        this.documents = documents;
+        this.nodes = nodes;
+        this.jsEventListeners = jsEventListeners;
+    }
+
+    /**
+     * Builds a snapshot from the results of the DevTools commands Runtime.getHeapUsage and Memory.getDOMCounters
+     */
+    static MemorySnapshot fromDevTools(Map<String, Object> heapUsage, Map<String, Object> domCounters) {
+        return new MemorySnapshot(number(heapUsage, "usedSize"), number(heapUsage, "totalSize"), number(domCounters, "documents"),
+                number(domCounters, "nodes"), number(domCounters, "jsEventListeners"));
+    }
+
+    /**
+     * Builds a snapshot from the result of {@link #PAGE_FUNCTION}
+     */
+    static MemorySnapshot fromPage(Map<String, Object> values) {
+        return new MemorySnapshot(number(values, "usedJsHeapSize"), number(values, "totalJsHeapSize"), number(values, "documents"),
+                number(values, "nodes"), -1);
+    }
+
+    private static long number(Map<String, Object> values, String key) {
+        Object value = values == null ? null : values.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+
+    /**
+     * Get when the snapshot was taken, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Get the used JavaScript heap in bytes, or -1 when the browser does not report it
+     */
+    public long getUsedJsHeapSize() {
+        return usedJsHeapSize;
+    }
+
+    /**
+     * Get the allocated JavaScript heap in bytes, or -1 when the browser does not report it
+     */
+    public long getTotalJsHeapSize() {
+        return totalJsHeapSize;
+    }
+
+    /**
+     * Get the number of documents, frames included
+     */
+    public long getDocuments() {
+        return documents;
+    }
+
+    /**
+     * Get the number of DOM nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Get the number of JavaScript event listeners, or -1 when the browser does not report it
+     */
+    public long getJsEventListeners() {
+        return jsEventListeners;
+    }
+
+    @Override
+    public String toString() {
+        return "heap " + usedJsHeapSize + " bytes, " + nodes + " nodes, " + jsEventListeners + " listeners, " + documents + " documents";
+    }
+}
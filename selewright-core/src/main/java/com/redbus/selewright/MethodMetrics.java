@@ -0,0 +1,97 @@
+package com.redbus.selewright;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class holds the metrics of a single Selewright method: call latency, time spent waiting, errors and commands sent to the browser.
+ */
+public class MethodMetrics {
+    private final String method;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram waitLatency = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    MethodMetrics(String method) {
+        this.method = method;
+    }
+
+    void record(long totalNanos, long waitNanos, long calls, boolean failed) {
+        latency.recordNanos(totalNanos);
+        waitLatency.recordNanos(waitNanos);
+        roundTrips.addAndGet(calls);
+        if (failed) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the method name. Overloaded methods are suffixed with their number of parameters, e.g. "isDisplayed/2".
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the number of calls
+     */
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * Get the number of calls which threw an exception
+     */
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    /**
+     * Get the histogram of the complete call durations
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Get the histogram of the time each call spent in explicit waits and sleeps
+     */
+    public LatencyHistogram getWaitLatency() {
+        return waitLatency;
+    }
+
+    /**
+     * Get the total time spent in this method in milliseconds
+     */
+    public double getTotalMillis() {
+        return latency.getTotalMillis();
+    }
+
+    /**
+     * Get the total time this method spent in explicit waits and sleeps in milliseconds
+     */
+    public double getWaitMillis() {
+        return waitLatency.getTotalMillis();
+    }
+
+    /**
+     * Get the total time this method spent outside of explicit waits in milliseconds
+     */
+    public double getActionMillis() {
+        return Math.max(0, getTotalMillis() - getWaitMillis());
+    }
+
+    /**
+     * Get the number of commands sent to the browser. Only counted for drivers decorated with RoundTripCounter (selewright-selenium).
+     */
+    public long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d errors=%d total=%.1fms wait=%.1fms p50=%.1fms p99=%.1fms roundTrips=%d",
+                method, getCount(), getErrorCount(), getTotalMillis(), getWaitMillis(),
+                latency.getPercentileMillis(50), latency.getPercentileMillis(99), getRoundTrips());
+    }
+}
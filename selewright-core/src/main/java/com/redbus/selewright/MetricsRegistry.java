@@ -0,0 +1,124 @@
+package com.redbus.selewright;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * This class collects the metrics recorded by {@link InstrumentedSelewright}, one {@link MethodMetrics} per Selewright method.
+ * A registry can be shared by several sessions, e.g. all the sessions of a test suite, and queried at any time.
+ * The metrics can be exported as JSON or in the Prometheus text format.
+ */
+public class MetricsRegistry {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final Map<String, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Records a call.
+     *
+     * @param method     The method name.
+     * @param totalNanos The complete duration of the call.
+     * @param waitNanos  The time spent in explicit waits and sleeps.
+     * @param roundTrips The number of commands sent to the browser.
+     * @param failed     Whether the call threw an exception.
+     */
+    public void record(String method, long totalNanos, long waitNanos, long roundTrips, boolean failed) {
+        metrics.computeIfAbsent(method, MethodMetrics::new).record(totalNanos, waitNanos, roundTrips, failed);
+    }
+
+    /**
+     * Get the metrics of a method, or null if the method was never called
+     */
+    public MethodMetrics get(String method) {
+        return metrics.get(method);
+    }
+
+    /**
+     * Get the metrics of every method called so far, the most expensive method (by total time) first
+     */
+    public List<MethodMetrics> getAll() {
+        List<MethodMetrics> all = new ArrayList<>(metrics.values());
+        all.sort(Comparator.comparingDouble(MethodMetrics::getTotalMillis).reversed());
+        return all;
+    }
+
+    /**
+     * Forgets every recorded call
+     */
+    public void reset() {
+        metrics.clear();
+    }
+
+    /**
+     * Exports the metrics as a JSON array, the most expensive method first
+     */
+    public String toJson() {
+        JsonArray methods = new JsonArray();
+        for (MethodMetrics method : getAll()) {
+            LatencyHistogram latency = method.getLatency();
+            JsonObject json = new JsonObject();
+            json.addProperty("method", method.getMethod());
+            json.addProperty("count", method.getCount());
+            json.addProperty("errors", method.getErrorCount());
+            json.addProperty("totalMs", method.getTotalMillis());
+            json.addProperty("waitMs", method.getWaitMillis());
+            json.addProperty("actionMs", method.getActionMillis());
+            json.addProperty("meanMs", latency.getMeanMillis());
+            json.addProperty("minMs", latency.getMinMillis());
+            json.addProperty("p50Ms", latency.getPercentileMillis(50));
+            json.addProperty("p90Ms", latency.getPercentileMillis(90));
+            json.addProperty("p99Ms", latency.getPercentileMillis(99));
+            json.addProperty("maxMs", latency.getMaxMillis());
+            json.addProperty("roundTrips", method.getRoundTrips());
+            methods.add(json);
+        }
+        return new GsonBuilder().setPrettyPrinting().create().toJson(methods);
+    }
+
+    /**
+     * Exports the metrics in the Prometheus text exposition format
+     */
+    public String toPrometheus() {
+        List<MethodMetrics> all = getAll();
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP selewright_call_duration_seconds Duration of Selewright calls\n");
+        out.append("# TYPE selewright_call_duration_seconds summary\n");
+        for (MethodMetrics method : all) {
+            String label = "method=\"" + method.getMethod() + "\"";
+            for (double quantile : QUANTILES) {
+                line(out, "selewright_call_duration_seconds", label + ",quantile=\"" + quantile + "\"",
+                        method.getLatency().getPercentileMillis(quantile * 100) / 1000);
+            }
+            line(out, "selewright_call_duration_seconds_sum", label, method.getTotalMillis() / 1000);
+            line(out, "selewright_call_duration_seconds_count", label, method.getCount());
+        }
+        counter(out, all, "selewright_call_wait_seconds_total", "Time Selewright calls spent in explicit waits and sleeps",
+                method -> method.getWaitMillis() / 1000);
+        counter(out, all, "selewright_call_errors_total", "Selewright calls which threw an exception",
+                MethodMetrics::getErrorCount);
+        counter(out, all, "selewright_call_round_trips_total", "Commands sent to the browser by Selewright calls",
+                MethodMetrics::getRoundTrips);
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, List<MethodMetrics> all, String name, String help, ToDoubleFunction<MethodMetrics> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        for (MethodMetrics method : all) {
+            line(out, name, "method=\"" + method.getMethod() + "\"", value.applyAsDouble(method));
+        }
+    }
+
+    private static void line(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append('{').append(labels).append("} ").append(String.format(Locale.ROOT, "%.6f", value)).append('\n');
+    }
+}
@@ -0,0 +1,135 @@
+package com.redbus.selewright;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class decides whether an intercepted request satisfies the conditions defined through {@link RequestConditionsToMock}.
+ * It works only on plain request data (URL, headers and body), hence it does not depend on any browser automation tool
+ * and can safely be used outside the thread which owns the browser.
+ */
+public class MockRuleMatcher {
+    private final OtherHelpers otherHelpers = new OtherHelpers();
+
+    /**
+     * Finds the first rule whose conditions are satisfied by the request.
+     *
+     * @param rules   A map containing request conditions and mock responses.
+     * @param url     The request URL.
+     * @param headers The request headers. Can be null if none of the rules has header conditions.
+     * @param body    The request body, if any.
+     * @return The matching rule, or null if mocking is not required for this request.
+     */
+    public Map.Entry<RequestConditionsToMock, MockResponseToSend> findMatchingRule(Map<RequestConditionsToMock, MockResponseToSend> rules,
+                                                                                 String url, Map<String, String> headers, String body) {
+        for (Map.Entry<RequestConditionsToMock, MockResponseToSend> rule : rules.entrySet()) {
+            if (isMockingRequired(rule.getKey(), url, headers, body)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the URL alone rules out the request for every rule. This is cheap and can be used to skip the complete evaluation.
+     *
+     * @param rules A map containing request conditions and mock responses.
+     * @param url   The request URL.
+     * @return True if at least one rule may still match the request.
+     */
+    public boolean mayMatch(Map<RequestConditionsToMock, MockResponseToSend> rules, String url) {
+        for (RequestConditionsToMock requestConditionsToMock : rules.keySet()) {
+            if (hasRules(requestConditionsToMock) && isUrlMatching(requestConditionsToMock, url)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any of the rules needs the request headers to be evaluated
+     */
+    public boolean needsHeaders(Map<RequestConditionsToMock, MockResponseToSend> rules) {
+        for (RequestConditionsToMock requestConditionsToMock : rules.keySet()) {
+            if (requestConditionsToMock.getRequestHeaders() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether any of the rules needs the request body to be evaluated
+     */
+    public boolean needsBody(Map<RequestConditionsToMock, MockResponseToSend> rules) {
+        for (RequestConditionsToMock requestConditionsToMock : rules.keySet()) {
+            if (requestConditionsToMock.getRequestBodyKeyPathsAndValues() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the request satisfies every condition of the rule.
+     *
+     * @param requestConditionsToMock The conditions to check.
+     * @param url                     The request URL.
+     * @param headers                 The request headers.
+     * @param body                    The request body, if any.
+     * @return True if every condition is satisfied, otherwise false. A rule without conditions is never satisfied.
+     */
+    public boolean isMockingRequired(RequestConditionsToMock requestConditionsToMock, String url, Map<String, String> headers, String body) {
+        if (!hasRules(requestConditionsToMock)) {
+            //No rule specified hence mocking not required
+            return false;
+        }
+        if (!isUrlMatching(requestConditionsToMock, url)) {
+            return false;
+        }
+        Map<String, String> expectedRequestHeaders = requestConditionsToMock.getRequestHeaders();
+        if (expectedRequestHeaders != null) {
+            if (headers == null) {
+                return false;
+            }
+            for (Map.Entry<String, String> entry : expectedRequestHeaders.entrySet()) {
+                String actualValue = headers.get(entry.getKey());
+                if (actualValue == null || !actualValue.equals(entry.getValue())) {
+                    return false;
+                }
+            }
+        }
+        Map<String, String> expectedRequestBodyKeyPathsAndValues = requestConditionsToMock.getRequestBodyKeyPathsAndValues();
+        if (expectedRequestBodyKeyPathsAndValues != null) {
+            for (Map.Entry<String, String> entry : expectedRequestBodyKeyPathsAndValues.entrySet()) {
+                String actualValue = otherHelpers.getJsonValue(body, entry.getKey());
+                if (actualValue == null) { //key doesn't exist
+                    return false;
+                }
+                //Validate value only if expected value is not null
+                if (entry.getValue() != null && !actualValue.equals(entry.getValue())) {
+                    return false;
+                }
+            }
+        }
+        return true; //As every rule is matched, we need to mock
+    }
+
+    private boolean hasRules(RequestConditionsToMock requestConditionsToMock) {
+        return requestConditionsToMock.getRequestURLSubStrings() != null
+                || requestConditionsToMock.getRequestHeaders() != null
+                || requestConditionsToMock.getRequestBodyKeyPathsAndValues() != null;
+    }
+
+    private boolean isUrlMatching(RequestConditionsToMock requestConditionsToMock, String url) {
+        Set<String> expectedRequestURLs = requestConditionsToMock.getRequestURLSubStrings();
+        if (expectedRequestURLs != null) {
+            for (String expectedUrl : expectedRequestURLs) {
+                if (!url.contains(expectedUrl)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -9,8 +9,6 @@ import java.awt.datatransfer.Clipboard;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.Map;
 
 /**
@@ -18,6 +16,15 @@ import java.util.Map;
  * There is no on liner which can exactly describe this class. Please explore the methods to understand the purpose of this class :)
  */
 public class OtherHelpers {
+    private final SelewrightLogger logger;
+
+    public OtherHelpers() {
+        this(new SelewrightLogger("helpers"));
+    }
+
+    public OtherHelpers(SelewrightLogger logger) {
+        this.logger = logger;
+    }
 
     /**
      * Returns JSON value based on the json key path in a json of string format
@@ -135,43 +142,8 @@ public class OtherHelpers {
      * @return True if response status code is greater than 200 and less than  300
      */
     public boolean verifyBrokenLink(String urlString, String userAgent, String baseUrl) {
-        final int MAX_REDIRECTS = 20;
-        int redirectCount = 0;
-        try {
-
-            URL url;
-            if (!urlString.startsWith("http://") && !urlString.startsWith("https://")) {
-                url = new URL(new URL(baseUrl), urlString);
-            } else {
-                url = new URL(urlString);
-            }
-            while (redirectCount < MAX_REDIRECTS) {
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setConnectTimeout(5000);
-                conn.setReadTimeout(5000);
-                conn.setInstanceFollowRedirects(false);
-                conn.setRequestProperty("User-Agent", userAgent);
-
-                int statusCode = conn.getResponseCode();
-
-
-                if (statusCode >= 300 && statusCode < 400) {
-                    String redirectUrl = conn.getHeaderField("Location");
-                    if (redirectUrl == null) {
-                        break;
-                    }
-                    url = new URL(url, redirectUrl);
-                    redirectCount++;
-                } else {
-                    return statusCode >= 200 && statusCode < 300;
-                }
-            }
-            System.out.println(urlString);
-            return false;
-        } catch (Exception e) {
-            System.out.println("Exception occurred : " + urlString + " " + e.getMessage());
-            return false;
-        }
+        // Outcomes are cached, so a link checked on an earlier page is not requested again. Use LinkAuditor to check many links at once.
+        return new LinkAuditor(logger).setUserAgent(userAgent).check(urlString, baseUrl).isOk();
     }
 
     /**
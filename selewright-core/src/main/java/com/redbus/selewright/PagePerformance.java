@@ -0,0 +1,364 @@
+package com.redbus.selewright;
+
+import com.google.gson.Gson;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class holds the performance of the current page: Navigation Timing, Resource Timing and the Core Web Vitals.
+ * <p>
+ * All of it is read by {@link #COLLECT_FUNCTION} in a single call to the page. The first call on a page installs
+ * PerformanceObservers for LCP, CLS and INP; LCP and layout shifts are buffered by the browser, so they are reported from the
+ * start of the page, while interactions are only fully reported once the observers are installed. Later calls read the
+ * observers without waiting. A metric the browser does not support is -1, e.g. LCP, CLS and INP outside Chromium.
+ * <pre>
+ * selewright.getPagePerformance()
+ *         .assertBelow(PagePerformance.Metric.LCP, 2500)
+ *         .assertBelow(PagePerformance.Metric.CLS, 0.1);
+ * </pre>
+ */
+public class PagePerformance {
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Function taking {settleMs} and returning a promise which resolves with the performance of the page as a JSON string.
+     * The JSON string is parsed by {@link #fromJson(String)}; passing a string instead of an object keeps the transfer of
+     * hundreds of resource entries cheap on both backends.
+     */
+    public static final String COLLECT_FUNCTION = "(options) => new Promise((resolve) => {"
+            + "const supported = (typeof PerformanceObserver === 'function' && PerformanceObserver.supportedEntryTypes) || [];"
+            + "let v = window.__selewrightVitals;"
+            + "const fresh = !v;"
+            + "if (fresh) {"
+            + "  v = window.__selewrightVitals = {"
+            + "    lcp: supported.includes('largest-contentful-paint') ? 0 : -1, cls: supported.includes('layout-shift') ? 0 : -1,"
+            + "    interactions: supported.includes('event') ? {} : null, session: 0, first: 0, last: 0, observers: []};"
+            + "  if (performance.setResourceTimingBufferSize) { performance.setResourceTimingBufferSize(1000); }"
+            + "  const watch = (type, handle, extra) => {"
+            + "    if (!supported.includes(type)) { return; }"
+            + "    const observer = new PerformanceObserver((list) => list.getEntries().forEach(handle));"
+            + "    observer.observe(Object.assign({type: type, buffered: true}, extra || {}));"
+            + "    v.observers.push({observer: observer, handle: handle});"
+            + "  };"
+            + "  watch('largest-contentful-paint', (e) => { v.lcp = e.startTime; });"
+            + "  watch('layout-shift', (e) => {"
+            + "    if (e.hadRecentInput) { return; }"
+            + "    if (v.session && e.startTime - v.last < 1000 && e.startTime - v.first < 5000) { v.session += e.value; }"
+            + "    else { v.session = e.value; v.first = e.startTime; }"
+            + "    v.last = e.startTime;"
+            + "    v.cls = Math.max(v.cls, v.session);"
+            + "  });"
+            + "  watch('event', (e) => {"
+            + "    if (e.interactionId) { v.interactions[e.interactionId] = Math.max(v.interactions[e.interactionId] || 0, e.duration); }"
+            + "  }, {durationThreshold: 16});"
+            + "} else {"
+            + "  v.observers.forEach((watcher) => watcher.observer.takeRecords().forEach(watcher.handle));"
+            + "}"
+            + "const snapshot = () => {"
+            + "  const n = performance.getEntriesByType('navigation')[0];"
+            + "  const fcp = performance.getEntriesByName('first-contentful-paint')[0];"
+            + "  const durations = v.interactions ? Object.values(v.interactions).sort((a, b) => b - a) : null;"
+            + "  const resources = performance.getEntriesByType('resource').map((r) => ({name: r.name, initiatorType: r.initiatorType,"
+            + "    startTime: r.startTime, duration: r.duration, transferSize: r.transferSize || 0, encodedBodySize: r.encodedBodySize || 0,"
+            + "    decodedBodySize: r.decodedBodySize || 0, responseStatus: r.responseStatus || 0}));"
+            + "  const p = {url: location.href, resources: resources, fcp: fcp ? fcp.startTime : -1, lcp: v.lcp, cls: v.cls,"
+            + "    inp: durations ? (durations.length ? durations[Math.min(durations.length - 1, Math.floor(durations.length / 50))] : 0) : -1,"
+            + "    interactionCount: durations ? durations.length : 0,"
+            + "    jsHeapUsedSize: performance.memory ? performance.memory.usedJSHeapSize : -1};"
+            + "  if (n) {"
+            + "    Object.assign(p, {documentUrl: n.name, navigationType: n.type, ttfb: n.responseStart,"
+            + "      dns: n.domainLookupEnd - n.domainLookupStart, connect: n.connectEnd - n.connectStart,"
+            + "      tls: n.secureConnectionStart > 0 ? n.connectEnd - n.secureConnectionStart : 0,"
+            + "      request: n.responseStart - n.requestStart, download: n.responseEnd - n.responseStart,"
+            + "      domInteractive: n.domInteractive, domContentLoaded: n.domContentLoadedEventEnd, load: n.loadEventEnd,"
+            + "      transferSize: n.transferSize || 0, encodedBodySize: n.encodedBodySize || 0});"
+            + "  }"
+            + "  resolve(JSON.stringify(p));"
+            + "};"
+            + "if (fresh) { setTimeout(snapshot, options.settleMs); } else { snapshot(); }"
+            + "})";
+
+    /**
+     * Time given to the observers to deliver their buffered entries on the first call on a page, in milliseconds
+     */
+    public static final int SETTLE_MS = 50;
+
+    /**
+     * The metrics which can be checked against a limit
+     */
+    public enum Metric {
+        TTFB,
+        FCP,
+        DOM_CONTENT_LOADED,
+        LOAD,
+        LCP,
+        CLS,
+        INP,
+        TRANSFER_SIZE,
+        REQUEST_COUNT,
+        JS_HEAP_USED_SIZE
+    }
+
+    private String url;
+    private String documentUrl;
+    private String navigationType;
+    private double ttfb = -1;
+    private double dns = -1;
+    private double connect = -1;
+    private double tls = -1;
+    private double request = -1;
+    private double download = -1;
+    private double domInteractive = -1;
+    private double domContentLoaded = -1;
+    private double load = -1;
+    private double fcp = -1;
+    private double lcp = -1;
+    private double cls = -1;
+    private double inp = -1;
+    private int interactionCount;
+    private long transferSize;
+    private long encodedBodySize;
+    private long jsHeapUsedSize = -1;
+    private List<ResourceTiming> resources = Collections.emptyList();
+
+    /**
+     * Parses the JSON string returned by {@link #COLLECT_FUNCTION}
+     */
+    public static PagePerformance fromJson(String json) {
+        PagePerformance performance = GSON.fromJson(json, PagePerformance.class);
+        if (performance.resources == null) {
+            performance.resources = Collections.emptyList();
+        }
+        return performance;
+    }
+
+    /**
+     * Get the URL of the page
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get the URL of the document the navigation timings belong to. It differs from {@link #getUrl()} once the page changed its
+     * URL on its own, e.g. with history.pushState, as the navigation timings still describe the load of the first document.
+     */
+    public String getDocumentUrl() {
+        return documentUrl;
+    }
+
+    /**
+     * Get how the page was reached: "navigate", "reload", "back_forward" or "prerender"
+     */
+    public String getNavigationType() {
+        return navigationType;
+    }
+
+    /**
+     * Get the time to first byte of the document, in milliseconds since the navigation started
+     */
+    public double getTtfb() {
+        return ttfb;
+    }
+
+    /**
+     * Get the DNS lookup time of the document, in milliseconds
+     */
+    public double getDns() {
+        return dns;
+    }
+
+    /**
+     * Get the connection time of the document, TLS included, in milliseconds
+     */
+    public double getConnect() {
+        return connect;
+    }
+
+    /**
+     * Get the TLS handshake time of the document, in milliseconds
+     */
+    public double getTls() {
+        return tls;
+    }
+
+    /**
+     * Get the time between sending the request of the document and its first byte, in milliseconds
+     */
+    public double getRequest() {
+        return request;
+    }
+
+    /**
+     * Get the download time of the document, in milliseconds
+     */
+    public double getDownload() {
+        return download;
+    }
+
+    /**
+     * Get when the document was parsed, in milliseconds since the navigation started
+     */
+    public double getDomInteractive() {
+        return domInteractive;
+    }
+
+    /**
+     * Get when the DOMContentLoaded handlers finished, in milliseconds since the navigation started. 0 while the page is loading.
+     */
+    public double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    /**
+     * Get when the load handlers finished, in milliseconds since the navigation started. 0 while the page is loading.
+     */
+    public double getLoad() {
+        return load;
+    }
+
+    /**
+     * Get the First Contentful Paint, in milliseconds since the navigation started
+     */
+    public double getFcp() {
+        return fcp;
+    }
+
+    /**
+     * Get the Largest Contentful Paint so far, in milliseconds since the navigation started
+     */
+    public double getLcp() {
+        return lcp;
+    }
+
+    /**
+     * Get the Cumulative Layout Shift so far: the largest sum of layout shifts within a session window
+     */
+    public double getCls() {
+        return cls;
+    }
+
+    /**
+     * Get the Interaction to Next Paint so far, in milliseconds: the longest interaction, ignoring one in 50 interactions.
+     * 0 when there was no interaction.
+     */
+    public double getInp() {
+        return inp;
+    }
+
+    /**
+     * Get the number of interactions taken into account for INP
+     */
+    public int getInteractionCount() {
+        return interactionCount;
+    }
+
+    /**
+     * Get the bytes received for the page: the document and every resource, headers included
+     */
+    public long getTotalTransferSize() {
+        long total = transferSize;
+        for (ResourceTiming resource : resources) {
+            total += resource.getTransferSize();
+        }
+        return total;
+    }
+
+    /**
+     * Get the bytes received for the document, headers included
+     */
+    public long getTransferSize() {
+        return transferSize;
+    }
+
+    /**
+     * Get the size of the body of the document as received, before decompression
+     */
+    public long getEncodedBodySize() {
+        return encodedBodySize;
+    }
+
+    /**
+     * Get the number of requests of the page, the document included
+     */
+    public int getRequestCount() {
+        return resources.size() + 1;
+    }
+
+    /**
+     * Get the used JavaScript heap in bytes, or -1 outside Chromium
+     */
+    public long getJsHeapUsedSize() {
+        return jsHeapUsedSize;
+    }
+
+    /**
+     * Get the Resource Timing entries of the page
+     */
+    public List<ResourceTiming> getResources() {
+        return resources;
+    }
+
+    /**
+     * Get the value of a metric, or -1 when the browser does not report it
+     */
+    public double get(Metric metric) {
+        switch (metric) {
+            case TTFB:
+                return ttfb;
+            case FCP:
+                return fcp;
+            case DOM_CONTENT_LOADED:
+                return domContentLoaded;
+            case LOAD:
+                return load;
+            case LCP:
+                return lcp;
+            case CLS:
+                return cls;
+            case INP:
+                return inp;
+            case TRANSFER_SIZE:
+                return getTotalTransferSize();
+            case REQUEST_COUNT:
+                return getRequestCount();
+            case JS_HEAP_USED_SIZE:
+                return jsHeapUsedSize;
+            default:
+                throw new IllegalArgumentException("Unknown metric " + metric);
+        }
+    }
+
+    /**
+     * Get whether a metric is at most the given limit. A metric the browser does not report is within any limit.
+     */
+    public boolean isWithin(Metric metric, double limit) {
+        double value = get(metric);
+        return value < 0 || value <= limit;
+    }
+
+    /**
+     * Checks that a metric is at most the given limit. A metric the browser does not report is not checked.
+     *
+     * @throws AssertionError when the metric is above the limit.
+     */
+    public PagePerformance assertBelow(Metric metric, double limit) {
+        if (!isWithin(metric, limit)) {
+            throw new AssertionError(metric + " of " + url + " is " + format(get(metric)) + ", above the limit of " + format(limit));
+        }
+        return this;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    @Override
+    public String toString() {
+        return url + ": TTFB " + Math.round(ttfb) + " ms, FCP " + Math.round(fcp) + " ms, LCP " + Math.round(lcp) + " ms, CLS "
+                + String.format(Locale.ROOT, "%.3f", cls) + ", INP " + Math.round(inp) + " ms, load " + Math.round(load) + " ms, "
+                + getRequestCount() + " requests, " + getTotalTransferSize() + " bytes";
+    }
+}
@@ -0,0 +1,325 @@
+package com.redbus.selewright;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * This class checks the performance of pages against limits declared per URL pattern, and against their own history.
+ * <ul>
+ *     <li>Limits apply to the pages whose URL contains a match of their regular expression.</li>
+ *     <li>Every evaluation is appended to the history file, one JSON object per line, so the history is kept across runs.</li>
+ *     <li>The rolling baseline of a page and metric is the median of its last evaluations. A value above the baseline by more
+ *     than the regression threshold is a regression, once the page has enough history.</li>
+ *     <li>The metrics of the document load (TTFB, FCP, DOMContentLoaded, load and LCP) are left out when the page reached its URL
+ *     without loading a document, e.g. through history.pushState, as they still describe the first document. DOMContentLoaded
+ *     and load are also left out while the page is still loading.</li>
+ * </ul>
+ * Pages are evaluated on demand with {@link #evaluate(PagePerformance)}, or after every openUrl, click and tap which changed
+ * the page once the session is wrapped with {@link #wrap(Selewright)}:
+ * <pre>
+ * PerformanceBudget budget = new PerformanceBudget()
+ *         .limit("/search", PagePerformance.Metric.LCP, 2500)
+ *         .limit(".*", PagePerformance.Metric.TTFB, 800)
+ *         .setFailOnViolation(true);
+ * Selewright selewright = budget.wrap(new PlaywrightImplementation(page));
+ * </pre>
+ */
+public class PerformanceBudget {
+    private static final Set<String> EVALUATED_METHODS = Set.of("openUrl", "click", "tap", "refreshPage", "navigateBack");
+    private static final Set<PagePerformance.Metric> DOCUMENT_METRICS = EnumSet.of(PagePerformance.Metric.TTFB, PagePerformance.Metric.FCP,
+            PagePerformance.Metric.DOM_CONTENT_LOADED, PagePerformance.Metric.LOAD, PagePerformance.Metric.LCP);
+
+    private final List<Limit> limits = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<PagePerformance.Metric, Deque<Double>>> history = new HashMap<>();
+    private final SelewrightLogger logger = new SelewrightLogger("budget");
+    private Path historyFile = Paths.get(System.getProperty("selewright.performance.history", "performance-history.jsonl"));
+    private boolean historyLoaded;
+    private double regressionPercent = 20;
+    private int baselineSize = 10;
+    private int minimumSamples = 3;
+    private boolean failOnViolation;
+
+    /**
+     * Adds a limit
+     *
+     * @param urlPattern Regular expression found in the URL of the pages the limit applies to.
+     * @param metric     The limited metric.
+     * @param limit      The highest accepted value, in the unit of the metric (milliseconds, bytes or count).
+     */
+    public PerformanceBudget limit(String urlPattern, PagePerformance.Metric metric, double limit) {
+        limits.add(new Limit(Pattern.compile(urlPattern), metric, limit));
+        return this;
+    }
+
+    /**
+     * Set the history file. null keeps the history in memory only. Default is the system property
+     * "selewright.performance.history" (default "performance-history.jsonl").
+     */
+    public synchronized PerformanceBudget setHistoryFile(String historyFile) {
+        this.historyFile = historyFile == null ? null : Paths.get(historyFile);
+        this.historyLoaded = false;
+        history.clear();
+        return this;
+    }
+
+    /**
+     * Set by how many percent a metric may exceed its rolling baseline before it is a regression. Default is 20.
+     */
+    public PerformanceBudget setRegressionThreshold(double regressionPercent) {
+        this.regressionPercent = regressionPercent;
+        return this;
+    }
+
+    /**
+     * Set the number of previous evaluations of a page making its rolling baseline. Default is 10.
+     */
+    public synchronized PerformanceBudget setBaselineSize(int baselineSize) {
+        this.baselineSize = Math.max(1, baselineSize);
+        return this;
+    }
+
+    /**
+     * Set the number of previous evaluations a page needs before regressions are flagged. Default is 3.
+     */
+    public PerformanceBudget setMinimumSamples(int minimumSamples) {
+        this.minimumSamples = Math.max(1, minimumSamples);
+        return this;
+    }
+
+    /**
+     * Set whether a wrapped session throws an AssertionError when a page is over budget. Otherwise it is logged. Default is false.
+     */
+    public PerformanceBudget setFailOnViolation(boolean failOnViolation) {
+        this.failOnViolation = failOnViolation;
+        return this;
+    }
+
+    /**
+     * Evaluates the performance of a page against the limits and the history of the page, then adds it to the history
+     *
+     * @return The violations and regressions of the page.
+     */
+    public synchronized BudgetResult evaluate(PagePerformance performance) {
+        loadHistory();
+        String page = pageOf(performance.getUrl());
+        // After a client side navigation the document timings belong to the page the document was loaded for
+        boolean sameDocument = performance.getDocumentUrl() == null || pageOf(performance.getDocumentUrl()).equals(page);
+        EnumMap<PagePerformance.Metric, Double> sample = new EnumMap<>(PagePerformance.Metric.class);
+        for (PagePerformance.Metric metric : PagePerformance.Metric.values()) {
+            double value = performance.get(metric);
+            if (isMeasured(metric, value) && (sameDocument || !DOCUMENT_METRICS.contains(metric))) {
+                sample.put(metric, value);
+            }
+        }
+        List<String> violations = new ArrayList<>();
+        for (Limit limit : limits) {
+            Double value = sample.get(limit.metric);
+            if (value != null && limit.pattern.matcher(String.valueOf(performance.getUrl())).find() && value > limit.limit) {
+                violations.add(limit.metric + " " + format(value) + " above the limit of " + format(limit.limit)
+                        + " (" + limit.pattern + ")");
+            }
+        }
+        List<String> regressions = new ArrayList<>();
+        Map<PagePerformance.Metric, Deque<Double>> pageHistory = history.computeIfAbsent(page, key -> new EnumMap<>(PagePerformance.Metric.class));
+        for (Map.Entry<PagePerformance.Metric, Double> measured : sample.entrySet()) {
+            PagePerformance.Metric metric = measured.getKey();
+            double value = measured.getValue();
+            Deque<Double> previous = pageHistory.get(metric);
+            if (previous != null && previous.size() >= minimumSamples) {
+                double baseline = median(previous);
+                if (baseline > 0 && value > baseline * (1 + regressionPercent / 100)) {
+                    regressions.add(metric + " " + format(value) + " is " + Math.round((value / baseline - 1) * 100)
+                            + "% above the baseline of " + format(baseline));
+                }
+            }
+        }
+        sample.forEach((metric, value) -> add(pageHistory, metric, value));
+        appendHistory(page, sample);
+        BudgetResult result = new BudgetResult(page, performance, violations, regressions);
+        if (result.isPassed()) {
+            logger.debug(result::toString);
+        } else {
+            logger.warn(result::toString);
+        }
+        return result;
+    }
+
+    /**
+     * Wraps a session so that the current page is evaluated after every openUrl, refreshPage and navigateBack, and after every
+     * click and tap which led to another URL.
+     *
+     * @param delegate The session to be checked.
+     * @return A Selewright instance which evaluates the pages and forwards every call to the delegate.
+     */
+    public Selewright wrap(Selewright delegate) {
+        return (Selewright) Proxy.newProxyInstance(Selewright.class.getClassLoader(), new Class<?>[]{Selewright.class},
+                new BudgetHandler(delegate));
+    }
+
+    private final class BudgetHandler implements InvocationHandler {
+        private final Selewright delegate;
+        private String lastEvaluatedUrl;
+
+        BudgetHandler(Selewright delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (method.getDeclaringClass() == Selewright.class && EVALUATED_METHODS.contains(method.getName())) {
+                check(method.getName());
+            }
+            return result;
+        }
+
+        private void check(String action) {
+            BudgetResult result;
+            try {
+                String url = delegate.getCurrentPageUrl();
+                boolean navigated = !action.equals("click") && !action.equals("tap");
+                if (!navigated && Objects.equals(url, lastEvaluatedUrl)) {
+                    // A click which did not change the page is not a new page load
+                    return;
+                }
+                lastEvaluatedUrl = url;
+                result = evaluate(delegate.getPagePerformance());
+            } catch (RuntimeException e) {
+                logger.debug(() -> "Not able to evaluate the performance after " + action + ": " + e.getMessage());
+                return;
+            }
+            if (failOnViolation) {
+                result.assertPassed();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value was measured: not reported by the browser is -1, and DOMContentLoaded and load are 0 until they fired
+     */
+    private static boolean isMeasured(PagePerformance.Metric metric, double value) {
+        if (metric == PagePerformance.Metric.DOM_CONTENT_LOADED || metric == PagePerformance.Metric.LOAD) {
+            return value > 0;
+        }
+        return value >= 0;
+    }
+
+    private void add(Map<PagePerformance.Metric, Deque<Double>> pageHistory, PagePerformance.Metric metric, double value) {
+        Deque<Double> values = pageHistory.computeIfAbsent(metric, key -> new ArrayDeque<>());
+        values.addLast(value);
+        while (values.size() > baselineSize) {
+            values.removeFirst();
+        }
+    }
+
+    private void loadHistory() {
+        if (historyLoaded) {
+            return;
+        }
+        historyLoaded = true;
+        if (historyFile == null || !Files.exists(historyFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(historyFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                    Map<PagePerformance.Metric, Deque<Double>> pageHistory = history.computeIfAbsent(entry.get("page").getAsString(),
+                            key -> new EnumMap<>(PagePerformance.Metric.class));
+                    for (Map.Entry<String, JsonElement> metric : entry.getAsJsonObject("metrics").entrySet()) {
+                        PagePerformance.Metric key = PagePerformance.Metric.valueOf(metric.getKey());
+                        double value = metric.getValue().getAsDouble();
+                        if (isMeasured(key, value)) {
+                            add(pageHistory, key, value);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    logger.debug(() -> "Skipping history line: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn(() -> "Not able to read performance history " + historyFile + ": " + e.getMessage());
+        }
+    }
+
+    private void appendHistory(String page, Map<PagePerformance.Metric, Double> sample) {
+        if (historyFile == null) {
+            return;
+        }
+        JsonObject entry = new JsonObject();
+        entry.addProperty("time", System.currentTimeMillis());
+        entry.addProperty("page", page);
+        JsonObject metrics = new JsonObject();
+        sample.forEach((metric, value) -> metrics.addProperty(metric.name(), value));
+        entry.add("metrics", metrics);
+        try {
+            if (historyFile.getParent() != null) {
+                Files.createDirectories(historyFile.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(historyFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND)) {
+                writer.write(entry.toString());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            logger.warn(() -> "Not able to write performance history " + historyFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the page the history of a URL is kept under: the normalized URL without query and fragment
+     */
+    static String pageOf(String url) {
+        if (url == null) {
+            return "";
+        }
+        String normalized = UrlBloomFilter.normalize(url);
+        int query = normalized.indexOf('?');
+        return query < 0 ? normalized : normalized.substring(0, query);
+    }
+
+    private static double median(Collection<Double> values) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static final class Limit {
+        final Pattern pattern;
+        final PagePerformance.Metric metric;
+        final double limit;
+
+        Limit(Pattern pattern, PagePerformance.Metric metric, double limit) {
+            this.pattern = pattern;
+            this.metric = metric;
+            this.limit = limit;
+        }
+    }
+}
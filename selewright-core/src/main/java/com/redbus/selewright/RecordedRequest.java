@@ -0,0 +1,119 @@
+package com.redbus.selewright;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class holds a request received by {@link StubServer}, as kept in its request journal.
+ */
+public class RecordedRequest {
+    private final long sequence;
+    private final long receivedAtMillis;
+    private final String method;
+    private final String path;
+    private final String query;
+    private final Map<String, String> headers;
+    private final String body;
+    private volatile int responseCode;
+
+    RecordedRequest(long sequence, String method, String path, String query, Map<String, String> headers, String body) {
+        this.sequence = sequence;
+        this.receivedAtMillis = System.currentTimeMillis();
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.body = body;
+    }
+
+    /**
+     * Get the position of the request in the journal, starting at 0
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Get the time at which the request was received, in epoch milliseconds
+     */
+    public long getReceivedAtMillis() {
+        return receivedAtMillis;
+    }
+
+    /**
+     * Get the HTTP method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the request path, without the query
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Get the raw query string, or null if there is none
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Get the decoded value of a query parameter, or null if it is not present
+     */
+    public String getQueryParameter(String name) {
+        return getQueryParameters().get(name);
+    }
+
+    /**
+     * Get all decoded query parameters
+     */
+    public Map<String, String> getQueryParameters() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = eq < 0 ? pair : pair.substring(0, eq);
+                String value = eq < 0 ? "" : pair.substring(eq + 1);
+                parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Get the request headers. Header names are lower case.
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the request body, empty if there is none
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Get the response code sent back, or 0 while the response is still pending
+     */
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    void setResponseCode(int responseCode) {
+        this.responseCode = responseCode;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path + (query == null ? "" : "?" + query) + " -> " + responseCode;
+    }
+}
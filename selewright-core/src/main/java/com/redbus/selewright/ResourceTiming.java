@@ -0,0 +1,77 @@
+package com.redbus.selewright;
+
+/**
+ * This class holds the Resource Timing entry of one request made by a page, as reported in {@link PagePerformance}
+ */
+public class ResourceTiming {
+    private String name;
+    private String initiatorType;
+    private double startTime;
+    private double duration;
+    private long transferSize;
+    private long encodedBodySize;
+    private long decodedBodySize;
+    private int responseStatus;
+
+    /**
+     * Get the URL of the resource
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get what requested the resource, e.g. "script", "img", "css", "fetch" or "xmlhttprequest"
+     */
+    public String getInitiatorType() {
+        return initiatorType;
+    }
+
+    /**
+     * Get when the request started, in milliseconds since the navigation started
+     */
+    public double getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Get how long the request took, in milliseconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get the bytes received for the resource, headers included. 0 when it came from the cache or the server did not allow
+     * cross-origin timing.
+     */
+    public long getTransferSize() {
+        return transferSize;
+    }
+
+    /**
+     * Get the size of the body as received, before decompression
+     */
+    public long getEncodedBodySize() {
+        return encodedBodySize;
+    }
+
+    /**
+     * Get the size of the body after decompression
+     */
+    public long getDecodedBodySize() {
+        return decodedBodySize;
+    }
+
+    /**
+     * Get the HTTP status of the response, or 0 when the browser does not report it
+     */
+    public int getResponseStatus() {
+        return responseStatus;
+    }
+
+    @Override
+    public String toString() {
+        return initiatorType + " " + name + " " + Math.round(duration) + " ms, " + transferSize + " bytes";
+    }
+}
@@ -0,0 +1,152 @@
+package com.redbus.selewright;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class is used to define how {@link Selewright#takeScreenshot(String, ScreenshotOptions)} captures the page:
+ * image format and quality, full page or viewport, an optional clip rectangle and how long the capture may take.
+ */
+public class ScreenshotOptions {
+    /**
+     * The image formats of a screenshot
+     */
+    public enum Format {
+        PNG,
+        JPEG
+    }
+
+    private Format format = Format.PNG;
+    private int quality = 80;
+    private boolean fullPage;
+    private double[] clip;
+    private int timeoutInSeconds = 5;
+
+    /**
+     * Get the image format
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Set the image format. Default is PNG.
+     */
+    public ScreenshotOptions setFormat(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Get the JPEG quality, from 0 to 100
+     */
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * Set the JPEG quality, from 0 to 100. Ignored for PNG. Default is 80.
+     */
+    public ScreenshotOptions setQuality(int quality) {
+        this.quality = Math.max(0, Math.min(100, quality));
+        return this;
+    }
+
+    /**
+     * Get whether the whole scrollable page is captured
+     */
+    public boolean isFullPage() {
+        return fullPage;
+    }
+
+    /**
+     * Set whether the whole scrollable page is captured instead of the viewport. Default is false.
+     */
+    public ScreenshotOptions setFullPage(boolean fullPage) {
+        this.fullPage = fullPage;
+        return this;
+    }
+
+    /**
+     * Get the clip rectangle as {x, y, width, height}, or null when the whole image is captured
+     */
+    public double[] getClip() {
+        return clip;
+    }
+
+    /**
+     * Set the rectangle of the page to be captured, in CSS pixels from the top left corner of the page
+     */
+    public ScreenshotOptions setClip(double x, double y, double width, double height) {
+        this.clip = new double[]{x, y, width, height};
+        return this;
+    }
+
+    /**
+     * Get how long the capture may take, in seconds, or 0 when the default of the backend applies
+     */
+    public int getTimeout() {
+        return timeoutInSeconds;
+    }
+
+    /**
+     * Set how long the capture may take, so that a screenshot of a hanging page does not slow a failing test down.
+     * Default is 5 seconds.
+     */
+    public ScreenshotOptions setTimeout(int timeoutInSeconds) {
+        this.timeoutInSeconds = Math.max(1, timeoutInSeconds);
+        return this;
+    }
+
+    /**
+     * Removes the time limit of the capture, so that the default of the backend applies. Used by the screenshot methods without options.
+     */
+    ScreenshotOptions withoutTimeout() {
+        this.timeoutInSeconds = 0;
+        return this;
+    }
+
+    /**
+     * Get the file extension matching the format
+     */
+    public String getFileExtension() {
+        return format == Format.JPEG ? "jpg" : "png";
+    }
+
+    /**
+     * Get whether the image needs more than a plain viewport PNG, i.e. another format or a clip
+     */
+    boolean needsTranscoding() {
+        return format != Format.PNG || clip != null;
+    }
+
+    /**
+     * Builds the parameters of the DevTools command Page.captureScreenshot. A full page capture needs the content size,
+     * read by the caller with Page.getLayoutMetrics.
+     *
+     * @param contentWidth  The width of the page content, used for full page captures without clip.
+     * @param contentHeight The height of the page content, used for full page captures without clip.
+     */
+    Map<String, Object> toCdpParameters(double contentWidth, double contentHeight) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("format", format == Format.JPEG ? "jpeg" : "png");
+        if (format == Format.JPEG) {
+            parameters.put("quality", quality);
+        }
+        double[] area = clip;
+        if (area == null && fullPage) {
+            area = new double[]{0, 0, contentWidth, contentHeight};
+        }
+        if (area != null) {
+            Map<String, Object> rectangle = new HashMap<>();
+            rectangle.put("x", area[0]);
+            rectangle.put("y", area[1]);
+            rectangle.put("width", area[2]);
+            rectangle.put("height", area[3]);
+            rectangle.put("scale", 1);
+            parameters.put("clip", rectangle);
+            parameters.put("captureBeyondViewport", true);
+        }
+        return parameters;
+    }
+}
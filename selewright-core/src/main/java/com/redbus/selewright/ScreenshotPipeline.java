@@ -0,0 +1,189 @@
+package com.redbus.selewright;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * This class does the work of a screenshot which does not need the browser: Base64 encoding and decoding, format conversion
+ * and writing to disk. It runs on virtual threads, so the test thread only waits for the capture itself. Images are written
+ * with a single FileChannel write, without intermediate copy.
+ * <p>
+ * Pending writes of the default pipeline are completed on shutdown, so a screenshot taken just before a failing test ends is not
+ * lost. Call {@link #awaitPending(int)} to wait for them earlier, e.g. before a report is built from the files. Other pipelines
+ * are closed by their owner, which completes their pending writes.
+ */
+public class ScreenshotPipeline implements AutoCloseable {
+    private static final ScreenshotPipeline DEFAULT = new ScreenshotPipeline();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DEFAULT::close, "selewright-screenshot-shutdown"));
+    }
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("selewright-screenshot-", 0).factory());
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Get the pipeline shared by all Selewright instances. It is closed on shutdown and must not be closed otherwise.
+     */
+    public static ScreenshotPipeline getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Runs a task in the background
+     *
+     * @return A future completed with the result of the task.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(task, executor);
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+        return future;
+    }
+
+    /**
+     * Writes an image to a file in the background
+     *
+     * @return A future completed with the file path once the file is written.
+     */
+    public CompletableFuture<String> write(byte[] image, String path) {
+        return submit(() -> {
+            writeFile(image, path);
+            return path;
+        });
+    }
+
+    /**
+     * Decodes a Base64 image, e.g. as returned by the browser, and writes it to a file in the background
+     *
+     * @return A future completed with the file path once the file is written.
+     */
+    public CompletableFuture<String> write(String base64Image, String path) {
+        return submit(() -> {
+            writeFile(Base64.getDecoder().decode(base64Image), path);
+            return path;
+        });
+    }
+
+    /**
+     * Encodes an image in Base64 in the background
+     */
+    public CompletableFuture<String> encode(byte[] image) {
+        return submit(() -> Base64.getEncoder().encodeToString(image));
+    }
+
+    /**
+     * Get the number of tasks not completed yet
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Waits until every pending task is completed
+     *
+     * @return true if all tasks completed in time, otherwise false.
+     */
+    public boolean awaitPending(int timeoutInSeconds) {
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get(timeoutInSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // Failed tasks report their error through their own future
+            return true;
+        }
+    }
+
+    /**
+     * Completes the pending tasks, waiting up to 30 seconds, and stops the pipeline
+     */
+    @Override
+    public void close() {
+        awaitPending(30);
+        executor.shutdown();
+    }
+
+    /**
+     * Converts a PNG image to the format and clip of the given options, for backends which cannot capture them natively.
+     * The clip is applied to the captured image.
+     */
+    public byte[] transcode(byte[] png, ScreenshotOptions options) {
+        if (!options.needsTranscoding()) {
+            return png;
+        }
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            double[] clip = options.getClip();
+            if (clip != null) {
+                int x = (int) Math.max(0, Math.min(clip[0], image.getWidth() - 1));
+                int y = (int) Math.max(0, Math.min(clip[1], image.getHeight() - 1));
+                int width = (int) Math.max(1, Math.min(clip[2], image.getWidth() - x));
+                int height = (int) Math.max(1, Math.min(clip[3], image.getHeight() - y));
+                image = image.getSubimage(x, y, width, height);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (options.getFormat() == ScreenshotOptions.Format.PNG) {
+                ImageIO.write(image, "png", out);
+                return out.toByteArray();
+            }
+            // JPEG has no alpha channel
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+            graphics.dispose();
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            ImageWriteParam parameters = writer.getDefaultWriteParam();
+            parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parameters.setCompressionQuality(options.getQuality() / 100f);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(rgb, null, null), parameters);
+            } finally {
+                writer.dispose();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to convert screenshot", e);
+        }
+    }
+
+    /**
+     * Get a new file path in the given folder for a screenshot of the given options
+     */
+    static String newPath(String locationToStore, ScreenshotOptions options) {
+        return locationToStore + "screenshot_" + System.currentTimeMillis() + "." + options.getFileExtension();
+    }
+
+    private static void writeFile(byte[] image, String path) {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(image);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to write screenshot " + path, e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.redbus.selewright;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class holds the in-page engine of scrollToElement shared by the browser backends. The scroll steps and the visibility
+ * probes run inside the page, so reaching an element far below costs one round trip instead of one wait per step. The element
+ * is looked up again as soon as the page changes, and the script returns once it is attached and reported visible by an
+ * IntersectionObserver. When the element is not there yet, the page is scrolled by one viewport once the DOM stayed quiet
+ * for a short time, e.g. after a lazy loaded section was rendered. The end of the page is reached when a scroll at the bottom
+ * did not make the page grow.
+ * <p>
+ * Only CSS and XPath locators can be resolved in the page. For other selectors the script returns "unsupported" and the backend
+ * falls back to its own lookup.
+ */
+public final class ScrollIntoView {
+    /**
+     * Maximum number of viewport scrolls before giving up
+     */
+    public static final int MAX_SCROLL_STEPS = 11;
+
+    /**
+     * Time without DOM change after a scroll after which the next scroll is done, in milliseconds
+     */
+    public static final int QUIET_PERIOD_MS = 250;
+
+    /**
+     * Function taking the arguments built by {@link #probe(String, long)} and returning a promise which resolves with
+     * {found, steps, reason}, where reason is "visible", "end", "maxSteps", "timeout" or "unsupported".
+     */
+    public static final String SCROLL_FUNCTION = "(o) => new Promise((resolve) => {"
+            + "const root = document.scrollingElement || document.documentElement;"
+            + "const find = () => o.xpath"
+            + "  ? document.evaluate(o.selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+            + "  : document.querySelector(o.selector);"
+            + "try { find(); } catch (e) { resolve({found: false, steps: 0, reason: 'unsupported'}); return; }"
+            + "const started = Date.now();"
+            + "let steps = 0, lastChange = started, heightAtStep = 0, observed = null, visible = false;"
+            + "const intersection = typeof IntersectionObserver === 'function'"
+            + "  ? new IntersectionObserver((entries) => { entries.forEach((e) => { visible = e.isIntersecting; }); }) : null;"
+            + "const inViewport = (element) => {"
+            + "  const r = element.getBoundingClientRect();"
+            + "  return r.width > 0 && r.height > 0 && r.bottom > 0 && r.right > 0 && r.top < window.innerHeight && r.left < window.innerWidth;"
+            + "};"
+            + "const mutations = new MutationObserver(() => { lastChange = Date.now(); });"
+            + "mutations.observe(document.body, {childList: true, subtree: true, attributes: true});"
+            + "const finish = (found, reason) => {"
+            + "  mutations.disconnect();"
+            + "  if (intersection) { intersection.disconnect(); }"
+            + "  resolve({found: found, steps: steps, reason: reason});"
+            + "};"
+            + "const tick = () => {"
+            + "  const now = Date.now();"
+            + "  const element = find();"
+            + "  if (element && element !== observed) {"
+            + "    observed = element;"
+            + "    visible = false;"
+            + "    element.scrollIntoView({behavior: 'auto', block: 'center', inline: 'center'});"
+            + "    if (intersection) { intersection.disconnect(); intersection.observe(element); }"
+            + "  }"
+            + "  if (element && !intersection) { visible = inViewport(element); }"
+            + "  if (element && visible) { finish(true, 'visible'); return; }"
+            + "  if (now - started >= o.timeoutMs) { finish(false, 'timeout'); return; }"
+            + "  if (!element && now - lastChange >= o.quietMs) {"
+            + "    const atEnd = window.innerHeight + window.scrollY >= root.scrollHeight - 1;"
+            + "    if (atEnd && steps > 0 && root.scrollHeight <= heightAtStep) { finish(false, 'end'); return; }"
+            + "    if (steps >= o.maxSteps) { finish(false, 'maxSteps'); return; }"
+            + "    steps++;"
+            + "    heightAtStep = root.scrollHeight;"
+            + "    lastChange = now;"
+            + "    window.scrollBy(0, window.innerHeight);"
+            + "  }"
+            + "  setTimeout(tick, 25);"
+            + "};"
+            + "tick();"
+            + "})";
+
+    /**
+     * The same engine as a WebDriver asynchronous script, taking the arguments as first parameter
+     */
+    public static final String SCROLL_ASYNC_SCRIPT = "(" + SCROLL_FUNCTION + ")(arguments[0]).then(arguments[arguments.length - 1]);";
+
+    private ScrollIntoView() {
+    }
+
+    /**
+     * Builds the arguments of {@link #SCROLL_FUNCTION} and {@link #SCROLL_ASYNC_SCRIPT}.
+     *
+     * @param address   The CSS or XPath locator of the element, optionally prefixed with "css=" or "xpath=".
+     * @param timeoutMs How long the element may take to appear and become visible, in milliseconds.
+     * @return The arguments, to be passed as a single script parameter.
+     */
+    public static Map<String, Object> probe(String address, long timeoutMs) {
+        String selector = address;
+        boolean xpath = false;
+        if (address.startsWith("xpath=")) {
+            selector = address.substring(6);
+            xpath = true;
+        } else if (address.startsWith("css=")) {
+            selector = address.substring(4);
+        } else {
+            xpath = address.replace("(", "").startsWith("/");
+        }
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("selector", selector);
+        arguments.put("xpath", xpath);
+        arguments.put("maxSteps", MAX_SCROLL_STEPS);
+        arguments.put("quietMs", QUIET_PERIOD_MS);
+        arguments.put("timeoutMs", Math.max(0, timeoutMs));
+        return arguments;
+    }
+
+    /**
+     * Get whether the result of the script tells the element is visible
+     */
+    public static boolean isVisible(Map<String, Object> result) {
+        return result != null && Boolean.TRUE.equals(result.get("found"));
+    }
+
+    /**
+     * Get whether the locator could not be resolved in the page, so the backend has to look it up itself
+     */
+    public static boolean isUnsupported(Map<String, Object> result) {
+        return result == null || "unsupported".equals(result.get("reason"));
+    }
+}
@@ -2,6 +2,7 @@ package com.redbus.selewright;
 
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Selewright is a lightweight abstraction layer built on top of Selenium and Playwright, designed for browser test automation frameworks.
@@ -96,6 +97,15 @@ public interface Selewright {
      */
     void enterText(String address, String text);
 
+    /**
+     * Enters the specified text into the element identified by the given locator, typing it as defined by the strategy.
+     *
+     * @param address  The locator of the element.
+     * @param text     The text to enter.
+     * @param strategy How to type, e.g. {@link TypingStrategy#fill()} or {@link TypingStrategy#untilApi(String)}.
+     */
+    void enterText(String address, String text, TypingStrategy strategy);
+
     /**
      * Retrieves the text content of the element identified by the given locator.
      *
@@ -521,6 +531,13 @@ public interface Selewright {
      */
     void updateGlobalWait(int waitInSeconds);
 
+    /**
+     * Updates the log level of this session. Use {@link LogLevel#OFF} to switch off logging for the session.
+     *
+     * @param level The minimum level of the messages to be logged.
+     */
+    void setLogLevel(LogLevel level);
+
     /**
      * Checks if the input field identified by the given locator is enabled.
      *
@@ -577,6 +594,84 @@ public interface Selewright {
      */
     List<String> getAllAttributes(String address, String attribute);
 
+    /**
+     * Checks the links of all elements matching the locator (their href, or src for images, scripts and frames) concurrently,
+     * using a {@link LinkAuditor}. Relative links are resolved against the current page.
+     *
+     * @param address The locator of the elements, e.g. "a".
+     * @return The outcome of every link, by resolved URL.
+     */
+    Map<String, LinkStatus> auditLinks(String address);
+
+    /**
+     * Retrieves the images matching the locator which failed to load, in a single call to the page.
+     *
+     * @param address The locator of the images, e.g. "img".
+     * @return The sources of the broken images.
+     */
+    List<String> getBrokenImages(String address);
+
+    /**
+     * Retrieves the console errors and uncaught exceptions of the page since the last call, and forgets them.
+     *
+     * @return The error messages, oldest first.
+     */
+    List<String> getConsoleErrors();
+
+    /**
+     * Retrieves the Navigation Timing, Resource Timing and Core Web Vitals (LCP, CLS, INP) of the current page in a single call
+     * to the page. See {@link PagePerformance} for what is reported on the first call on a page.
+     *
+     * @return The performance of the page.
+     */
+    PagePerformance getPagePerformance();
+
+    /**
+     * Starts recording a performance trace of the session: a Chrome performance trace on Chromium, a Playwright trace otherwise.
+     */
+    void startTrace();
+
+    /**
+     * Stops the trace started by {@link #startTrace()}, writes it to the specified location and summarizes it.
+     *
+     * @param locationToStore Path to store the trace file.
+     * @return The long tasks, scripting, layout and painting time of the traced window, with the path of the trace file.
+     */
+    TraceSummary stopTrace(String locationToStore);
+
+    /**
+     * Records a performance trace while the given actions run, e.g. a click which is slow.
+     *
+     * @param locationToStore Path to store the trace file.
+     * @param actions         The actions to profile.
+     * @return The summary of the trace, see {@link #stopTrace(String)}.
+     */
+    TraceSummary profile(String locationToStore, Runnable actions);
+
+    /**
+     * Retrieves the memory use of the current page: JavaScript heap, DOM nodes and event listeners. Use a {@link MemorySampler}
+     * to sample it during a flow and find leaks.
+     *
+     * @return The memory use of the page.
+     */
+    MemorySnapshot getMemorySnapshot();
+
+    /**
+     * Applies network and CPU conditions to the session, e.g. {@link EmulationProfile#SLOW_3G}, until another profile is applied.
+     * The calls of a session decorated by {@link InstrumentedSelewright} are recorded per profile, so the latency of the same
+     * flow can be compared across conditions.
+     *
+     * @param profile The conditions to apply, or {@link EmulationProfile#NONE} to stop throttling.
+     */
+    void setEmulationProfile(EmulationProfile profile);
+
+    /**
+     * Retrieves the conditions applied to the session.
+     *
+     * @return The current profile, {@link EmulationProfile#NONE} when the session is not throttled.
+     */
+    EmulationProfile getEmulationProfile();
+
     /**
      * Takes a screenshot of the current page in png format and saves it to the specified location.
      *
@@ -593,6 +688,35 @@ public interface Selewright {
      */
     String takeScreenshotAsBase64(boolean fullPageScreenshot);
 
+    /**
+     * Takes a screenshot of the current page with the given options and saves it to the specified location.
+     * Only the capture runs on the calling thread, the image is converted and written in the background by {@link ScreenshotPipeline}.
+     *
+     * @param locationToStore Path to store the screenshot.
+     * @param options         The format, quality, clip, full page and timeout of the capture.
+     * @return A future completed with the file path once the file is written.
+     */
+    CompletableFuture<String> takeScreenshot(String locationToStore, ScreenshotOptions options);
+
+    /**
+     * Takes a screenshot of the current page with the given options. Only the capture runs on the calling thread,
+     * the Base64 encoding is done in the background by {@link ScreenshotPipeline}.
+     *
+     * @param options The format, quality, clip, full page and timeout of the capture.
+     * @return A future completed with the screenshot as a base64 encoded string.
+     */
+    CompletableFuture<String> takeScreenshotAsBase64(ScreenshotOptions options);
+
+    /**
+     * Takes a screenshot of the viewport and compares it with the baseline of the given name, using {@link VisualComparator#getDefault()}.
+     * The first screenshot of a name becomes its baseline.
+     *
+     * @param baselineName    The name of the baseline, e.g. "home-page".
+     * @param ignoredLocators The locators of the elements not to compare, e.g. a clock or an advertisement.
+     * @return The outcome of the comparison. Use {@link VisualDiffResult#isMatch()} to assert.
+     */
+    VisualDiffResult compareScreenshot(String baselineName, String... ignoredLocators);
+
     /**
      * Retrieves the CSS color value for the first element matching the given class name.
      *
@@ -611,7 +735,7 @@ public interface Selewright {
     boolean waitTillTextPresent(String locator, int waitTimeInSeconds);
 
     /**
-     * Enters the specified text into the input field letter by letter.
+     * Enters the specified text into the input field letter by letter, with {@link TypingStrategy#DEFAULT_KEY_DELAY_MS} between two keys.
      *
      * @param locator The locator of the input field.
      * @param text    The text to enter.
@@ -661,13 +785,22 @@ public interface Selewright {
     String refreshAndAcceptAlert();
 
     /**
-     * Scrolls to the bottom of the page until the end is reached.
+     * Scrolls to the bottom of the page until the end is reached, with the default {@link InfiniteScrollOptions}.
      *
      * @param api The API to track during scrolling.
      * @return The number of times the API was called during scrolling.
      */
     int scrollTillEnd(String api);
 
+    /**
+     * Scrolls to the bottom of the page until the end is reached, scrolling again as soon as the page settled.
+     *
+     * @param api     The API to track during scrolling.
+     * @param options The quiet period, maximum number of pages and page timeout.
+     * @return The number of times the API was called during scrolling.
+     */
+    int scrollTillEnd(String api, InfiniteScrollOptions options);
+
     /**
      * Removes the highlight from the specified element by resetting its styles.
      *
@@ -759,9 +892,9 @@ public interface Selewright {
     /**
      * Performs a horizontal swipe action on the screen.
      *
-     * @param startXPercent The starting X percentage of the screen width.
-     * @param endXPercent   The ending X percentage of the screen width.
-     * @param yPercent      The Y percentage of the screen height where the swipe occurs.
+     * @param startXPercent The starting X percentage (0 to 100) of the screen width.
+     * @param endXPercent   The ending X percentage (0 to 100) of the screen width.
+     * @param yPercent      The Y percentage (0 to 100) of the screen height where the swipe occurs.
      * @param durationMs    The duration of the swipe in milliseconds.
      */
     void swipeHorizontal(double startXPercent, double endXPercent, double yPercent, int durationMs);
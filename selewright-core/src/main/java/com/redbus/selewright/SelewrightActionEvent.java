@@ -0,0 +1,33 @@
+package com.redbus.selewright;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for a browser action (click, navigation, text entry etc.) performed by a Selewright implementation.
+ * Emitted through {@link Instrumentation#action(String, String, String, java.util.function.Supplier)}.
+ */
+@Name("com.redbus.selewright.Action")
+@Label("Selewright Action")
+@Category({"Selewright"})
+@Description("A browser action performed by Selewright")
+@StackTrace(false)
+public class SelewrightActionEvent extends Event {
+    @Label("Backend")
+    @Description("The automation tool performing the action, e.g. selenium or playwright")
+    String backend;
+
+    @Label("Method")
+    String method;
+
+    @Label("Locator")
+    @Description("The locator, URL or text the action was performed on")
+    String target;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,186 @@
+package com.redbus.selewright;
+
+import java.time.LocalTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * This class is the logging facade used across Selewright.
+ * Every session owns its own logger so that logging can be tuned or switched off per session. Messages passed as a
+ * {@link Supplier} are only built when the level is enabled, and lines are written by {@link AsyncLogAppender} so that
+ * logging never blocks a test. Request and response bodies go through {@link #body(String, String)}, which samples and truncates them.
+ * The default level can be set through the system property "selewright.log.level".
+ */
+public class SelewrightLogger {
+    public static final int DEFAULT_MAX_BODY_CHARS = 2000;
+
+    private static final LogLevel DEFAULT_LEVEL = parseLevel(System.getProperty("selewright.log.level"), LogLevel.INFO);
+
+    private final String name;
+    private final AsyncLogAppender appender;
+    private volatile LogLevel level = DEFAULT_LEVEL;
+    private volatile int maxBodyChars = DEFAULT_MAX_BODY_CHARS;
+    private volatile double bodySampleRate = 1.0;
+
+    public SelewrightLogger(String name) {
+        this(name, AsyncLogAppender.getDefault());
+    }
+
+    public SelewrightLogger(String name, AsyncLogAppender appender) {
+        this.name = name;
+        this.appender = appender;
+    }
+
+    /**
+     * Set the minimum level of the messages to be logged. Use {@link LogLevel#OFF} to switch logging off.
+     */
+    public SelewrightLogger setLevel(LogLevel level) {
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * Get the minimum level of the messages to be logged
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Set how request and response bodies are logged.
+     *
+     * @param maxBodyChars   Number of characters after which a body is truncated.
+     * @param bodySampleRate Fraction of bodies to be logged, between 0 (none) and 1 (all).
+     */
+    public SelewrightLogger setBodyLogging(int maxBodyChars, double bodySampleRate) {
+        this.maxBodyChars = maxBodyChars;
+        this.bodySampleRate = bodySampleRate;
+        return this;
+    }
+
+    /**
+     * Checks whether messages of the given level are logged
+     */
+    public boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel != LogLevel.OFF && messageLevel.compareTo(level) >= 0;
+    }
+
+    /**
+     * Logs the message at trace level. The message is built only if the level is enabled.
+     */
+    public void trace(Supplier<String> message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    /**
+     * Logs the message at debug level.
+     */
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    /**
+     * Logs the message at debug level. The message is built only if the level is enabled.
+     */
+    public void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    /**
+     * Logs the message at info level.
+     */
+    public void info(String message) {
+        log(LogLevel.INFO, message);
+    }
+
+    /**
+     * Logs the message at info level. The message is built only if the level is enabled.
+     */
+    public void info(Supplier<String> message) {
+        log(LogLevel.INFO, message);
+    }
+
+    /**
+     * Logs the message at warn level.
+     */
+    public void warn(String message) {
+        log(LogLevel.WARN, message);
+    }
+
+    /**
+     * Logs the message at warn level. The message is built only if the level is enabled.
+     */
+    public void warn(Supplier<String> message) {
+        log(LogLevel.WARN, message);
+    }
+
+    /**
+     * Logs the message at error level.
+     */
+    public void error(String message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    /**
+     * Logs an error along with the stack trace of the exception
+     */
+    public void error(String message, Throwable throwable) {
+        if (isEnabled(LogLevel.ERROR)) {
+            StringBuilder line = new StringBuilder(message);
+            for (Throwable t = throwable; t != null; t = t.getCause()) {
+                line.append(System.lineSeparator()).append(t == throwable ? "" : "Caused by: ").append(t);
+                for (StackTraceElement element : t.getStackTrace()) {
+                    line.append(System.lineSeparator()).append("\tat ").append(element);
+                }
+            }
+            write(LogLevel.ERROR, line.toString());
+        }
+    }
+
+    /**
+     * Logs a request or response body at debug level. Bodies are sampled and truncated as per {@link #setBodyLogging(int, double)}.
+     *
+     * @param label Description of the body, e.g. "Actual response of https://...".
+     * @param body  The body to log.
+     */
+    public void body(String label, String body) {
+        if (!isEnabled(LogLevel.DEBUG) || body == null) {
+            return;
+        }
+        if (bodySampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= bodySampleRate) {
+            return;
+        }
+        if (body.length() > maxBodyChars) {
+            write(LogLevel.DEBUG, label + ": " + body.substring(0, maxBodyChars) + "... [" + (body.length() - maxBodyChars) + " more chars]");
+        } else {
+            write(LogLevel.DEBUG, label + ": " + body);
+        }
+    }
+
+    private void log(LogLevel messageLevel, String message) {
+        if (isEnabled(messageLevel)) {
+            write(messageLevel, message);
+        }
+    }
+
+    private void log(LogLevel messageLevel, Supplier<String> message) {
+        if (isEnabled(messageLevel)) {
+            write(messageLevel, message.get());
+        }
+    }
+
+    private void write(LogLevel messageLevel, String message) {
+        appender.append(LocalTime.now() + " [selewright] " + String.format("%-5s", messageLevel) + " " + name + " - " + message);
+    }
+
+    private static LogLevel parseLevel(String value, LogLevel fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LogLevel.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
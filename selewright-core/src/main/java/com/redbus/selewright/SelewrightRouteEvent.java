@@ -0,0 +1,48 @@
+package com.redbus.selewright;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event emitted for a request intercepted while mocking, from the moment it is intercepted until it is answered.
+ * Emitted by MockPipeline (selewright-playwright).
+ */
+@Name("com.redbus.selewright.Route")
+@Label("Selewright Route")
+@Category({"Selewright"})
+@Description("A request intercepted while mocking")
+@StackTrace(false)
+public class SelewrightRouteEvent extends Event {
+    @Label("URL")
+    String url;
+
+    @Label("Matched Rule")
+    @Description("The request conditions of the rule used to answer the request, empty if no rule matched")
+    String rule;
+
+    @Label("Outcome")
+    @Description("mocked, resumed, aborted, or failed when the answer was rejected")
+    String outcome;
+
+    @Label("Response Code")
+    int responseCode;
+
+    @Label("Match Time")
+    @Timespan
+    long matchTime;
+
+    @Label("Fetch Time")
+    @Description("Time spent fetching the actual response from the server")
+    @Timespan
+    long fetchTime;
+
+    @Label("Rewrite Time")
+    @Description("Time spent modifying the actual response body")
+    @Timespan
+    long rewriteTime;
+}
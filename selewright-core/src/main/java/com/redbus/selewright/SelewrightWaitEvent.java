@@ -0,0 +1,32 @@
+package com.redbus.selewright;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event emitted for an explicit wait or sleep of a Selewright implementation.
+ * The event duration is the time actually waited. Emitted through {@link Instrumentation#timeWait(String, int, java.util.function.Supplier)}.
+ */
+@Name("com.redbus.selewright.Wait")
+@Label("Selewright Wait")
+@Category({"Selewright"})
+@Description("An explicit wait or sleep performed by Selewright")
+@StackTrace(false)
+public class SelewrightWaitEvent extends Event {
+    @Label("Kind")
+    @Description("What was waited for, e.g. visible, clickable, page-load")
+    String kind;
+
+    @Label("Timeout")
+    @Timespan(Timespan.SECONDS)
+    long timeout;
+
+    @Label("Satisfied")
+    @Description("False if the wait timed out or failed")
+    boolean satisfied;
+}
@@ -0,0 +1,290 @@
+package com.redbus.selewright;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class sweeps a site through Selewright sessions. Starting from a seed URL, pages are visited breadth first: every page
+ * is opened, checked, and its links are queued for the next depth. Each worker keeps one session for the whole crawl, so the
+ * number of browsers is bounded by the parallelism.
+ * <ul>
+ *     <li>URLs are normalized and deduplicated with a {@link UrlBloomFilter}, so a large site does not need a large set of URLs.</li>
+ *     <li>Only pages of the seed host are visited by default. Links of other hosts are still checked.</li>
+ *     <li>The checks of a page are load time, console errors, broken links and broken images. They can be chosen with
+ *     {@link #setChecks(Set)}.</li>
+ *     <li>Every page is written to the result file as soon as it is checked, one JSON object per line, so a long crawl can be
+ *     followed and its results are kept if it is stopped.</li>
+ * </ul>
+ * <pre>
+ * PlaywrightLauncher launcher = PlaywrightLauncher.getDefault();
+ * List&lt;CrawledPage&gt; pages = new SiteCrawler(launcher::acquire, session -&gt; launcher.release((PlaywrightImplementation) session))
+ *         .setMaxPages(200)
+ *         .setResultFile("target/crawl.jsonl")
+ *         .crawl("https://www.redbus.in");
+ * </pre>
+ */
+public class SiteCrawler {
+    /**
+     * The checks made on every page
+     */
+    public enum Check {
+        LOAD_TIME,
+        CONSOLE_ERRORS,
+        BROKEN_LINKS,
+        BROKEN_IMAGES
+    }
+
+    /**
+     * Function reading the sources of the images, in a list of elements, which finished loading without an image
+     */
+    public static final String BROKEN_IMAGES_FUNCTION = "(elements) => elements.filter((e) => e.complete && (e.currentSrc || e.src)"
+            + " && e.naturalWidth === 0).map((e) => e.currentSrc || e.src)";
+
+    private final Supplier<? extends Selewright> sessionFactory;
+    private final Consumer<Selewright> sessionRelease;
+    private final SelewrightLogger logger = new SelewrightLogger("crawler");
+    private int maxPages = 100;
+    private int maxDepth = 3;
+    private int parallelism = 4;
+    private int maxLoadTimeMillis = 5000;
+    private boolean sameHostOnly = true;
+    private String linkLocator = "a";
+    private String imageLocator = "img";
+    private Set<Check> checks = EnumSet.allOf(Check.class);
+    private Path resultFile;
+
+    /**
+     * @param sessionFactory Creates or borrows the session of a worker, e.g. PlaywrightLauncher::acquire.
+     * @param sessionRelease Closes or gives back the session of a worker at the end of the crawl.
+     */
+    public SiteCrawler(Supplier<? extends Selewright> sessionFactory, Consumer<Selewright> sessionRelease) {
+        this.sessionFactory = sessionFactory;
+        this.sessionRelease = sessionRelease;
+    }
+
+    /**
+     * Set the maximum number of pages visited. Default is 100.
+     */
+    public SiteCrawler setMaxPages(int maxPages) {
+        this.maxPages = Math.max(1, maxPages);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of links between the seed URL and a visited page. Default is 3.
+     */
+    public SiteCrawler setMaxDepth(int maxDepth) {
+        this.maxDepth = Math.max(0, maxDepth);
+        return this;
+    }
+
+    /**
+     * Set the number of pages visited at the same time, i.e. the number of sessions. Default is 4.
+     */
+    public SiteCrawler setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /**
+     * Set the load time above which a page is reported as slow, in milliseconds. Default is 5000.
+     */
+    public SiteCrawler setMaxLoadTime(int maxLoadTimeMillis) {
+        this.maxLoadTimeMillis = maxLoadTimeMillis;
+        return this;
+    }
+
+    /**
+     * Set whether only pages of the seed host are visited. Default is true.
+     */
+    public SiteCrawler setSameHostOnly(boolean sameHostOnly) {
+        this.sameHostOnly = sameHostOnly;
+        return this;
+    }
+
+    /**
+     * Set the locator of the links to follow and check. Default is "a".
+     */
+    public SiteCrawler setLinkLocator(String linkLocator) {
+        this.linkLocator = linkLocator;
+        return this;
+    }
+
+    /**
+     * Set the locator of the images to check. Default is "img".
+     */
+    public SiteCrawler setImageLocator(String imageLocator) {
+        this.imageLocator = imageLocator;
+        return this;
+    }
+
+    /**
+     * Set the checks made on every page. Default is all of them.
+     */
+    public SiteCrawler setChecks(Set<Check> checks) {
+        this.checks = checks.isEmpty() ? EnumSet.noneOf(Check.class) : EnumSet.copyOf(checks);
+        return this;
+    }
+
+    /**
+     * Set the file the pages are written to, one JSON object per line. Default is none.
+     */
+    public SiteCrawler setResultFile(String resultFile) {
+        this.resultFile = resultFile == null ? null : Paths.get(resultFile);
+        return this;
+    }
+
+    /**
+     * Crawls the site from the given URL and waits until every page is checked
+     *
+     * @param seedUrl The first page.
+     * @return The visited pages, in the order they were checked.
+     */
+    public List<CrawledPage> crawl(String seedUrl) {
+        String seedHost = URI.create(seedUrl).getHost();
+        UrlBloomFilter seen = new UrlBloomFilter(maxPages * 50, 0.001);
+        BlockingQueue<Target> frontier = new LinkedBlockingQueue<>();
+        AtomicInteger queued = new AtomicInteger(1);
+        AtomicInteger pending = new AtomicInteger(1);
+        List<CrawledPage> pages = Collections.synchronizedList(new ArrayList<>());
+        seen.add(seedUrl);
+        frontier.add(new Target(seedUrl, 0));
+        try (BufferedWriter writer = openResultFile();
+             ExecutorService workers = Executors.newFixedThreadPool(parallelism)) {
+            for (int i = 0; i < parallelism; i++) {
+                workers.execute(() -> {
+                    Selewright session = null;
+                    try {
+                        session = sessionFactory.get();
+                        while (pending.get() > 0) {
+                            Target target = frontier.poll(100, TimeUnit.MILLISECONDS);
+                            if (target == null) {
+                                continue;
+                            }
+                            try {
+                                List<String> links = new ArrayList<>();
+                                CrawledPage page = visit(session, target, links);
+                                pages.add(page);
+                                write(writer, page);
+                                if (target.depth < maxDepth) {
+                                    for (String link : links) {
+                                        if (queued.get() >= maxPages) {
+                                            break;
+                                        }
+                                        if (sameHostOnly && !seedHost.equalsIgnoreCase(URI.create(link).getHost())) {
+                                            continue;
+                                        }
+                                        if (seen.add(link) && queued.incrementAndGet() <= maxPages) {
+                                            pending.incrementAndGet();
+                                            frontier.add(new Target(link, target.depth + 1));
+                                        }
+                                    }
+                                }
+                            } finally {
+                                pending.decrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        logger.error("Crawler worker stopped: " + e.getMessage(), e);
+                    } finally {
+                        if (session != null) {
+                            sessionRelease.accept(session);
+                        }
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to write crawl results to " + resultFile, e);
+        }
+        logger.info(() -> "Crawled " + pages.size() + " pages from " + seedUrl + ", "
+                + pages.stream().filter(page -> !page.isOk()).count() + " with issues");
+        return new ArrayList<>(pages);
+    }
+
+    private CrawledPage visit(Selewright session, Target target, List<String> links) {
+        long start = System.currentTimeMillis();
+        try {
+            if (checks.contains(Check.CONSOLE_ERRORS)) {
+                // Errors of the previous page are dropped
+                session.getConsoleErrors();
+            }
+            session.openUrl(target.url);
+            long loadTime = System.currentTimeMillis() - start;
+            String pageUrl = session.getCurrentPageUrl();
+            List<String> consoleErrors = checks.contains(Check.CONSOLE_ERRORS) ? session.getConsoleErrors() : null;
+            List<String> brokenLinks = new ArrayList<>();
+            if (checks.contains(Check.BROKEN_LINKS)) {
+                for (LinkStatus status : session.auditLinks(linkLocator).values()) {
+                    if (status.isOk()) {
+                        links.add(status.getUrl());
+                    } else {
+                        brokenLinks.add(status.toString());
+                    }
+                }
+            } else {
+                for (String href : session.getAllAttributes(linkLocator, "href")) {
+                    String link = LinkAuditor.resolve(href, pageUrl);
+                    if (link != null) {
+                        links.add(link);
+                    }
+                }
+            }
+            List<String> brokenImages = checks.contains(Check.BROKEN_IMAGES) ? session.getBrokenImages(imageLocator) : null;
+            boolean slow = checks.contains(Check.LOAD_TIME) && loadTime > maxLoadTimeMillis;
+            return new CrawledPage(target.url, target.depth, session.getPageTitle(), loadTime, slow, links.size() + brokenLinks.size(),
+                    consoleErrors, brokenLinks, brokenImages, null);
+        } catch (RuntimeException e) {
+            logger.warn(() -> "Not able to crawl " + target.url + ": " + e.getMessage());
+            return CrawledPage.failed(target.url, target.depth, System.currentTimeMillis() - start, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private BufferedWriter openResultFile() throws IOException {
+        if (resultFile == null) {
+            return null;
+        }
+        if (resultFile.getParent() != null) {
+            Files.createDirectories(resultFile.getParent());
+        }
+        return Files.newBufferedWriter(resultFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void write(BufferedWriter writer, CrawledPage page) {
+        if (writer == null) {
+            return;
+        }
+        synchronized (writer) {
+            try {
+                writer.write(page.toJson());
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                logger.warn(() -> "Not able to write crawl result: " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Target {
+        final String url;
+        final int depth;
+
+        Target(String url, int depth) {
+            this.url = url;
+            this.depth = depth;
+        }
+    }
+}
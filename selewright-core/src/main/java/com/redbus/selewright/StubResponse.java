@@ -0,0 +1,135 @@
+package com.redbus.selewright;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is used to define the response sent by {@link StubServer} for a stubbed path, including the injected latency and
+ * the payload size.
+ */
+public class StubResponse {
+    private int responseCode = 200;
+    private final Map<String, String> responseHeaders = new LinkedHashMap<>();
+    private byte[] responseBody = new byte[0];
+    private long latencyMillis;
+    private long latencyJitterMillis;
+    private long bytesPerSecond;
+
+    /**
+     * Get response code
+     */
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * Set response code. Default is 200.
+     */
+    public StubResponse setResponseCode(int responseCode) {
+        this.responseCode = responseCode;
+        return this;
+    }
+
+    /**
+     * Get response headers
+     */
+    public Map<String, String> getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /**
+     * Add a response header
+     */
+    public StubResponse setResponseHeader(String name, String value) {
+        responseHeaders.put(name, value);
+        return this;
+    }
+
+    /**
+     * Get response body
+     */
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * Set response body. The content type defaults to JSON if not set through {@link #setResponseHeader(String, String)}.
+     */
+    public StubResponse setResponseBody(String responseBody) {
+        return setResponseBody(responseBody.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Set response body as raw bytes
+     */
+    public StubResponse setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+        return this;
+    }
+
+    /**
+     * Set a deterministic JSON response body of exactly the given size in bytes, e.g. to measure how payload size affects mocking or capturing.
+     */
+    public StubResponse setPayloadSize(int sizeInBytes) {
+        return setResponseBody(payloadOfSize(sizeInBytes));
+    }
+
+    /**
+     * Get the delay before the response is sent, in milliseconds
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * Set the delay before the response is sent.
+     *
+     * @param latencyMillis Fixed delay in milliseconds.
+     * @param jitterMillis  Random extra delay between 0 and this value, in milliseconds.
+     */
+    public StubResponse setLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = jitterMillis;
+        return this;
+    }
+
+    /**
+     * Get the random extra delay, in milliseconds
+     */
+    public long getLatencyJitterMillis() {
+        return latencyJitterMillis;
+    }
+
+    /**
+     * Get the bandwidth at which the body is sent, in bytes per second. 0 means unlimited.
+     */
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Limit the bandwidth at which the body is sent, to simulate slow networks. 0 means unlimited.
+     */
+    public StubResponse setBytesPerSecond(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    static byte[] payloadOfSize(int sizeInBytes) {
+        String prefix = "{\"payload\":\"";
+        String suffix = "\"}";
+        if (sizeInBytes < prefix.length() + suffix.length()) {
+            return "{}".getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] payload = new byte[sizeInBytes];
+        byte[] head = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] tail = suffix.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(head, 0, payload, 0, head.length);
+        for (int i = head.length; i < sizeInBytes - tail.length; i++) {
+            payload[i] = (byte) ('a' + (i % 26));
+        }
+        System.arraycopy(tail, 0, payload, sizeInBytes - tail.length, tail.length);
+        return payload;
+    }
+}
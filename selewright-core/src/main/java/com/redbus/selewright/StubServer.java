@@ -0,0 +1,310 @@
+package com.redbus.selewright;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * This class is a programmable HTTP server running inside the test JVM. It stands in for real backends so that mocking, capturing
+ * and network features can be checked deterministically and offline, e.g. on an isolated CI box.
+ * Responses are defined per method and path with {@link StubResponse}, including injected latency, bandwidth and payload size,
+ * and every request received is kept in a bounded journal.
+ * <pre>
+ * try (StubServer server = new StubServer().start()) {
+ *     server.stub("GET", "/api/search", new StubResponse().setPayloadSize(64 * 1024).setLatency(200, 50));
+ *     selewright.openUrl(server.url("/api/search"));
+ *     server.getRequestCount("/api/search");
+ * }
+ * </pre>
+ * A path ending with "*" matches every path starting with it. When several stubs match, the one registered last is used.
+ */
+public class StubServer implements AutoCloseable {
+    public static final int DEFAULT_JOURNAL_SIZE = 10_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Stub> stubs = new CopyOnWriteArrayList<>();
+    private final Deque<RecordedRequest> journal = new ArrayDeque<>();
+    private final SelewrightLogger logger = new SelewrightLogger("stub-server");
+    private int journalSize = DEFAULT_JOURNAL_SIZE;
+    private long nextSequence = 0;
+
+    /**
+     * Creates a server listening on a free port of the loopback interface
+     */
+    public StubServer() {
+        this(0);
+    }
+
+    /**
+     * Creates a server listening on the given port of the loopback interface
+     */
+    public StubServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts the server
+     */
+    public StubServer start() {
+        server.start();
+        logger.debug(() -> "Stub server listening on " + url(""));
+        return this;
+    }
+
+    /**
+     * Get the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Get the absolute URL of a path served by this server
+     */
+    public String url(String path) {
+        return "http://127.0.0.1:" + getPort() + path;
+    }
+
+    /**
+     * Stubs a path with a fixed response.
+     *
+     * @param method   The HTTP method, or null to match every method.
+     * @param path     The path, ending with "*" to match every path starting with it.
+     * @param response The response to send.
+     */
+    public StubServer stub(String method, String path, StubResponse response) {
+        return stub(method, path, request -> response);
+    }
+
+    /**
+     * Stubs a path with a response built from the request, e.g. to page through results based on a query parameter.
+     *
+     * @param method    The HTTP method, or null to match every method.
+     * @param path      The path, ending with "*" to match every path starting with it.
+     * @param responder Builds the response to send.
+     */
+    public StubServer stub(String method, String path, Function<RecordedRequest, StubResponse> responder) {
+        stubs.add(new Stub(method, path, responder));
+        return this;
+    }
+
+    /**
+     * Set the number of requests to be kept in the journal. Oldest requests are dropped first.
+     */
+    public synchronized StubServer setJournalSize(int journalSize) {
+        this.journalSize = Math.max(1, journalSize);
+        trimJournal();
+        return this;
+    }
+
+    /**
+     * Get every request kept in the journal, oldest first
+     */
+    public synchronized List<RecordedRequest> getJournal() {
+        return new ArrayList<>(journal);
+    }
+
+    /**
+     * Get the requests kept in the journal for a path, oldest first.
+     *
+     * @param path The path, ending with "*" to match every path starting with it.
+     */
+    public synchronized List<RecordedRequest> getRequests(String path) {
+        List<RecordedRequest> requests = new ArrayList<>();
+        for (RecordedRequest request : journal) {
+            if (matches(path, request.getPath())) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Get the number of requests kept in the journal for a path
+     */
+    public int getRequestCount(String path) {
+        return getRequests(path).size();
+    }
+
+    /**
+     * Waits until the journal holds at least the given number of requests for a path.
+     *
+     * @param path          The path, ending with "*" to match every path starting with it.
+     * @param count         The number of requests to wait for.
+     * @param timeoutMillis The maximum time to wait.
+     * @return True if the requests were received within the timeout, otherwise false.
+     */
+    public synchronized boolean waitForRequests(String path, int count, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (getRequestCount(path) < count) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every request kept in the journal
+     */
+    public synchronized void clearJournal() {
+        journal.clear();
+    }
+
+    /**
+     * Removes every stub and forgets every request kept in the journal
+     */
+    public void reset() {
+        stubs.clear();
+        clearJournal();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            RecordedRequest request = record(exchange);
+            Stub stub = findStub(request);
+            StubResponse response;
+            if (stub == null) {
+                response = new StubResponse().setResponseCode(404)
+                        .setResponseHeader("Content-Type", "text/plain; charset=utf-8")
+                        .setResponseBody("No stub for " + request.getMethod() + " " + request.getPath());
+            } else {
+                try {
+                    response = stub.responder.apply(request);
+                } catch (RuntimeException e) {
+                    logger.warn(() -> "Stub for " + request.getPath() + " failed: " + e.getMessage());
+                    response = new StubResponse().setResponseCode(500).setResponseBody(String.valueOf(e.getMessage()));
+                }
+            }
+            delay(response);
+            send(exchange, request, response);
+        }
+    }
+
+    private RecordedRequest record(HttpExchange exchange) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        exchange.getRequestHeaders().forEach((name, values) -> headers.put(name.toLowerCase(Locale.ROOT), String.join(",", values)));
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        synchronized (this) {
+            RecordedRequest request = new RecordedRequest(nextSequence++, exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath(), exchange.getRequestURI().getRawQuery(), headers, body);
+            journal.addLast(request);
+            trimJournal();
+            notifyAll();
+            return request;
+        }
+    }
+
+    private Stub findStub(RecordedRequest request) {
+        for (int i = stubs.size() - 1; i >= 0; i--) {
+            Stub stub = stubs.get(i);
+            if ((stub.method == null || stub.method.equalsIgnoreCase(request.getMethod())) && matches(stub.path, request.getPath())) {
+                return stub;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(String pattern, String path) {
+        return pattern.endsWith("*") ? path.startsWith(pattern.substring(0, pattern.length() - 1)) : pattern.equals(path);
+    }
+
+    private static void delay(StubResponse response) {
+        long millis = response.getLatencyMillis();
+        if (response.getLatencyJitterMillis() > 0) {
+            millis += ThreadLocalRandom.current().nextLong(response.getLatencyJitterMillis() + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, RecordedRequest request, StubResponse response) throws IOException {
+        byte[] body = response.getResponseBody();
+        response.getResponseHeaders().forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        if (!exchange.getResponseHeaders().containsKey("Content-Type")) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        }
+        int code = response.getResponseCode();
+        boolean noBody = body.length == 0 || code == 204 || code == 304 || request.getMethod().equalsIgnoreCase("HEAD");
+        exchange.sendResponseHeaders(code, noBody ? -1 : body.length);
+        request.setResponseCode(code);
+        if (noBody) {
+            return;
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            long bytesPerSecond = response.getBytesPerSecond();
+            if (bytesPerSecond <= 0) {
+                out.write(body);
+                return;
+            }
+            // Send a tenth of the bandwidth every 100 ms
+            int chunk = (int) Math.max(1, bytesPerSecond / 10);
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                out.write(body, offset, Math.min(chunk, body.length - offset));
+                out.flush();
+                if (offset + chunk < body.length) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void trimJournal() {
+        while (journal.size() > journalSize) {
+            journal.pollFirst();
+        }
+    }
+
+    private static final class Stub {
+        private final String method;
+        private final String path;
+        private final Function<RecordedRequest, StubResponse> responder;
+
+        private Stub(String method, String path, Function<RecordedRequest, StubResponse> responder) {
+            this.method = method;
+            this.path = path;
+            this.responder = responder;
+        }
+    }
+}
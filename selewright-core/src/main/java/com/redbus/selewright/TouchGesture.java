@@ -0,0 +1,122 @@
+package com.redbus.selewright;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class holds the in-page gesture engine shared by the browser backends. A whole swipe (touchstart, every touchmove and
+ * touchend) is played inside the page by a single script, so it costs one round trip whatever its duration. Positions are given
+ * in percent (0 to 100) of the viewport and converted in the page, so the viewport size does not have to be read first.
+ * <p>
+ * Pages without touch support, e.g. desktop carousels, listen for mouse or pointer events and may ignore untrusted ones. There the
+ * script dispatches nothing and returns the viewport size, and the backend plays the same path as native mouse input, moving in
+ * {@link #steps(int)} steps.
+ * <p>
+ * A trace overlay drawing the swipe path can be switched on with {@link #setTraceOverlay(boolean)} or the system property
+ * "selewright.gesture.trace", e.g. to follow gestures in a headed run.
+ */
+public final class TouchGesture {
+    /**
+     * Function taking the arguments built by {@link #swipe(double, double, double, double, int)} and returning a promise which
+     * resolves with null once the touch gesture is complete, or at once with the viewport size ("width" and "height") when the
+     * page has no touch support and the path has to be played as mouse input.
+     */
+    public static final String SWIPE_FUNCTION = "(g) => new Promise((resolve) => {"
+            + "const w = window.innerWidth, h = window.innerHeight;"
+            + "if (!('ontouchstart' in window || navigator.maxTouchPoints > 0)) { resolve({width: w, height: h}); return; }"
+            + "const x0 = w * g.startX / 100, y0 = h * g.startY / 100, x1 = w * g.endX / 100, y1 = h * g.endY / 100;"
+            + "const target = document.elementFromPoint(x0, y0) || document.body;"
+            + "const touch = typeof Touch === 'function' && typeof TouchEvent === 'function';"
+            + "const pointerTypes = {touchstart: 'pointerdown', touchmove: 'pointermove', touchend: 'pointerup'};"
+            + "const id = Date.now();"
+            + "const fire = (type, x, y) => {"
+            + "  if (touch) {"
+            + "    const t = new Touch({identifier: id, target: target, clientX: x, clientY: y,"
+            + "      pageX: x + window.scrollX, pageY: y + window.scrollY, screenX: x, screenY: y});"
+            + "    const active = type === 'touchend' ? [] : [t];"
+            + "    target.dispatchEvent(new TouchEvent(type, {cancelable: true, bubbles: true, composed: true,"
+            + "      touches: active, targetTouches: active, changedTouches: [t], view: window}));"
+            + "  } else {"
+            + "    target.dispatchEvent(new PointerEvent(pointerTypes[type], {cancelable: true, bubbles: true, composed: true,"
+            + "      pointerId: 1, pointerType: 'touch', isPrimary: true, clientX: x, clientY: y, view: window}));"
+            + "  }"
+            + "};"
+            + "if (g.trace) {"
+            + "  const canvas = document.createElement('canvas');"
+            + "  canvas.width = w; canvas.height = h;"
+            + "  canvas.style.cssText = 'position:fixed;top:0;left:0;pointer-events:none;z-index:2147483647';"
+            + "  document.documentElement.appendChild(canvas);"
+            + "  const ctx = canvas.getContext('2d');"
+            + "  ctx.strokeStyle = 'blue'; ctx.lineWidth = 5;"
+            + "  ctx.beginPath(); ctx.moveTo(x0, y0); ctx.lineTo(x1, y1); ctx.stroke();"
+            + "  setTimeout(() => canvas.remove(), 2000);"
+            + "}"
+            + "const steps = Math.max(5, Math.round(g.durationMs / 16));"
+            + "let step = 0;"
+            + "fire('touchstart', x0, y0);"
+            + "const move = () => {"
+            + "  step++;"
+            + "  const p = step / steps;"
+            + "  fire('touchmove', x0 + p * (x1 - x0), y0 + p * (y1 - y0));"
+            + "  if (step < steps) {"
+            + "    setTimeout(move, g.durationMs / steps);"
+            + "  } else {"
+            + "    fire('touchend', x1, y1);"
+            + "    resolve(null);"
+            + "  }"
+            + "};"
+            + "setTimeout(move, g.durationMs / steps);"
+            + "})";
+
+    /**
+     * The same engine as a WebDriver asynchronous script, taking the arguments as first parameter
+     */
+    public static final String SWIPE_ASYNC_SCRIPT = "(" + SWIPE_FUNCTION + ")(arguments[0]).then(arguments[arguments.length - 1]);";
+
+    private static volatile boolean traceOverlay = Boolean.getBoolean("selewright.gesture.trace");
+
+    private TouchGesture() {
+    }
+
+    /**
+     * Set whether the path of every swipe is drawn on the page for two seconds. Default is off.
+     */
+    public static void setTraceOverlay(boolean enabled) {
+        traceOverlay = enabled;
+    }
+
+    /**
+     * Get whether the path of every swipe is drawn on the page
+     */
+    public static boolean isTraceOverlay() {
+        return traceOverlay;
+    }
+
+    /**
+     * Get the number of moves of a swipe of the given duration, one per frame, the same as the in-page engine
+     */
+    public static int steps(int durationMs) {
+        return Math.max(5, Math.round(Math.max(0, durationMs) / 16f));
+    }
+
+    /**
+     * Builds the arguments of a swipe for {@link #SWIPE_FUNCTION} and {@link #SWIPE_ASYNC_SCRIPT}.
+     *
+     * @param startXPercent The starting X position, in percent of the viewport width.
+     * @param startYPercent The starting Y position, in percent of the viewport height.
+     * @param endXPercent   The ending X position, in percent of the viewport width.
+     * @param endYPercent   The ending Y position, in percent of the viewport height.
+     * @param durationMs    The duration of the swipe in milliseconds.
+     * @return The arguments, to be passed as a single script parameter.
+     */
+    public static Map<String, Object> swipe(double startXPercent, double startYPercent, double endXPercent, double endYPercent, int durationMs) {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("startX", startXPercent);
+        arguments.put("startY", startYPercent);
+        arguments.put("endX", endXPercent);
+        arguments.put("endY", endYPercent);
+        arguments.put("durationMs", Math.max(0, durationMs));
+        arguments.put("trace", traceOverlay);
+        return arguments;
+    }
+}
@@ -0,0 +1,345 @@
+package com.redbus.selewright;
+
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * This class summarizes a Chrome performance trace, as recorded by startTrace and stopTrace: the long tasks of the page and
+ * the time its main thread spent scripting, in style and layout, and painting.
+ * <p>
+ * The trace is read as a stream, so traces of hundreds of megabytes are summarized without being loaded in memory. Time is
+ * attributed the way the Performance panel of DevTools does: an event only counts the time not spent in the events it contains,
+ * so a layout forced by a script is counted as layout and not twice. Traces which are not Chrome traces, e.g. Playwright traces
+ * of Firefox and WebKit, are not summarized and every metric is -1.
+ */
+public class TraceSummary {
+    /**
+     * Duration from which a task of the main thread is a long task, in milliseconds
+     */
+    public static final double LONG_TASK_MS = 50;
+
+    /**
+     * Trace categories recorded on Chromium, the ones of the Performance panel of DevTools
+     */
+    public static final List<String> CATEGORIES = List.of("-*", "devtools.timeline", "disabled-by-default-devtools.timeline",
+            "disabled-by-default-devtools.timeline.frame", "disabled-by-default-devtools.timeline.stack", "v8.execute",
+            "disabled-by-default-v8.cpu_profiler", "blink.user_timing", "loading", "latencyInfo", "toplevel");
+
+    private static final Set<String> TASKS = Set.of("RunTask", "ThreadControllerImpl::RunTask");
+    private static final Set<String> SCRIPTING = Set.of("EvaluateScript", "FunctionCall", "TimerFire", "EventDispatch",
+            "FireAnimationFrame", "FireIdleCallback", "RunMicrotasks", "v8.compile", "v8.compileModule", "v8.evaluateModule",
+            "v8.produceCache", "v8.produceModuleCache", "V8.Execute", "MajorGC", "MinorGC", "XHRReadyStateChange", "XHRLoad");
+    private static final Set<String> LAYOUT = Set.of("Layout", "UpdateLayoutTree", "RecalculateStyles", "UpdateLayerTree",
+            "HitTest", "PrePaint", "ScheduleStyleRecalculation", "InvalidateLayout");
+    private static final Set<String> PAINTING = Set.of("Paint", "PaintImage", "CompositeLayers", "Commit", "Decode Image",
+            "Layerize", "RasterTask");
+
+    private final String traceFile;
+    private final double durationMillis;
+    private final double scriptingMillis;
+    private final double layoutMillis;
+    private final double paintingMillis;
+    private final List<Double> longTasks;
+    private final double totalBlockingTimeMillis;
+
+    private TraceSummary(String traceFile, double durationMillis, double scriptingMillis, double layoutMillis, double paintingMillis,
+                         List<Double> longTasks, double totalBlockingTimeMillis) {
+        this.traceFile = traceFile;
+        this.durationMillis = durationMillis;
+        this.scriptingMillis = scriptingMillis;
+        this.layoutMillis = layoutMillis;
+        this.paintingMillis = paintingMillis;
+        this.longTasks = longTasks;
+        this.totalBlockingTimeMillis = totalBlockingTimeMillis;
+    }
+
+    /**
+     * Get a summary for a trace which cannot be summarized, e.g. a Playwright trace archive
+     */
+    static TraceSummary unavailable(String traceFile) {
+        return new TraceSummary(traceFile, -1, -1, -1, -1, Collections.emptyList(), -1);
+    }
+
+    /**
+     * Builds the path of a new trace file in a folder, named like the screenshots of {@link ScreenshotPipeline}
+     */
+    static String newPath(String locationToStore, String extension) {
+        return locationToStore + "trace_" + System.currentTimeMillis() + "." + extension;
+    }
+
+    /**
+     * Reads a Chrome trace file, either a JSON array of events or an object with a "traceEvents" array
+     */
+    public static TraceSummary parse(Path traceFile) {
+        try (Reader reader = Files.newBufferedReader(traceFile, StandardCharsets.UTF_8)) {
+            return parse(reader, traceFile.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to read trace " + traceFile, e);
+        }
+    }
+
+    static TraceSummary parse(Reader source, String traceFile) throws IOException {
+        Map<Long, String> threadNames = new HashMap<>();
+        Map<Long, List<Slice>> threads = new HashMap<>();
+        double[] bounds = {Double.MAX_VALUE, 0};
+        JsonReader reader = new JsonReader(source);
+        reader.setStrictness(Strictness.LENIENT);
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("traceEvents")) {
+                    readEvents(reader, threadNames, threads, bounds);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } else {
+            readEvents(reader, threadNames, threads, bounds);
+        }
+        if (threads.isEmpty()) {
+            return unavailable(traceFile);
+        }
+        Set<Long> mainThreads = new HashSet<>();
+        threadNames.forEach((thread, name) -> {
+            if ("CrRendererMain".equals(name)) {
+                mainThreads.add(thread);
+            }
+        });
+        double[] totals = new double[3];
+        List<double[]> longTasks = new ArrayList<>();
+        for (Map.Entry<Long, List<Slice>> thread : threads.entrySet()) {
+            if (mainThreads.isEmpty() || mainThreads.contains(thread.getKey())) {
+                summarize(thread.getValue(), totals, longTasks);
+            }
+        }
+        longTasks.sort(Comparator.comparingDouble(task -> task[0]));
+        List<Double> durations = new ArrayList<>();
+        double blocking = 0;
+        for (double[] task : longTasks) {
+            durations.add(task[1]);
+            blocking += task[1] - LONG_TASK_MS;
+        }
+        double duration = bounds[1] > bounds[0] ? (bounds[1] - bounds[0]) / 1000 : 0;
+        return new TraceSummary(traceFile, duration, totals[0], totals[1], totals[2], Collections.unmodifiableList(durations), blocking);
+    }
+
+    private static void readEvents(JsonReader reader, Map<Long, String> threadNames, Map<Long, List<Slice>> threads, double[] bounds)
+            throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String name = null;
+            String phase = null;
+            String argName = null;
+            double ts = -1;
+            double dur = -1;
+            long pid = 0;
+            long tid = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (key) {
+                    case "name":
+                        name = reader.nextString();
+                        break;
+                    case "ph":
+                        phase = reader.nextString();
+                        break;
+                    case "ts":
+                        ts = reader.nextDouble();
+                        break;
+                    case "dur":
+                        dur = reader.nextDouble();
+                        break;
+                    case "pid":
+                        pid = reader.peek() == JsonToken.NUMBER ? reader.nextLong() : reader.nextString().hashCode();
+                        break;
+                    case "tid":
+                        tid = reader.peek() == JsonToken.NUMBER ? reader.nextLong() : reader.nextString().hashCode();
+                        break;
+                    case "args":
+                        argName = readArgName(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            long thread = pid << 32 ^ (tid & 0xffffffffL);
+            if ("M".equals(phase)) {
+                if ("thread_name".equals(name) && argName != null) {
+                    threadNames.put(thread, argName);
+                }
+                continue;
+            }
+            if (ts > 0) {
+                bounds[0] = Math.min(bounds[0], ts);
+                bounds[1] = Math.max(bounds[1], ts + Math.max(0, dur));
+            }
+            if (!"X".equals(phase) || name == null || dur < 0) {
+                continue;
+            }
+            int category = TASKS.contains(name) ? Slice.TASK : SCRIPTING.contains(name) ? Slice.SCRIPTING
+                    : LAYOUT.contains(name) ? Slice.LAYOUT : PAINTING.contains(name) ? Slice.PAINTING : -1;
+            if (category >= 0) {
+                threads.computeIfAbsent(thread, key -> new ArrayList<>()).add(new Slice(ts, dur, category));
+            }
+        }
+        reader.endArray();
+    }
+
+    private static String readArgName(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("name") && reader.peek() == JsonToken.STRING) {
+                name = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    /**
+     * Attributes the self time of the slices of one thread to their categories, and collects its long tasks
+     */
+    private static void summarize(List<Slice> slices, double[] totals, List<double[]> longTasks) {
+        List<Slice> work = new ArrayList<>();
+        for (Slice slice : slices) {
+            if (slice.category == Slice.TASK) {
+                if (slice.dur / 1000 >= LONG_TASK_MS) {
+                    longTasks.add(new double[]{slice.ts / 1000, slice.dur / 1000});
+                }
+            } else {
+                work.add(slice);
+            }
+        }
+        // Parents first: earlier start, then longer duration
+        work.sort(Comparator.comparingDouble((Slice slice) -> slice.ts).thenComparing(slice -> -slice.dur));
+        Deque<Slice> open = new ArrayDeque<>();
+        for (Slice slice : work) {
+            while (!open.isEmpty() && open.peek().ts + open.peek().dur <= slice.ts) {
+                open.pop();
+            }
+            Slice parent = open.peek();
+            if (parent != null) {
+                parent.self -= Math.min(slice.ts + slice.dur, parent.ts + parent.dur) - slice.ts;
+            }
+            open.push(slice);
+        }
+        for (Slice slice : work) {
+            totals[slice.category - 1] += Math.max(0, slice.self) / 1000;
+        }
+    }
+
+    /**
+     * Get the trace file
+     */
+    public String getTraceFile() {
+        return traceFile;
+    }
+
+    /**
+     * Get whether the trace could be summarized. Otherwise every metric is -1.
+     */
+    public boolean isAvailable() {
+        return durationMillis >= 0;
+    }
+
+    /**
+     * Get the time covered by the trace, in milliseconds
+     */
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Get the time the main thread spent running scripts, garbage collection included, in milliseconds
+     */
+    public double getScriptingMillis() {
+        return scriptingMillis;
+    }
+
+    /**
+     * Get the time the main thread spent on style and layout, in milliseconds
+     */
+    public double getLayoutMillis() {
+        return layoutMillis;
+    }
+
+    /**
+     * Get the time the main thread spent painting and compositing, in milliseconds
+     */
+    public double getPaintingMillis() {
+        return paintingMillis;
+    }
+
+    /**
+     * Get the durations of the tasks of the main thread longer than {@link #LONG_TASK_MS}, in milliseconds, in order of start
+     */
+    public List<Double> getLongTasks() {
+        return longTasks;
+    }
+
+    /**
+     * Get the duration of the longest task of the main thread, in milliseconds, or 0 when there was no long task
+     */
+    public double getLongestTaskMillis() {
+        return longTasks.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+    }
+
+    /**
+     * Get the total blocking time: the sum of the time above {@link #LONG_TASK_MS} of every long task, in milliseconds
+     */
+    public double getTotalBlockingTimeMillis() {
+        return totalBlockingTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        if (!isAvailable()) {
+            return traceFile + " (no summary)";
+        }
+        return String.format(Locale.ROOT, "%s: %.0f ms traced, scripting %.1f ms, style and layout %.1f ms, painting %.1f ms, "
+                        + "%d long tasks (longest %.1f ms, total blocking time %.1f ms)", traceFile, durationMillis, scriptingMillis,
+                layoutMillis, paintingMillis, longTasks.size(), getLongestTaskMillis(), totalBlockingTimeMillis);
+    }
+
+    private static final class Slice {
+        static final int TASK = 0;
+        static final int SCRIPTING = 1;
+        static final int LAYOUT = 2;
+        static final int PAINTING = 3;
+
+        final double ts;
+        final double dur;
+        final int category;
+        double self;
+
+        Slice(double ts, double dur, int category) {
+            this.ts = ts;
+            this.dur = dur;
+            this.category = category;
+            this.self = dur;
+        }
+    }
+}
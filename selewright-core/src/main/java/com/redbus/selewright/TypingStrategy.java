@@ -0,0 +1,154 @@
+package com.redbus.selewright;
+
+/**
+ * This class defines how {@link Selewright#enterText(String, String, TypingStrategy)} types a text. The element is resolved once,
+ * whatever the strategy.
+ * <ul>
+ *     <li>{@link #fill()}: replaces the value at once, the fastest way when the page does not react to single keys.</li>
+ *     <li>{@link #keyboard(int)}: presses every key, waiting the given delay between two keys.</li>
+ *     <li>{@link #untilApi(String)}: presses every key, then waits until a request whose URL contains the given text
+ *     (e.g. the autocomplete API) and which started after the last key has completed, instead of sleeping a fixed time per key.</li>
+ * </ul>
+ */
+public class TypingStrategy {
+    public static final int DEFAULT_KEY_DELAY_MS = 100;
+
+    /**
+     * The ways of typing a text
+     */
+    public enum Mode {
+        FILL,
+        KEYBOARD,
+        UNTIL_API
+    }
+
+    private final Mode mode;
+    private int keyDelayMs;
+    private String apiUrlSubString;
+    private int apiTimeoutInSeconds = 10;
+
+    private TypingStrategy(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Replaces the value of the field at once
+     */
+    public static TypingStrategy fill() {
+        return new TypingStrategy(Mode.FILL);
+    }
+
+    /**
+     * Presses every key, waiting the given delay between two keys. A delay of 0 sends all keys in a single call.
+     */
+    public static TypingStrategy keyboard(int keyDelayMs) {
+        return new TypingStrategy(Mode.KEYBOARD).setKeyDelay(keyDelayMs);
+    }
+
+    /**
+     * Presses every key, without delay unless {@link #setKeyDelay(int)} is used, then waits until a request whose URL contains
+     * the given text and which started after the last key has completed
+     */
+    public static TypingStrategy untilApi(String apiUrlSubString) {
+        TypingStrategy strategy = new TypingStrategy(Mode.UNTIL_API);
+        strategy.apiUrlSubString = apiUrlSubString;
+        return strategy;
+    }
+
+    /**
+     * Set the delay between two keys, in milliseconds. Ignored by {@link #fill()}.
+     */
+    public TypingStrategy setKeyDelay(int keyDelayMs) {
+        this.keyDelayMs = Math.max(0, keyDelayMs);
+        return this;
+    }
+
+    /**
+     * Set how long {@link #untilApi(String)} waits for the request after the last key. Default is 10 seconds.
+     */
+    public TypingStrategy setApiTimeout(int apiTimeoutInSeconds) {
+        this.apiTimeoutInSeconds = apiTimeoutInSeconds;
+        return this;
+    }
+
+    /**
+     * Get the way of typing
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get the delay between two keys, in milliseconds
+     */
+    public int getKeyDelay() {
+        return keyDelayMs;
+    }
+
+    /**
+     * Get the URL sub string of the request awaited by {@link #untilApi(String)}
+     */
+    public String getApiUrlSubString() {
+        return apiUrlSubString;
+    }
+
+    /**
+     * Get how long {@link #untilApi(String)} waits for the request, in seconds
+     */
+    public int getApiTimeout() {
+        return apiTimeoutInSeconds;
+    }
+
+    /**
+     * Script registering, before the first key, an observer which records the matching requests and a listener which records
+     * when the last key was typed. It takes the URL sub string as parameter.
+     */
+    static final String ARM_API_OBSERVER_FUNCTION = "(api) => {"
+            + "const state = window.__selewrightTyping = {api: api, lastKey: performance.now(), starts: []};"
+            + "state.onKey = () => { state.lastKey = performance.now(); };"
+            + "window.addEventListener('keydown', state.onKey, true);"
+            + "window.addEventListener('input', state.onKey, true);"
+            + "if (typeof PerformanceObserver !== 'function') { state.unsupported = true; return; }"
+            + "state.observer = new PerformanceObserver((list) => {"
+            + "  list.getEntries().forEach((e) => { if (e.name.includes(api)) state.starts.push(e.startTime); });"
+            + "});"
+            + "state.observer.observe({type: 'resource'});"
+            + "}";
+
+    /**
+     * Script resolving to true once the observer registered by {@link #ARM_API_OBSERVER_FUNCTION} saw a matching request which
+     * started at or after the last key, i.e. the request for the full text and not for its first letters. It resolves to false
+     * after the timeout in milliseconds given as parameter, or at once when the observer is gone, e.g. after a navigation.
+     */
+    static final String AWAIT_API_FUNCTION = "(timeoutMs) => new Promise((resolve) => {"
+            + "const state = window.__selewrightTyping;"
+            + "if (!state) { resolve(false); return; }"
+            + "const started = Date.now();"
+            + "const finish = (result) => {"
+            + "  state.observer && state.observer.disconnect();"
+            + "  window.removeEventListener('keydown', state.onKey, true);"
+            + "  window.removeEventListener('input', state.onKey, true);"
+            + "  delete window.__selewrightTyping;"
+            + "  resolve(result);"
+            + "};"
+            + "const check = () => {"
+            + "  if (state.observer) { state.observer.takeRecords().forEach((e) => { if (e.name.includes(state.api)) state.starts.push(e.startTime); }); }"
+            + "  if (state.unsupported || state.starts.some((start) => start >= state.lastKey)) { finish(true); return; }"
+            + "  if (Date.now() - started >= timeoutMs) { finish(false); return; }"
+            + "  setTimeout(check, 25);"
+            + "};"
+            + "check();"
+            + "})";
+
+    @Override
+    public String toString() {
+        switch (mode) {
+            case KEYBOARD:
+                return "keyboard(" + keyDelayMs + " ms)";
+            case UNTIL_API:
+                return "untilApi(" + apiUrlSubString + ")";
+            default:
+                return "fill";
+        }
+    }
+}
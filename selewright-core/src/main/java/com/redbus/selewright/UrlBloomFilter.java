@@ -0,0 +1,145 @@
+package com.redbus.selewright;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class remembers which URLs were already seen, in a fixed amount of memory whatever the number of URLs. URLs are
+ * normalized first, so that the same page reached through different links (host case, default port, fragment, trailing slash,
+ * query parameter order, tracking parameters) is seen once.
+ * <p>
+ * As any Bloom filter, it can wrongly report a new URL as seen, with the false positive rate given at creation once the expected
+ * number of URLs was added. It never reports a seen URL as new. It is safe for use by several threads.
+ */
+public class UrlBloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedUrls      The number of URLs expected to be added.
+     * @param falsePositiveRate The accepted rate of new URLs reported as seen, e.g. 0.001.
+     */
+    public UrlBloomFilter(int expectedUrls, double falsePositiveRate) {
+        int expected = Math.max(1, expectedUrls);
+        double rate = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long size = (long) Math.ceil(-expected * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (size + 63) / 64 * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+    }
+
+    /**
+     * Adds a URL
+     *
+     * @return true if the URL was not seen before, otherwise false.
+     */
+    public boolean add(String url) {
+        long[] hashes = hashes(normalize(url));
+        boolean added = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << (bit & 63);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+                added = true;
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+        return added;
+    }
+
+    /**
+     * Get whether a URL was probably seen before
+     */
+    public boolean mightContain(String url) {
+        long[] hashes = hashes(normalize(url));
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Normalizes a URL: lower case scheme and host, no default port, no fragment, no trailing slash, no tracking parameters
+     * (utm_*, gclid, fbclid) and sorted query parameters.
+     */
+    public static String normalize(String url) {
+        try {
+            URI uri = new URI(url.trim());
+            String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+            String host = uri.getHost() == null ? null : uri.getHost().toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if ("http".equals(scheme) && port == 80 || "https".equals(scheme) && port == 443) {
+                port = -1;
+            }
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            StringBuilder normalized = new StringBuilder();
+            if (scheme != null) {
+                normalized.append(scheme).append("://");
+            }
+            if (host != null) {
+                normalized.append(host);
+            }
+            if (port != -1) {
+                normalized.append(':').append(port);
+            }
+            normalized.append(path);
+            if (uri.getRawQuery() != null) {
+                List<String> parameters = new ArrayList<>();
+                for (String parameter : uri.getRawQuery().split("&")) {
+                    String name = parameter.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                    if (!parameter.isEmpty() && !name.startsWith("utm_") && !name.equals("gclid") && !name.equals("fbclid")) {
+                        parameters.add(parameter);
+                    }
+                }
+                Collections.sort(parameters);
+                if (!parameters.isEmpty()) {
+                    normalized.append('?').append(String.join("&", parameters));
+                }
+            }
+            return normalized.toString();
+        } catch (Exception e) {
+            return url.trim();
+        }
+    }
+
+    /**
+     * Two independent 64 bit hashes (FNV-1a with different offsets, then mixed), combined by double hashing
+     */
+    private static long[] hashes(String url) {
+        byte[] bytes = url.getBytes(StandardCharsets.UTF_8);
+        long first = 0xcbf29ce484222325L;
+        long second = 0x84222325cbf29ce4L;
+        for (byte b : bytes) {
+            first = (first ^ (b & 0xff)) * 0x100000001b3L;
+            second = (second ^ (b & 0xff)) * 0x100000001b3L;
+            second ^= second >>> 29;
+        }
+        return new long[]{mix(first), mix(second) | 1};
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
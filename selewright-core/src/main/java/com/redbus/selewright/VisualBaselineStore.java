@@ -0,0 +1,123 @@
+package com.redbus.selewright;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class stores the baseline images of visual comparisons by content. Every image is saved once under its SHA-256 hash
+ * ("objects/ab/abcdef....png") and every baseline name only points to a hash ("name.sha256"), so identical screens shared by
+ * many baselines take the space of one image and an unchanged screen is recognized from its hash without decoding it.
+ */
+public class VisualBaselineStore {
+    private final Path directory;
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    public VisualBaselineStore(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Get the hash of the image of the given baseline, or null if there is no baseline yet
+     */
+    public String getBaselineHash(String name) {
+        String hash = hashes.get(name);
+        if (hash != null) {
+            return hash;
+        }
+        Path pointer = pointer(name);
+        if (!Files.exists(pointer)) {
+            return null;
+        }
+        try {
+            hash = Files.readString(pointer, StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to read baseline " + name, e);
+        }
+        hashes.put(name, hash);
+        return hash;
+    }
+
+    /**
+     * Makes the given image the baseline of the given name
+     *
+     * @return The hash of the image.
+     */
+    public String setBaseline(String name, byte[] image) {
+        String hash = put(image);
+        Path pointer = pointer(name);
+        try {
+            Files.createDirectories(pointer.getParent());
+            Files.writeString(pointer, hash, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to write baseline " + name, e);
+        }
+        hashes.put(name, hash);
+        return hash;
+    }
+
+    /**
+     * Saves an image under its hash, unless it is already there
+     *
+     * @return The hash of the image.
+     */
+    public String put(byte[] image) {
+        String hash = hash(image);
+        Path object = getObjectPath(hash);
+        if (Files.exists(object)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(object.getParent());
+            // Written aside and moved, so that parallel tests never read a partial image
+            Path temporary = Files.createTempFile(object.getParent(), hash, ".tmp");
+            Files.write(temporary, image);
+            Files.move(temporary, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to write image " + hash, e);
+        }
+        return hash;
+    }
+
+    /**
+     * Get the image saved under the given hash
+     */
+    public byte[] get(String hash) {
+        try {
+            return Files.readAllBytes(getObjectPath(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to read image " + hash, e);
+        }
+    }
+
+    /**
+     * Get the file of the image saved under the given hash
+     */
+    public Path getObjectPath(String hash) {
+        return directory.resolve("objects").resolve(hash.substring(0, 2)).resolve(hash + ".png");
+    }
+
+    /**
+     * Get the SHA-256 hash of an image, in hexadecimal
+     */
+    public static String hash(byte[] image) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Path pointer(String name) {
+        return directory.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".sha256");
+    }
+}
@@ -0,0 +1,342 @@
+package com.redbus.selewright;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class compares screenshots with baselines kept in a {@link VisualBaselineStore}. A comparison does as little work as the
+ * images allow:
+ * <ol>
+ *     <li>An image with the same SHA-256 hash as its baseline is identical, without being decoded.</li>
+ *     <li>Otherwise, when no share of different pixels is allowed, a 64 bit perceptual hash (difference hash) of both images is
+ *     computed from a sample of their pixels. Only the bits whose luminance gap moved by more than the color tolerance allows
+ *     count as different, so small luminance shifts on flat screens do not flip them. When more bits than the hash threshold
+ *     differ, the sampled pixels already differ beyond the tolerance, so the screens are different and the pixels are not compared.
+ *     With a share of different pixels allowed, the hash cannot decide and is skipped.</li>
+ *     <li>Otherwise the pixels are compared tile by tile. Equal rows are skipped with a vectorized mismatch, so only the pixels
+ *     which changed are checked against the color tolerance and the ignored regions.</li>
+ * </ol>
+ * Decoded baselines are cached by hash, so comparing many screenshots with the same baselines decodes each baseline once.
+ * <p>
+ * A missing baseline is created from the first image. Set the system property "selewright.visual.update" to true to replace
+ * the baselines with the current images.
+ */
+public class VisualComparator {
+    private static final int TILE_SIZE = 32;
+    private static final int DECODED_CACHE_SIZE = 32;
+    private static volatile VisualComparator defaultComparator;
+
+    private final VisualBaselineStore store;
+    private final Map<String, Pixels> decoded = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pixels> eldest) {
+            return size() > DECODED_CACHE_SIZE;
+        }
+    });
+    private int tolerance = 8;
+    private double maxDifferentRatio = 0;
+    private int hashThreshold = 12;
+    private boolean updateBaselines = Boolean.getBoolean("selewright.visual.update");
+
+    /**
+     * @param baselineDirectory The folder of the baseline store.
+     */
+    public VisualComparator(String baselineDirectory) {
+        this(new VisualBaselineStore(baselineDirectory));
+    }
+
+    public VisualComparator(VisualBaselineStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Get the comparator used by compareScreenshot, storing its baselines in the folder given by the system property
+     * "selewright.visual.baselines" (default "visual-baselines")
+     */
+    public static VisualComparator getDefault() {
+        if (defaultComparator == null) {
+            synchronized (VisualComparator.class) {
+                if (defaultComparator == null) {
+                    defaultComparator = new VisualComparator(System.getProperty("selewright.visual.baselines", "visual-baselines"));
+                }
+            }
+        }
+        return defaultComparator;
+    }
+
+    /**
+     * Set the comparator used by compareScreenshot
+     */
+    public static void setDefault(VisualComparator comparator) {
+        defaultComparator = comparator;
+    }
+
+    /**
+     * Get the baseline store
+     */
+    public VisualBaselineStore getStore() {
+        return store;
+    }
+
+    /**
+     * Get the largest difference of a color channel for which two pixels are considered equal
+     */
+    public int getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Set the largest difference of a color channel (0 to 255) for which two pixels are considered equal, e.g. to absorb
+     * anti-aliasing. Default is 8.
+     */
+    public VisualComparator setTolerance(int tolerance) {
+        this.tolerance = Math.max(0, Math.min(255, tolerance));
+        return this;
+    }
+
+    /**
+     * Get the largest share of different pixels for which an image still matches
+     */
+    public double getMaxDifferentRatio() {
+        return maxDifferentRatio;
+    }
+
+    /**
+     * Set the largest share of different pixels (0 to 1) for which an image still matches, e.g. 0.001 for 0.1%. Default is 0.
+     */
+    public VisualComparator setMaxDifferentRatio(double maxDifferentRatio) {
+        this.maxDifferentRatio = Math.max(0, Math.min(1, maxDifferentRatio));
+        return this;
+    }
+
+    /**
+     * Get the number of differing perceptual hash bits above which the pixels are not compared
+     */
+    public int getHashThreshold() {
+        return hashThreshold;
+    }
+
+    /**
+     * Set the number of differing perceptual hash bits (0 to 64) above which images are reported as different without comparing
+     * their pixels, when the share of different pixels is 0. Use 64 to always compare the pixels. Default is 12.
+     */
+    public VisualComparator setHashThreshold(int hashThreshold) {
+        this.hashThreshold = Math.max(0, Math.min(64, hashThreshold));
+        return this;
+    }
+
+    /**
+     * Set whether every compared image replaces its baseline. Default is the system property "selewright.visual.update".
+     */
+    public VisualComparator setUpdateBaselines(boolean updateBaselines) {
+        this.updateBaselines = updateBaselines;
+        return this;
+    }
+
+    /**
+     * Compares an image with its baseline
+     *
+     * @param name           The name of the baseline, e.g. "home-page".
+     * @param png            The image, as PNG.
+     * @param ignoredRegions The regions of the image not to compare, in image pixels, e.g. a clock or an advertisement.
+     * @return The outcome of the comparison.
+     */
+    public VisualDiffResult compare(String name, byte[] png, List<Rectangle> ignoredRegions) {
+        long start = System.nanoTime();
+        List<Rectangle> ignored = ignoredRegions == null ? Collections.emptyList() : ignoredRegions;
+        String baselineHash = store.getBaselineHash(name);
+        if (baselineHash == null || updateBaselines) {
+            store.setBaseline(name, png);
+            return new VisualDiffResult(name, VisualDiffResult.Status.NEW_BASELINE, -1, -1, 0, null, null, System.nanoTime() - start);
+        }
+        String actualHash = VisualBaselineStore.hash(png);
+        if (actualHash.equals(baselineHash)) {
+            return new VisualDiffResult(name, VisualDiffResult.Status.IDENTICAL, 0, 0, 0, null, null, System.nanoTime() - start);
+        }
+        Pixels baseline = decoded.computeIfAbsent(baselineHash, hash -> decode(store.get(hash)));
+        Pixels actual = decode(png);
+        if (baseline.width != actual.width || baseline.height != actual.height) {
+            return new VisualDiffResult(name, VisualDiffResult.Status.SIZE_MISMATCH, -1, -1, 1, null, keep(actualHash, png), System.nanoTime() - start);
+        }
+        int hashDistance = -1;
+        if (maxDifferentRatio == 0) {
+            hashDistance = hashDistance(luminanceGrid(baseline, ignored), luminanceGrid(actual, ignored), tolerance);
+        }
+        if (hashDistance > hashThreshold) {
+            return new VisualDiffResult(name, VisualDiffResult.Status.DIFFERENT, hashDistance, -1, 1, null, keep(actualHash, png), System.nanoTime() - start);
+        }
+        List<Rectangle> tiles = new ArrayList<>();
+        long differentPixels = diff(baseline, actual, ignored, tiles);
+        double ratio = (double) differentPixels / ((long) actual.width * actual.height);
+        if (ratio <= maxDifferentRatio) {
+            return new VisualDiffResult(name, VisualDiffResult.Status.SIMILAR, hashDistance, differentPixels, ratio, tiles, null, System.nanoTime() - start);
+        }
+        return new VisualDiffResult(name, VisualDiffResult.Status.DIFFERENT, hashDistance, differentPixels, ratio, tiles, keep(actualHash, png), System.nanoTime() - start);
+    }
+
+    /**
+     * Converts the box of an element, in CSS pixels of the viewport, to a region of the screenshot
+     *
+     * @param scale The device pixel ratio of the page.
+     */
+    public static Rectangle region(double x, double y, double width, double height, double scale) {
+        int left = (int) Math.floor(x * scale);
+        int top = (int) Math.floor(y * scale);
+        return new Rectangle(left, top, (int) Math.ceil((x + width) * scale) - left, (int) Math.ceil((y + height) * scale) - top);
+    }
+
+    /**
+     * Counts the differing bits of the difference hashes of two luminance grids, where every bit tells whether a cell is brighter
+     * than its right neighbour. Leaves out the bits whose luminance gap moved by at most twice the tolerance: a pixel within the
+     * tolerance shifts the average of its cell by at most the tolerance.
+     */
+    static int hashDistance(double[] baseline, double[] actual, int tolerance) {
+        int distance = 0;
+        for (int row = 0; row < 8; row++) {
+            for (int column = 0; column < 8; column++) {
+                int cell = row * 9 + column;
+                double baselineGap = baseline[cell] - baseline[cell + 1];
+                double actualGap = actual[cell] - actual[cell + 1];
+                if ((baselineGap > 0) != (actualGap > 0) && Math.abs(baselineGap - actualGap) > 2.0 * tolerance) {
+                    distance++;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Reduces an image to 9 x 8 cells of average luminance, from a sample of its pixels. Pixels of ignored regions are left out.
+     */
+    static double[] luminanceGrid(Pixels image, List<Rectangle> ignored) {
+        double[] luminance = new double[9 * 8];
+        for (int row = 0; row < 8; row++) {
+            int top = row * image.height / 8;
+            int bottom = Math.max(top + 1, (row + 1) * image.height / 8);
+            for (int column = 0; column < 9; column++) {
+                int left = column * image.width / 9;
+                int right = Math.max(left + 1, (column + 1) * image.width / 9);
+                // A sample of about 16 x 16 pixels per cell is enough for the average
+                int stepX = Math.max(1, (right - left) / 16);
+                int stepY = Math.max(1, (bottom - top) / 16);
+                double sum = 0;
+                int count = 0;
+                for (int y = top; y < bottom && y < image.height; y += stepY) {
+                    for (int x = left; x < right && x < image.width; x += stepX) {
+                        if (!ignored.isEmpty() && isIgnored(x, y, ignored)) {
+                            continue;
+                        }
+                        int argb = image.argb[y * image.width + x];
+                        sum += 0.299 * ((argb >> 16) & 0xff) + 0.587 * ((argb >> 8) & 0xff) + 0.114 * (argb & 0xff);
+                        count++;
+                    }
+                }
+                luminance[row * 9 + column] = count == 0 ? 0 : sum / count;
+            }
+        }
+        return luminance;
+    }
+
+    /**
+     * Counts the pixels differing by more than the tolerance and collects the tiles holding them
+     */
+    long diff(Pixels baseline, Pixels actual, List<Rectangle> ignored, List<Rectangle> tiles) {
+        int width = actual.width;
+        long different = 0;
+        for (int tileY = 0; tileY < actual.height; tileY += TILE_SIZE) {
+            for (int tileX = 0; tileX < width; tileX += TILE_SIZE) {
+                Rectangle tile = new Rectangle(tileX, tileY, Math.min(TILE_SIZE, width - tileX), Math.min(TILE_SIZE, actual.height - tileY));
+                boolean partlyIgnored = false;
+                boolean fullyIgnored = false;
+                for (Rectangle region : ignored) {
+                    if (region.contains(tile)) {
+                        fullyIgnored = true;
+                        break;
+                    }
+                    partlyIgnored |= region.intersects(tile);
+                }
+                if (fullyIgnored) {
+                    continue;
+                }
+                long tileDifferent = 0;
+                for (int y = tile.y; y < tile.y + tile.height; y++) {
+                    int from = y * width + tile.x;
+                    int to = from + tile.width;
+                    int mismatch;
+                    while (from < to && (mismatch = Arrays.mismatch(baseline.argb, from, to, actual.argb, from, to)) >= 0) {
+                        int index = from + mismatch;
+                        if (differs(baseline.argb[index], actual.argb[index]) && !(partlyIgnored && isIgnored(index - y * width, y, ignored))) {
+                            tileDifferent++;
+                        }
+                        from = index + 1;
+                    }
+                }
+                if (tileDifferent > 0) {
+                    different += tileDifferent;
+                    tiles.add(tile);
+                }
+            }
+        }
+        return different;
+    }
+
+    private boolean differs(int expected, int actual) {
+        return Math.abs(((expected >> 16) & 0xff) - ((actual >> 16) & 0xff)) > tolerance
+                || Math.abs(((expected >> 8) & 0xff) - ((actual >> 8) & 0xff)) > tolerance
+                || Math.abs((expected & 0xff) - (actual & 0xff)) > tolerance;
+    }
+
+    private static boolean isIgnored(int x, int y, List<Rectangle> ignored) {
+        for (Rectangle region : ignored) {
+            if (region.contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path keep(String hash, byte[] png) {
+        store.put(png);
+        return store.getObjectPath(hash);
+    }
+
+    static Pixels decode(byte[] png) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IllegalArgumentException("Not an image");
+            }
+            int width = image.getWidth();
+            int height = image.getHeight();
+            return new Pixels(width, height, image.getRGB(0, 0, width, height, null, 0, width));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to decode screenshot", e);
+        }
+    }
+
+    /**
+     * The decoded pixels of an image, one ARGB int per pixel, row after row
+     */
+    static final class Pixels {
+        final int width;
+        final int height;
+        final int[] argb;
+
+        Pixels(int width, int height, int[] argb) {
+            this.width = width;
+            this.height = height;
+            this.argb = argb;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.redbus.selewright;
+
+import java.awt.*;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the outcome of a visual comparison made by {@link VisualComparator}
+ */
+public class VisualDiffResult {
+    /**
+     * The outcomes of a visual comparison
+     */
+    public enum Status {
+        /**
+         * The image is byte for byte the baseline, found from the hashes without decoding
+         */
+        IDENTICAL,
+        /**
+         * The pixels differ by less than the tolerance
+         */
+        SIMILAR,
+        /**
+         * The pixels differ by more than the tolerance
+         */
+        DIFFERENT,
+        /**
+         * The image and the baseline do not have the same size
+         */
+        SIZE_MISMATCH,
+        /**
+         * There was no baseline, or baselines are being updated, so the image became the baseline
+         */
+        NEW_BASELINE
+    }
+
+    private final String name;
+    private final Status status;
+    private final int hashDistance;
+    private final long differentPixels;
+    private final double differentRatio;
+    private final List<Rectangle> differentTiles;
+    private final Path actualFile;
+    private final long durationNanos;
+
+    VisualDiffResult(String name, Status status, int hashDistance, long differentPixels, double differentRatio, List<Rectangle> differentTiles,
+                     Path actualFile, long durationNanos) {
+        this.name = name;
+        this.status = status;
+        this.hashDistance = hashDistance;
+        this.differentPixels = differentPixels;
+        this.differentRatio = differentRatio;
+        this.differentTiles = differentTiles == null ? Collections.emptyList() : Collections.unmodifiableList(differentTiles);
+        this.actualFile = actualFile;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Get the name of the baseline
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the outcome of the comparison
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Get whether the image matches the baseline, within the tolerance
+     */
+    public boolean isMatch() {
+        return status == Status.IDENTICAL || status == Status.SIMILAR || status == Status.NEW_BASELINE;
+    }
+
+    /**
+     * Get the number of differing bits of the perceptual hashes, from 0 to 64, or -1 when they were not computed
+     */
+    public int getHashDistance() {
+        return hashDistance;
+    }
+
+    /**
+     * Get the number of pixels differing by more than the tolerance, or -1 when the pixels were not compared
+     */
+    public long getDifferentPixels() {
+        return differentPixels;
+    }
+
+    /**
+     * Get the share of compared pixels differing by more than the tolerance, from 0 to 1
+     */
+    public double getDifferentRatio() {
+        return differentRatio;
+    }
+
+    /**
+     * Get the tiles holding differing pixels, in image pixels
+     */
+    public List<Rectangle> getDifferentTiles() {
+        return differentTiles;
+    }
+
+    /**
+     * Get the file of the image which did not match the baseline, or null when it matched
+     */
+    public Path getActualFile() {
+        return actualFile;
+    }
+
+    /**
+     * Get the time spent comparing, in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(name).append(": ").append(status);
+        if (hashDistance >= 0) {
+            text.append(", hash distance ").append(hashDistance);
+        }
+        if (differentPixels >= 0) {
+            text.append(", ").append(differentPixels).append(" different pixels in ").append(differentTiles.size()).append(" tiles");
+        }
+        if (actualFile != null) {
+            text.append(", actual image ").append(actualFile);
+        }
+        return text.toString();
+    }
+}
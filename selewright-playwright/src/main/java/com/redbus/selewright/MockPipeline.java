@@ -0,0 +1,405 @@
+package com.redbus.selewright;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+/**
+ * This class handles the routes intercepted while mocking with Playwright.
+ * Playwright objects can only be used from the thread which drives the page, so the work is split into stages:
+ * request data is read and the response is fetched and fulfilled on the Playwright thread, while the CPU heavy parts
+ * (matching the request headers and body against the rules and rewriting the JSON response) run on a shared worker pool.
+ * Results are handed back to the Playwright thread through a queue, which is drained while the pipeline is pumped by
+ * {@link #pause(Page, long)} or {@link #awaitIdle(Page, int)}. A route intercepted outside of those, e.g. while Playwright blocks
+ * in a navigation which waits for a mocked document, pumps the pipeline itself until every pending request is answered.
+ * Pumping keeps Playwright dispatching events, so other routes are handled while the workers run.
+ * Rules with URL conditions only are always matched inline, as URL matching is cheap.
+ * Every intercepted request is reported to Java Flight Recorder as a {@link SelewrightRouteEvent}.
+ */
+public class MockPipeline {
+
+    /**
+     * The stages an intercepted request goes through
+     */
+    public enum Stage {
+        SNAPSHOT,
+        MATCH,
+        HANDOFF,
+        FETCH,
+        REWRITE,
+        FULFILL
+    }
+
+    private static final double SETTLE_TIMEOUT_MS = 30_000;
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                Thread thread = new Thread(runnable, "selewright-mock-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final MockRuleMatcher matcher = new MockRuleMatcher();
+    private final OtherHelpers otherHelpers;
+    private final CapturedExchangeStore captureStore;
+    private final SelewrightLogger logger;
+    private final Queue<Runnable> playwrightThreadTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Stage, StageLatency> latencies = new EnumMap<>(Stage.class);
+    private int pumping = 0;
+
+    public MockPipeline(OtherHelpers otherHelpers, CapturedExchangeStore captureStore, SelewrightLogger logger) {
+        this.otherHelpers = otherHelpers;
+        this.captureStore = captureStore;
+        this.logger = logger;
+        for (Stage stage : Stage.values()) {
+            latencies.put(stage, new StageLatency());
+        }
+    }
+
+    /**
+     * Handles a route intercepted while mocking. Must be called from the route handler, i.e. on the Playwright thread.
+     *
+     * @param page  The page on which the route was registered.
+     * @param route The intercepted route.
+     * @param rules A map containing request conditions and mock responses.
+     */
+    public void handle(Page page, Route route, Map<RequestConditionsToMock, MockResponseToSend> rules) {
+        drain();
+        intercept(route, rules);
+        settle(page);
+    }
+
+    private void intercept(Route route, Map<RequestConditionsToMock, MockResponseToSend> rules) {
+        long start = System.nanoTime();
+        Request request = route.request();
+        String url = request.url();
+        if (!matcher.mayMatch(rules, url)) {
+            route.resume();
+            return;
+        }
+        SelewrightRouteEvent event = new SelewrightRouteEvent();
+        event.begin();
+        event.url = url;
+        Map<String, String> headers = matcher.needsHeaders(rules) ? request.allHeaders() : null;
+        String body = request.postData();
+        record(Stage.SNAPSHOT, start);
+
+        inFlight.incrementAndGet();
+        if (headers == null && !matcher.needsBody(rules)) {
+            long matchStart = System.nanoTime();
+            Map.Entry<RequestConditionsToMock, MockResponseToSend> rule;
+            try {
+                rule = matcher.findMatchingRule(rules, url, headers, body);
+            } catch (RuntimeException e) {
+                logger.warn(() -> "Not able to evaluate mock rules for " + url + ": " + e.getMessage());
+                finish(route::resume, event, "resumed", 0);
+                return;
+            }
+            event.matchTime = record(Stage.MATCH, matchStart);
+            answer(route, url, rule, event);
+            return;
+        }
+        CompletableFuture.supplyAsync(() -> {
+            long matchStart = System.nanoTime();
+            Map.Entry<RequestConditionsToMock, MockResponseToSend> rule = matcher.findMatchingRule(rules, url, headers, body);
+            event.matchTime = record(Stage.MATCH, matchStart);
+            return rule;
+        }, WORKERS).whenComplete((rule, error) -> {
+            long queuedAt = System.nanoTime();
+            playwrightThreadTasks.add(() -> {
+                record(Stage.HANDOFF, queuedAt);
+                if (error != null) {
+                    logger.warn(() -> "Not able to evaluate mock rules for " + url + ": " + error.getMessage());
+                    finish(route::resume, event, "resumed", 0);
+                } else {
+                    answer(route, url, rule, event);
+                }
+            });
+        });
+    }
+
+    private void answer(Route route, String url, Map.Entry<RequestConditionsToMock, MockResponseToSend> rule, SelewrightRouteEvent event) {
+        if (rule == null) {
+            finish(route::resume, event, "resumed", 0);
+        } else {
+            logger.debug(() -> "Mocking: " + url);
+            event.rule = describe(rule.getKey());
+            respond(route, url, rule.getValue(), event);
+        }
+    }
+
+    /**
+     * Pumps the pipeline until every pending request is answered, unless a wait further up the stack already pumps it
+     */
+    private void settle(Page page) {
+        if (pumping > 0 || !hasPendingWork()) {
+            return;
+        }
+        pumping++;
+        try {
+            page.waitForCondition(() -> {
+                drain();
+                return !hasPendingWork();
+            }, new Page.WaitForConditionOptions().setTimeout(SETTLE_TIMEOUT_MS));
+        } catch (PlaywrightException e) {
+            // Left to the next pause or wait, which keep draining the pipeline
+            logger.warn(() -> "Mocked requests still pending: " + e.getMessage());
+        } finally {
+            pumping--;
+        }
+    }
+
+    /**
+     * Runs the pending Playwright thread stages. Must be called on the Playwright thread.
+     * Answering a route can dispatch further routes, which may drain the queue again before this call returns.
+     */
+    public void drain() {
+        Runnable task;
+        while ((task = playwrightThreadTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * Checks whether some intercepted requests are still waiting for a response
+     */
+    public boolean hasPendingWork() {
+        return inFlight.get() > 0;
+    }
+
+    /**
+     * Waits for the given duration while keeping the pipeline moving and Playwright dispatching events.
+     *
+     * @param page         The page being driven.
+     * @param milliseconds The time to wait.
+     */
+    public void pause(Page page, long milliseconds) {
+        Instrumentation.timeWait("pause", (int) Math.ceil(milliseconds / 1000.0), () -> pauseUntil(page, milliseconds));
+    }
+
+    private void pauseUntil(Page page, long milliseconds) {
+        long deadline = System.currentTimeMillis() + milliseconds;
+        pumping++;
+        try {
+            page.waitForCondition(() -> {
+                drain();
+                return System.currentTimeMillis() >= deadline;
+            }, new Page.WaitForConditionOptions().setTimeout(milliseconds + SETTLE_TIMEOUT_MS));
+        } catch (PlaywrightException e) {
+            // Page closed or crashed, nothing left to pump
+        } finally {
+            pumping--;
+        }
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Waits until every intercepted request has been answered.
+     *
+     * @param page          The page being driven.
+     * @param timeInSeconds The maximum time to wait.
+     * @return True if the pipeline became idle within the timeout, otherwise false.
+     */
+    public boolean awaitIdle(Page page, int timeInSeconds) {
+        drain();
+        if (!hasPendingWork()) {
+            return true;
+        }
+        pumping++;
+        try {
+            Instrumentation.timeWait("mock-idle", timeInSeconds, () -> page.waitForCondition(() -> {
+                drain();
+                return !hasPendingWork();
+            }, new Page.WaitForConditionOptions().setTimeout(timeInSeconds * 1000)));
+            return true;
+        } catch (PlaywrightException e) {
+            logger.warn(() -> "Mocked requests still pending after " + timeInSeconds + " seconds");
+            return false;
+        } finally {
+            pumping--;
+        }
+    }
+
+    /**
+     * Get the latency of every stage measured so far
+     */
+    public Map<Stage, StageLatency> getStageLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    private void respond(Route route, String url, MockResponseToSend mockResponseToSend, SelewrightRouteEvent event) {
+        Integer responseCode = mockResponseToSend.getResponseCode();
+        Map<String, String> responseHeaders = mockResponseToSend.getResponseHeaders();
+        String responseBody = mockResponseToSend.getResponseBody();
+        Map<String, Object> responseBodyModificationParams = mockResponseToSend.getResponseBodyModificationParams();
+
+        // Call the actual server only once and only if the mock does not define everything on its own
+        APIResponse actualResponse = null;
+        if (responseCode == null || responseHeaders == null || responseBody == null || responseBodyModificationParams != null) {
+            long fetchStart = System.nanoTime();
+            try {
+                actualResponse = route.fetch();
+            } catch (PlaywrightException e) {
+                logger.warn(() -> "Not able to fetch actual response for " + url + ": " + e.getMessage());
+                finish(route::abort, event, "aborted", 0);
+                return;
+            }
+            event.fetchTime = record(Stage.FETCH, fetchStart);
+        }
+        if (responseCode == null) {
+            logger.debug("Mock Response Code not available. Using Default");
+            responseCode = actualResponse.status();
+        }
+        if (responseHeaders == null) {
+            logger.debug("Mock Response Headers not available. Using Default");
+            responseHeaders = actualResponse.headers();
+        }
+        final int code = responseCode;
+        final Map<String, String> headers = responseHeaders;
+        if (responseBodyModificationParams != null) {
+            logger.debug("Dynamic Mocking of Response Body activated");
+            String actualResponseBody = actualResponse.text();
+            logger.body("Actual response of " + url, actualResponseBody);
+            CompletableFuture.supplyAsync(() -> {
+                long rewriteStart = System.nanoTime();
+                String modifiedBody = otherHelpers.modifyJsonValues(actualResponseBody, responseBodyModificationParams);
+                event.rewriteTime = record(Stage.REWRITE, rewriteStart);
+                return modifiedBody;
+            }, WORKERS).whenComplete((modifiedBody, error) -> {
+                long queuedAt = System.nanoTime();
+                playwrightThreadTasks.add(() -> {
+                    record(Stage.HANDOFF, queuedAt);
+                    if (error != null) {
+                        logger.warn(() -> "Not able to modify response body of " + url + ": " + error.getMessage());
+                        fulfill(route, url, code, headers, actualResponseBody, event);
+                    } else {
+                        logger.body("Mocked response of " + url, modifiedBody);
+                        fulfill(route, url, code, headers, modifiedBody, event);
+                    }
+                });
+            });
+            return;
+        }
+        if (responseBody != null) {
+            logger.debug("Static Mocking of Response Body activated");
+        } else {
+            logger.debug("Mock Response Body not available. Using Default");
+            responseBody = actualResponse.text();
+        }
+        fulfill(route, url, code, headers, responseBody, event);
+    }
+
+    private void fulfill(Route route, String url, int responseCode, Map<String, String> responseHeaders, String responseBody,
+                         SelewrightRouteEvent event) {
+        long fulfillStart = System.nanoTime();
+        if (finish(() -> route.fulfill(new Route.FulfillOptions()
+                .setStatus(responseCode)
+                .setHeaders(responseHeaders)
+                .setBody(responseBody)), event, "mocked", responseCode)) {
+            record(Stage.FULFILL, fulfillStart);
+            captureStore.record(url, responseCode, responseHeaders, responseBody);
+        }
+    }
+
+    /**
+     * Answers the route and reports the event, with the outcome "failed" when the answer was rejected
+     *
+     * @return True if the route was answered, otherwise false.
+     */
+    private boolean finish(Runnable answer, SelewrightRouteEvent event, String outcome, int responseCode) {
+        boolean answered = false;
+        try {
+            answer.run();
+            answered = true;
+        } catch (PlaywrightException e) {
+            // Page may have navigated away or the route was already handled
+            logger.warn(() -> "Not able to answer intercepted request: " + e.getMessage());
+        } finally {
+            inFlight.decrementAndGet();
+            event.outcome = answered ? outcome : "failed";
+            event.responseCode = answered ? responseCode : 0;
+            event.commit();
+        }
+        return answered;
+    }
+
+    private long record(Stage stage, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        latencies.get(stage).record(nanos);
+        return nanos;
+    }
+
+    private static String describe(RequestConditionsToMock conditions) {
+        StringBuilder description = new StringBuilder("url~").append(conditions.getRequestURLSubStrings());
+        if (conditions.getRequestHeaders() != null) {
+            description.append(" headers=").append(conditions.getRequestHeaders().keySet());
+        }
+        if (conditions.getRequestBodyKeyPathsAndValues() != null) {
+            description.append(" body=").append(conditions.getRequestBodyKeyPathsAndValues().keySet());
+        }
+        return description.toString();
+    }
+
+    /**
+     * Latency statistics of a single stage
+     */
+    public static class StageLatency {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * Get the number of requests which went through the stage
+         */
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * Get the average time spent in the stage in milliseconds
+         */
+        public double getAverageMillis() {
+            long n = count.get();
+            return n == 0 ? 0 : totalNanos.get() / (n * 1_000_000.0);
+        }
+
+        /**
+         * Get the longest time spent in the stage in milliseconds
+         */
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d avg=%.2fms max=%.2fms", getCount(), getAverageMillis(), getMaxMillis());
+        }
+    }
+}
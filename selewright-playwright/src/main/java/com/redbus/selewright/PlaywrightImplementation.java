@@ -1,35 +1,82 @@
 package com.redbus.selewright;
 
-import java.nio.file.Paths;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.stream.Collectors;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.microsoft.playwright.*;
+import com.microsoft.playwright.options.BoundingBox;
 import com.microsoft.playwright.options.Cookie;
+import com.microsoft.playwright.options.ScreenshotType;
 import com.microsoft.playwright.options.WaitForSelectorState;
 
 /**
  * This class implements Selewright Interface using Playwright. For method documentation please refer to the interface.
  */
 public class PlaywrightImplementation implements Selewright {
+    private static final String BACKEND = "playwright";
+
     Page page;
     Page parentPage;
     BrowserContext context;
     private static final int defaultWait = 30;
     OtherHelpers otherHelpers;
+    CapturedExchangeStore captureStore;
+    MockPipeline mockPipeline;
+    SelewrightLogger logger;
+    private final Deque<String> consoleErrors = new ConcurrentLinkedDeque<>();
+    private static final int MAX_CONSOLE_ERRORS = 500;
+    private static final int SWIPE_DURATION_MS = 400;
+    private boolean chromiumTrace;
+    private final Map<Page, CDPSession> cdpSessions = new HashMap<>();
+    private final Map<Page, EmulationProfile> emulatedPages = new HashMap<>();
+    private boolean cdpUnsupported;
+    private EmulationProfile emulationProfile = EmulationProfile.NONE;
 
     public PlaywrightImplementation(Page page) {
         this.page = page;
         this.parentPage = page;
         if (page != null) {
             this.context = page.context();
+            // Listening on the context also covers the tabs and popups opened by the page
+            context.onConsoleMessage(message -> {
+                if ("error".equals(message.type())) {
+                    recordConsoleError(message.text());
+                }
+            });
+            context.onWebError(error -> recordConsoleError(error.error()));
         }
-        otherHelpers = new OtherHelpers();
+        logger = new SelewrightLogger("playwright");
+        otherHelpers = new OtherHelpers(logger);
+        captureStore = new CapturedExchangeStore(logger);
+        mockPipeline = new MockPipeline(otherHelpers, captureStore, logger);
+    }
+
+    /**
+     * Get the store holding the exchanges mocked or captured in this session.
+     * Use it to look at the history of a URL or to tune the memory limits.
+     */
+    public CapturedExchangeStore getCaptureStore() {
+        return captureStore;
+    }
+
+    /**
+     * Get the pipeline which answers mocked requests. Use it to look at the latency of every mocking stage.
+     */
+    public MockPipeline getMockPipeline() {
+        return mockPipeline;
     }
 
     @Override
@@ -44,11 +91,13 @@ public class PlaywrightImplementation implements Selewright {
 
     @Override
     public void click(String locator) {
-        Locator element = findElement(locator);
-        highlight(element);
-        findElement(locator).click();
-        unhighlight(element);
-        waitUntilPageLoadComplete();
+        Instrumentation.action(BACKEND, "click", locator, () -> {
+            Locator element = findElement(locator);
+            highlight(element);
+            findElement(locator).click();
+            unhighlight(element);
+            waitUntilPageLoadComplete();
+        });
     }
 
     @Override
@@ -67,53 +116,63 @@ public class PlaywrightImplementation implements Selewright {
 
     @Override
     public void hover(String locator) {
-        findElement(locator).hover();
+        Instrumentation.action(BACKEND, "hover", locator, () -> {
+            findElement(locator).hover();
+        });
     }
 
     @Override
     public Map<String, Map<String, Object>> clickAndMock(String locator, Map<RequestConditionsToMock, MockResponseToSend> map) {
-        Map<String, Map<String, Object>> mockMap = sendMockResponse(map);
-        page.waitForRequest("**/*", () -> {
-            click(locator);
+        return Instrumentation.action(BACKEND, "clickAndMock", locator, () -> {
+            long marker = sendMockResponse(map);
+            page.waitForRequest("**/*", () -> {
+                click(locator);
+            });
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            stopMocking();
+            return captureStore.mockDetailsSince(marker);
         });
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        stopMocking();
-        return mockMap;
     }
 
     @Override
     public Map<String, Map<String, Object>> swipeAndMock(String locator, Map<RequestConditionsToMock, MockResponseToSend> map) {
-        Map<String, Map<String, Object>> mockMap = sendMockResponse(map);
-        page.waitForRequest("**/*", this::swipeElement);
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        stopMocking();
-        return mockMap;
+        return Instrumentation.action(BACKEND, "swipeAndMock", locator, () -> {
+            long marker = sendMockResponse(map);
+            page.waitForRequest("**/*", this::swipeElement);
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            stopMocking();
+            return captureStore.mockDetailsSince(marker);
+        });
     }
 
     @Override
     public Map<String, Map<String, Object>> openUrlAndMock(String url, Map<RequestConditionsToMock, MockResponseToSend> map) {
-        Map<String, Map<String, Object>> mockMap = sendMockResponse(map);
-        page.waitForRequest("**/*", () -> {
-            openUrl(url);
+        return Instrumentation.action(BACKEND, "openUrlAndMock", url, () -> {
+            long marker = sendMockResponse(map);
+            page.waitForRequest("**/*", () -> {
+                openUrl(url);
+            });
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            stopMocking();
+            return captureStore.mockDetailsSince(marker);
         });
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        stopMocking();
-        return mockMap;
     }
 
     @Override
     public Map<String, Map<String, Object>> scrollToElementAndMock(String address, Map<RequestConditionsToMock, MockResponseToSend> map) {
-        Map<String, Map<String, Object>> mockMap = sendMockResponse(map);
-        page.waitForRequest("**/*", () -> {
-            scrollToElement(address);
+        return Instrumentation.action(BACKEND, "scrollToElementAndMock", address, () -> {
+            long marker = sendMockResponse(map);
+            page.waitForRequest("**/*", () -> {
+                scrollToElement(address);
+            });
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            stopMocking();
+            return captureStore.mockDetailsSince(marker);
         });
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        stopMocking();
-        return mockMap;
     }
 
     @Override
@@ -126,26 +185,44 @@ public class PlaywrightImplementation implements Selewright {
         page.context().setDefaultTimeout((double) waitInSeconds * 1000);
     }
 
+    @Override
+    public void setLogLevel(LogLevel level) {
+        logger.setLevel(level);
+    }
+
+    /**
+     * Get the logger of this session. Use it to tune how request and response bodies are logged.
+     */
+    public SelewrightLogger getLogger() {
+        return logger;
+    }
+
     @Override
     public Map<String, Map<String, Object>> refreshAndMock(Map<RequestConditionsToMock, MockResponseToSend> map) {
-        Map<String, Map<String, Object>> mockMap = sendMockResponse(map);
-        page.waitForRequest("**/*", this::refreshPage);
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        stopMocking();
-        return mockMap;
+        return Instrumentation.action(BACKEND, "refreshAndMock", null, () -> {
+            long marker = sendMockResponse(map);
+            page.waitForRequest("**/*", this::refreshPage);
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            stopMocking();
+            return captureStore.mockDetailsSince(marker);
+        });
     }
 
     @Override
     public void clear(String locator) {
-        findElement(locator).clear();
-        waitUntilPageLoadComplete();
+        Instrumentation.action(BACKEND, "clear", locator, () -> {
+            findElement(locator).clear();
+            waitUntilPageLoadComplete();
+        });
     }
 
     @Override
     public void openUrl(String url) {
-        page.navigate(url);
-        waitUntilPageLoadComplete();
+        Instrumentation.action(BACKEND, "openUrl", url, () -> {
+            page.navigate(url);
+            waitUntilPageLoadComplete();
+        });
     }
 
     @Override
@@ -165,8 +242,35 @@ public class PlaywrightImplementation implements Selewright {
 
     @Override
     public void enterText(String locator, String text) {
-        findElement(locator).fill(text);
-        waitUntilPageLoadComplete();
+        Instrumentation.action(BACKEND, "enterText", locator, () -> {
+            findElement(locator).fill(text);
+            waitUntilPageLoadComplete();
+        });
+    }
+
+    @Override
+    public void enterText(String locator, String text, TypingStrategy strategy) {
+        Instrumentation.action(BACKEND, "enterText", locator, () -> {
+            Locator input = findElement(locator);
+            Locator.PressSequentiallyOptions keys = new Locator.PressSequentiallyOptions().setDelay(strategy.getKeyDelay());
+            switch (strategy.getMode()) {
+                case FILL:
+                    input.fill(text);
+                    break;
+                case KEYBOARD:
+                    input.pressSequentially(text, keys);
+                    break;
+                case UNTIL_API:
+                    page.evaluate(TypingStrategy.ARM_API_OBSERVER_FUNCTION, strategy.getApiUrlSubString());
+                    input.pressSequentially(text, keys);
+                    boolean completed = Instrumentation.timeWait("typing-api", strategy.getApiTimeout(),
+                            () -> (Boolean) page.evaluate(TypingStrategy.AWAIT_API_FUNCTION, strategy.getApiTimeout() * 1000));
+                    if (!completed) {
+                        logger.warn(() -> "No " + strategy.getApiUrlSubString() + " request completed within " + strategy.getApiTimeout() + " seconds after typing in " + locator);
+                    }
+                    break;
+            }
+        });
     }
 
     @Override
@@ -195,23 +299,272 @@ public class PlaywrightImplementation implements Selewright {
         return links;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, LinkStatus> auditLinks(String address) {
+        return Instrumentation.action(BACKEND, "auditLinks", address, () -> {
+            // All links are read in a single call instead of one getAttribute call per element
+            List<String> links = (List<String>) page.locator(address).evaluateAll(LinkAuditor.LINKS_FUNCTION);
+            return new LinkAuditor(logger).audit(links, page.url());
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> getBrokenImages(String address) {
+        return Instrumentation.action(BACKEND, "getBrokenImages", address,
+                () -> (List<String>) page.locator(address).evaluateAll(SiteCrawler.BROKEN_IMAGES_FUNCTION));
+    }
+
+    @Override
+    public List<String> getConsoleErrors() {
+        List<String> errors = new ArrayList<>();
+        String error;
+        while ((error = consoleErrors.pollFirst()) != null) {
+            errors.add(error);
+        }
+        return errors;
+    }
+
+    @Override
+    public PagePerformance getPagePerformance() {
+        return Instrumentation.action(BACKEND, "getPagePerformance", null, () -> {
+            PagePerformance performance = PagePerformance.fromJson((String) page.evaluate(PagePerformance.COLLECT_FUNCTION,
+                    Map.of("settleMs", PagePerformance.SETTLE_MS)));
+            logger.debug(performance::toString);
+            return performance;
+        });
+    }
+
+    @Override
+    public void startTrace() {
+        Instrumentation.action(BACKEND, "startTrace", null, () -> {
+            Browser browser = context.browser();
+            chromiumTrace = browser != null && "chromium".equals(browser.browserType().name());
+            if (chromiumTrace) {
+                browser.startTracing(page, new Browser.StartTracingOptions().setCategories(TraceSummary.CATEGORIES));
+            } else {
+                // Only Chromium records performance traces, other browsers get a Playwright trace to open in the trace viewer
+                context.tracing().start(new Tracing.StartOptions().setScreenshots(true).setSnapshots(true));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public TraceSummary stopTrace(String locationToStore) {
+        return Instrumentation.action(BACKEND, "stopTrace", locationToStore, () -> {
+            if (!chromiumTrace) {
+                String path = TraceSummary.newPath(locationToStore, "zip");
+                context.tracing().stop(new Tracing.StopOptions().setPath(Path.of(path)));
+                return TraceSummary.unavailable(path);
+            }
+            byte[] trace = context.browser().stopTracing();
+            String path = TraceSummary.newPath(locationToStore, "json");
+            // The file is written in the background while the trace is summarized from memory
+            ScreenshotPipeline.getDefault().write(trace, path);
+            try {
+                TraceSummary summary = TraceSummary.parse(new InputStreamReader(new ByteArrayInputStream(trace), StandardCharsets.UTF_8), path);
+                logger.info(summary::toString);
+                return summary;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Not able to read trace " + path, e);
+            }
+        });
+    }
+
+    @Override
+    public TraceSummary profile(String locationToStore, Runnable actions) {
+        startTrace();
+        try {
+            actions.run();
+        } catch (RuntimeException | Error e) {
+            // The trace is still stopped, without hiding the failure of the actions
+            try {
+                stopTrace(locationToStore);
+            } catch (RuntimeException stopError) {
+                e.addSuppressed(stopError);
+            }
+            throw e;
+        }
+        return stopTrace(locationToStore);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MemorySnapshot getMemorySnapshot() {
+        return Instrumentation.action(BACKEND, "getMemorySnapshot", null, () -> {
+            CDPSession cdp = cdpSession();
+            if (cdp != null) {
+                return MemorySnapshot.fromDevTools(numbers(cdp.send("Runtime.getHeapUsage")), numbers(cdp.send("Memory.getDOMCounters")));
+            }
+            return MemorySnapshot.fromPage((Map<String, Object>) page.evaluate(MemorySnapshot.PAGE_FUNCTION));
+        });
+    }
+
+    @Override
+    public void setEmulationProfile(EmulationProfile profile) {
+        EmulationProfile applied = profile == null ? EmulationProfile.NONE : profile;
+        Instrumentation.action(BACKEND, "setEmulationProfile", applied.getName(), () -> {
+            CDPSession cdp = cdpSession();
+            if (cdp != null) {
+                applyEmulation(cdp, applied);
+                emulatedPages.put(page, applied);
+            } else if (applied.needsDevTools()) {
+                throw new UnsupportedOperationException("Network and CPU throttling need Chromium, only offline is supported on this browser");
+            } else {
+                context.setOffline(applied.isOffline());
+            }
+            emulationProfile = applied;
+            logger.info(() -> "Emulation profile: " + applied.getName());
+            return null;
+        });
+    }
+
+    @Override
+    public EmulationProfile getEmulationProfile() {
+        return emulationProfile;
+    }
+
+    /**
+     * Applies the emulation profile to the page the session switched to
+     */
+    private void followEmulation() {
+        if (emulationProfile != emulatedPages.getOrDefault(page, EmulationProfile.NONE)) {
+            cdpSession();
+        }
+    }
+
+    private static void applyEmulation(CDPSession cdp, EmulationProfile profile) {
+        Gson gson = new Gson();
+        cdp.send("Network.enable");
+        cdp.send("Network.emulateNetworkConditions", gson.toJsonTree(profile.toNetworkConditions()).getAsJsonObject());
+        cdp.send("Emulation.setCPUThrottlingRate", gson.toJsonTree(profile.toCpuThrottling()).getAsJsonObject());
+    }
+
+    /**
+     * Get the DevTools session of the current page, created once per page, or null when the browser is not Chromium
+     */
+    private CDPSession cdpSession() {
+        if (cdpUnsupported) {
+            return null;
+        }
+        CDPSession session = cdpSessions.get(page);
+        if (session == null) {
+            try {
+                session = context.newCDPSession(page);
+            } catch (PlaywrightException e) {
+                logger.debug(() -> "DevTools protocol not available: " + e.getMessage());
+                cdpUnsupported = true;
+                return null;
+            }
+            cdpSessions.put(page, session);
+            page.onClose(closed -> {
+                cdpSessions.remove(closed);
+                emulatedPages.remove(closed);
+            });
+        }
+        if (emulationProfile != emulatedPages.getOrDefault(page, EmulationProfile.NONE)) {
+            // DevTools conditions belong to a page, so they follow the session to the page switched to
+            applyEmulation(session, emulationProfile);
+            emulatedPages.put(page, emulationProfile);
+        }
+        return session;
+    }
+
+    private static Map<String, Object> numbers(JsonObject json) {
+        Map<String, Object> values = new HashMap<>();
+        json.entrySet().forEach(entry -> {
+            if (entry.getValue().isJsonPrimitive() && entry.getValue().getAsJsonPrimitive().isNumber()) {
+                values.put(entry.getKey(), entry.getValue().getAsDouble());
+            }
+        });
+        return values;
+    }
+
+    private void recordConsoleError(String error) {
+        consoleErrors.addLast(error);
+        while (consoleErrors.size() > MAX_CONSOLE_ERRORS) {
+            consoleErrors.pollFirst();
+        }
+    }
+
     @Override
     public String takeScreenshotAsPNG(String locationToStore) {
-        String filePath = locationToStore + "screenshot_" + System.currentTimeMillis() + ".png";
-        page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get(filePath)));
-        System.out.println("Screenshot taken: " + filePath);
-        return filePath;
+        return Instrumentation.action(BACKEND, "takeScreenshotAsPNG", locationToStore, () -> {
+            ScreenshotOptions options = new ScreenshotOptions().withoutTimeout();
+            String filePath = ScreenshotPipeline.newPath(locationToStore, options);
+            ScreenshotPipeline.getDefault().write(capture(options), filePath).join();
+            logger.info(() -> "Screenshot taken: " + filePath);
+            return filePath;
+        });
     }
 
     @Override
     public String takeScreenshotAsBase64(boolean fullPageScreenshot) {
-        byte[] screenshotBytes = page.screenshot(new Page.ScreenshotOptions().setFullPage(fullPageScreenshot));
-        return Base64.getEncoder().encodeToString(screenshotBytes);
+        return Instrumentation.action(BACKEND, "takeScreenshotAsBase64", null, () -> {
+            byte[] screenshotBytes = capture(new ScreenshotOptions().setFullPage(fullPageScreenshot).withoutTimeout());
+            return Base64.getEncoder().encodeToString(screenshotBytes);
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> takeScreenshot(String locationToStore, ScreenshotOptions options) {
+        return Instrumentation.action(BACKEND, "takeScreenshot", locationToStore, () -> {
+            String filePath = ScreenshotPipeline.newPath(locationToStore, options);
+            CompletableFuture<String> written = ScreenshotPipeline.getDefault().write(capture(options), filePath);
+            written.thenAccept(path -> logger.info(() -> "Screenshot taken: " + path));
+            return written;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> takeScreenshotAsBase64(ScreenshotOptions options) {
+        return Instrumentation.action(BACKEND, "takeScreenshotAsBase64", null, () -> ScreenshotPipeline.getDefault().encode(capture(options)));
+    }
+
+    @Override
+    public VisualDiffResult compareScreenshot(String baselineName, String... ignoredLocators) {
+        return Instrumentation.action(BACKEND, "compareScreenshot", baselineName, () -> {
+            byte[] image = capture(new ScreenshotOptions());
+            List<java.awt.Rectangle> ignoredRegions = new ArrayList<>();
+            if (ignoredLocators.length > 0) {
+                double scale = ((Number) page.evaluate("() => window.devicePixelRatio")).doubleValue();
+                for (String locator : ignoredLocators) {
+                    for (Locator element : findElements(locator)) {
+                        BoundingBox box = element.boundingBox();
+                        if (box != null) {
+                            ignoredRegions.add(VisualComparator.region(box.x, box.y, box.width, box.height, scale));
+                        }
+                    }
+                }
+            }
+            VisualDiffResult result = VisualComparator.getDefault().compare(baselineName, image, ignoredRegions);
+            logger.debug(result::toString);
+            return result;
+        });
+    }
+
+    private byte[] capture(ScreenshotOptions options) {
+        Page.ScreenshotOptions screenshotOptions = new Page.ScreenshotOptions().setFullPage(options.isFullPage());
+        if (options.getTimeout() > 0) {
+            screenshotOptions.setTimeout(options.getTimeout() * 1000);
+        }
+        if (options.getFormat() == ScreenshotOptions.Format.JPEG) {
+            screenshotOptions.setType(ScreenshotType.JPEG).setQuality(options.getQuality());
+        }
+        double[] clip = options.getClip();
+        if (clip != null) {
+            screenshotOptions.setClip(clip[0], clip[1], clip[2], clip[3]);
+        }
+        return page.screenshot(screenshotOptions);
     }
 
     @Override
     public void selectDropdownBasedOnValue(String address, String value) {
-        findElement(address).selectOption(value);
+        Instrumentation.action(BACKEND, "selectDropdownBasedOnValue", address, () -> {
+            findElement(address).selectOption(value);
+        });
     }
 
     @Override
@@ -284,16 +637,17 @@ public class PlaywrightImplementation implements Selewright {
     public boolean switchToChildWindow() {
         List<Page> windows = context.pages();
         if (windows.size() > 2) {
-            System.out.println("More than 2 windows found!!");
+            logger.warn("More than 2 windows found!!");
             return false;
         } else if (windows.size() < 1) {
-            System.out.println("No windows found!!");
+            logger.warn("No windows found!!");
             return false;
         }
         context.pages().get(windows.size() - 1).bringToFront();
         for (Page windowHandle : windows) {
             if (windowHandle != parentPage) {
                 page = windowHandle;
+                followEmulation();
                 return true;
             }
         }
@@ -304,6 +658,7 @@ public class PlaywrightImplementation implements Selewright {
     public boolean switchToParentWindow() {
         context.pages().get(0).bringToFront();
         page = parentPage;
+        followEmulation();
         return true;
     }
 
@@ -312,11 +667,7 @@ public class PlaywrightImplementation implements Selewright {
         context.addCookies(Arrays.asList(new Cookie[]{
                 new Cookie(name, value).setDomain(domain).setPath("/")
         }));
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        Instrumentation.sleep("cookie", 2000);
         refreshPage();
     }
 
@@ -349,18 +700,16 @@ public class PlaywrightImplementation implements Selewright {
                 .collect(Collectors.toList());
         context.clearCookies();
         context.addCookies(remainingCookies);
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        Instrumentation.sleep("cookie", 2000);
     }
 
     @Override
     public void refreshPage() {
-        waitUntilPageLoadComplete();
-        page.reload();
-        waitUntilPageLoadComplete();
+        Instrumentation.action(BACKEND, "refreshPage", null, () -> {
+            waitUntilPageLoadComplete();
+            page.reload();
+            waitUntilPageLoadComplete();
+        });
     }
 
     @Override
@@ -394,18 +743,42 @@ public class PlaywrightImplementation implements Selewright {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void scrollToElement(String address) {
-        int count = 0;
-        while (!isDisplayed(address, 5) && count < 11 && !isAtPageEnd()) {
-            scrollPageHeight();
-            count++;
+        Instrumentation.action(BACKEND, "scrollToElement", address, () -> {
+            // Scroll steps and visibility probes run inside the page, returning as soon as the element is visible
+            Map<String, Object> result = Instrumentation.timeWait("scroll-into-view", defaultWait,
+                    () -> (Map<String, Object>) page.evaluate(ScrollIntoView.SCROLL_FUNCTION, ScrollIntoView.probe(address, defaultWait * 1000L)));
+            if (ScrollIntoView.isVisible(result)) {
+                return;
+            }
+            if (ScrollIntoView.isUnsupported(result)) {
+                // Playwright selectors such as text= cannot be resolved in the page, so they are probed without waiting
+                int count = 0;
+                while (!findElement(address).isVisible() && count < ScrollIntoView.MAX_SCROLL_STEPS && !isAtPageEnd()) {
+                    scrollPageHeight();
+                    waitForVisible(address, ScrollIntoView.QUIET_PERIOD_MS);
+                    count++;
+                }
+            } else {
+                logger.debug(() -> "Element " + address + " not visible after " + result.get("steps") + " scrolls: " + result.get("reason"));
+            }
+            findElement(address).scrollIntoViewIfNeeded();
+        });
+    }
+
+    private void waitForVisible(String address, int timeoutMs) {
+        try {
+            findElement(address).waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE).setTimeout(timeoutMs));
+        } catch (TimeoutError e) {
+            // Not visible yet, the caller scrolls further
         }
-        findElement(address).scrollIntoViewIfNeeded();
     }
 
     @Override
     public void closeBrowser() {
         page.context().close();
+        captureStore.close();
     }
 
     @Override
@@ -415,42 +788,42 @@ public class PlaywrightImplementation implements Selewright {
 
     @Override
     public void navigateForward() {
-        page.goForward();
+        Instrumentation.action(BACKEND, "navigateForward", null, () -> {
+            page.goForward();
+        });
     }
 
     @Override
     public void navigateBack() {
-        page.goBack();
+        Instrumentation.action(BACKEND, "navigateBack", null, () -> {
+            page.goBack();
+        });
     }
 
     @Override
     public void waitForElementToBeVisible(String address, int timeInSeconds) {
-        page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.VISIBLE));
+        Instrumentation.timeWait("visible", timeInSeconds, () -> page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.VISIBLE)));
     }
 
     @Override
     public void waitForElementToBeClickable(String address, int timeInSeconds) {
-        page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.VISIBLE));
+        Instrumentation.timeWait("clickable", timeInSeconds, () -> page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.VISIBLE)));
     }
 
     @Override
     public void waitForPresenceOfElement(String address, int timeInSeconds) {
-        page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.ATTACHED));
+        Instrumentation.timeWait("present", timeInSeconds, () -> page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.ATTACHED)));
     }
 
     @Override
     public void waitForPresenceOfAllElements(String address, int timeInSeconds) {
-        page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.ATTACHED));
+        Instrumentation.timeWait("all-present", timeInSeconds, () -> page.waitForSelector(address, new Page.WaitForSelectorOptions().setState(WaitForSelectorState.ATTACHED)));
     }
 
     @Override
     public boolean waitUntilPageLoadComplete() {
         for (int i = 0; i < defaultWait; i++) {
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
+            mockPipeline.pause(page, 1000);
             String readyState = null;
             try {
                 readyState = (String) page.evaluate("() => document.readyState");
@@ -460,7 +833,7 @@ public class PlaywrightImplementation implements Selewright {
                 return true;
             }
         }
-        System.out.println("Page did not finish loading within " + defaultWait + " seconds");
+        logger.warn(() -> "Page did not finish loading within " + defaultWait + " seconds");
         return false;
     }
 
@@ -569,116 +942,125 @@ public class PlaywrightImplementation implements Selewright {
 
     @Override
     public String fetchResponse(String apiName, String locator, BrowserAction action) {
-        String[] responseData = new String[1];
-        page.onResponse(response -> {
-//            try {
-//                Thread.sleep(1000);
-//            } catch (InterruptedException e) {
-//                throw new RuntimeException(e);
-//            }
-            try {
-                if (response.url().contains(apiName)) {
-                    responseData[0] = response.text();
+        return Instrumentation.action(BACKEND, "fetchResponse", apiName, () -> {
+            String[] responseData = new String[1];
+            page.onResponse(response -> {
+    //            try {
+    //                Thread.sleep(1000);
+    //            } catch (InterruptedException e) {
+    //                throw new RuntimeException(e);
+    //            }
+                try {
+                    if (response.url().contains(apiName)) {
+                        responseData[0] = response.text();
+                    }
+                } catch (Exception e) {
+                    logger.debug(() -> "No body available for " + response.url());
                 }
-            } catch (Exception e) {
-                System.out.println("NO BODY");
-            }
-        });
-        page.waitForRequest("**/*", () -> {
-//            try {
-//                Thread.sleep(1000);
-//            } catch (InterruptedException e) {
-//                throw new RuntimeException(e);
-//            }
-            switch (action) {
-                case CLICK:
-                    click(locator);
-                    break;
-                case SCROLL: {
-                    if (locator == null) scrollPageHeight();
-                    else scrollToElement(locator);
-                    break;
+            });
+            page.waitForRequest("**/*", () -> {
+    //            try {
+    //                Thread.sleep(1000);
+    //            } catch (InterruptedException e) {
+    //                throw new RuntimeException(e);
+    //            }
+                switch (action) {
+                    case CLICK:
+                        click(locator);
+                        break;
+                    case SCROLL: {
+                        if (locator == null) scrollPageHeight();
+                        else scrollToElement(locator);
+                        break;
+                    }
+                    case REFRESH:
+                        refreshPage();
+                        break;
+                    case OPEN:
+                        openUrl(locator);
+                        break;
                 }
-                case REFRESH:
-                    refreshPage();
-                    break;
-                case OPEN:
-                    openUrl(locator);
-                    break;
-            }
+            });
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            waitForResponseToBeCaptured(responseData[0]);
+            return responseData[0];
         });
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        waitForResponseToBeCaptured(responseData[0]);
-        return responseData[0];
     }
 
     @Override
     public Map<String, String> fetchMultipleResponse(List<String> apiNames, String locator, BrowserAction action) {
-        Map<String, String> responseMap = new HashMap<>();
-        page.onResponse(response -> {
-            for (String apiName : apiNames) {
-                if (response.url().contains(apiName)) {
-                    responseMap.put(apiName, response.text());
+        return Instrumentation.action(BACKEND, "fetchMultipleResponse", String.valueOf(apiNames), () -> {
+            long marker = captureStore.mark();
+            Consumer<Response> listener = response -> {
+                for (String apiName : apiNames) {
+                    if (response.url().contains(apiName)) {
+                        captureStore.record(response.url(), response.status(), response.headers(), response.body());
+                        break;
+                    }
                 }
-            }
-        });
-        page.waitForRequest("**/*", () -> {
-            switch (action) {
-                case CLICK:
-                    click(locator);
-                    break;
-                case SCROLL:
-                    scrollToElement(locator);
-                    break;
-                case REFRESH:
-                    refreshPage();
-                    break;
-                case SWIPE:
-                    swipeElement();
-                    break;
-                case OPEN:
-                    openUrl(locator);
-                    break;
-            }
+            };
+            page.onResponse(listener);
+            page.waitForRequest("**/*", () -> {
+                switch (action) {
+                    case CLICK:
+                        click(locator);
+                        break;
+                    case SCROLL:
+                        scrollToElement(locator);
+                        break;
+                    case REFRESH:
+                        refreshPage();
+                        break;
+                    case SWIPE:
+                        swipeElement();
+                        break;
+                    case OPEN:
+                        openUrl(locator);
+                        break;
+                }
+            });
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            //page.waitForTimeout(15000);
+            page.offResponse(listener);
+            return captureStore.bodiesSince(marker, apiNames);
         });
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        //page.waitForTimeout(15000);
-        return responseMap;
     }
 
 
     @Override
     public String fetchResponse(String apiName, String locator, BrowserAction action, String text) {
-        String[] responseData = new String[1];
-        page.onResponse(response -> {
-            if (response.url().contains(apiName)) {
-                responseData[0] = response.text();
-            }
-        });
-        page.waitForRequest("**/*", () -> {
-            switch (action) {
-                case CLICK:
-                    click(locator);
-                    break;
-                case SCROLL:
-                    scrollToElement(locator);
-                    break;
-                case REFRESH:
-                    refreshPage();
-                    break;
-                case ENTER_TEXT: {
-                    clear(locator);
-                    enterTextLetterByLetter(locator, text);
-                    break;
+        return Instrumentation.action(BACKEND, "fetchResponse", apiName, () -> {
+            String[] responseData = new String[1];
+            page.onResponse(response -> {
+                if (response.url().contains(apiName)) {
+                    responseData[0] = response.text();
                 }
-            }
+            });
+            page.waitForRequest("**/*", () -> {
+                switch (action) {
+                    case CLICK:
+                        click(locator);
+                        break;
+                    case SCROLL:
+                        scrollToElement(locator);
+                        break;
+                    case REFRESH:
+                        refreshPage();
+                        break;
+                    case ENTER_TEXT: {
+                        clear(locator);
+                        enterTextLetterByLetter(locator, text);
+                        break;
+                    }
+                }
+            });
+            waitUntilPageLoadComplete();
+            //page.waitForLoadState(LoadState.NETWORKIDLE);
+            //page.waitForTimeout(5000);
+            return responseData[0];
         });
-        waitUntilPageLoadComplete();
-        //page.waitForLoadState(LoadState.NETWORKIDLE);
-        //page.waitForTimeout(5000);
-        return responseData[0];
     }
 
     @Override
@@ -730,7 +1112,7 @@ public class PlaywrightImplementation implements Selewright {
             context.route("**/*", route -> {
                 String url = route.request().url();
                 if (url.contains(apiName)) {
-                    System.out.println("Blocked API: " + url);
+                    logger.debug(() -> "Blocked API: " + url);
                     route.abort();  // Abort the request if it matches
                     return;
 
@@ -752,7 +1134,7 @@ public class PlaywrightImplementation implements Selewright {
             }
 
         } catch (Exception e) {
-            System.out.println("Not able to abort the API");
+            logger.warn(() -> "Not able to abort the API: " + e.getMessage());
         }
 
     }
@@ -762,8 +1144,8 @@ public class PlaywrightImplementation implements Selewright {
     public String waitForResponseToBeCaptured(String result) {
         try {
             // Wait for the condition to be true: result should not be null or empty
-            page.waitForFunction("result => result !== ''", new Object[]{result},
-                    new Page.WaitForFunctionOptions().setTimeout(10000));  // 10-second timeout
+            Instrumentation.timeWait("response", 10, () -> page.waitForFunction("result => result !== ''", new Object[]{result},
+                    new Page.WaitForFunctionOptions().setTimeout(10000)));  // 10-second timeout
         } catch (Exception e) {
             // Return the result even if an exception occurs
             return result;
@@ -779,12 +1161,16 @@ public class PlaywrightImplementation implements Selewright {
 
     @Override
     public void clickUsingCoordinates(int xCoordinates, int yCoordinates) {
-        page.mouse().click(xCoordinates, yCoordinates); // Example offset from top-left corner
+        Instrumentation.action(BACKEND, "clickUsingCoordinates", xCoordinates + "," + yCoordinates, () -> {
+            page.mouse().click(xCoordinates, yCoordinates); // Example offset from top-left corner
+        });
     }
 
     @Override
     public void enterTextUsingKeyboard(String text) {
-        page.keyboard().type(text);
+        Instrumentation.action(BACKEND, "enterTextUsingKeyboard", null, () -> {
+            page.keyboard().type(text);
+        });
     }
 
     @Override
@@ -797,10 +1183,10 @@ public class PlaywrightImplementation implements Selewright {
         boolean[] isSuccess = {false};
         page.onDialog(dialog -> {
             String alertMsg = dialog.message();
-            System.out.println(alertMsg);
+            logger.debug(() -> "Alert: " + alertMsg);
             if (alertMsg.contains(toast_msg)) {
                 isSuccess[0] = true; //Accept the alert if the message matches
-                System.out.println("Alert Found : " + alertMsg);
+                logger.info(() -> "Alert Found : " + alertMsg);
             }
             dialog.accept();
         });
@@ -833,9 +1219,9 @@ public class PlaywrightImplementation implements Selewright {
         for (int i = 0; i < count / 2; i++) {
             try {
                 page.mouse().wheel(0, 400);
-                Thread.sleep(1000L);
+                Instrumentation.sleep("scroll", 1000L);
             } catch (Exception e) {
-                System.out.println(e.getMessage());
+                logger.warn(e.getMessage());
             }
         }
     }
@@ -885,45 +1271,11 @@ public class PlaywrightImplementation implements Selewright {
 
     //Playwright specific methods
 
-    private Map<String, Map<String, Object>> sendMockResponse(Map<RequestConditionsToMock, MockResponseToSend> map) {
-        Map<String, Map<String, Object>> mockMap = new HashMap<>();
-        page.route("**/*", route -> {
-//            try {
-//                Thread.sleep(1000);
-//            } catch (InterruptedException e) {
-//                throw new RuntimeException(e);
-//            }
-            boolean mockingDone = false;
-            for (RequestConditionsToMock requestConditionsToMock : map.keySet()) {
-                MockResponseToSend mockResponseToSend = map.get(requestConditionsToMock);
-                boolean isMockingRequired = isMockingRequired(requestConditionsToMock, route);
-                if (isMockingRequired) {
-                    String url = route.request().url();
-                    System.out.println("Mocking: " + url);
-                    Map<String, Object> mockResponse = mockTheResponse(mockResponseToSend, route);
-                    mockMap.put(url, mockResponse);
-                    mockingDone = true;
-                    break;
-                }
-            }
-            if (!mockingDone) {
-                route.resume();
-            }
-//            for (Map.Entry<RequestConditionsToMock, MockResponseToSend> entry : map.entrySet()) {
-//                RequestConditionsToMock requestConditionsToMock = entry.getKey();
-//                MockResponseToSend mockResponseToSend = entry.getValue();
-//                boolean check = isMockingRequired(requestConditionsToMock, route);
-//                if (check) {
-//                    String url = route.request().url();
-//                    System.out.println("Mocking: " + url);
-//                    Map<String, Object> mockResponse = mockTheResponse(mockResponseToSend, route);
-//                    mockMap.put(url, mockResponse);
-//                } else {
-//                    route.resume();
-//                }
-//            }
-        });
-        return mockMap;
+    private long sendMockResponse(Map<RequestConditionsToMock, MockResponseToSend> map) {
+        long marker = captureStore.mark();
+        Page mockedPage = page;
+        page.route("**/*", route -> mockPipeline.handle(mockedPage, route, map));
+        return marker;
     }
 
     @Override
@@ -932,94 +1284,10 @@ public class PlaywrightImplementation implements Selewright {
     }
 
     private void stopMocking() {
+        mockPipeline.awaitIdle(page, defaultWait);
         page.unrouteAll();
     }
 
-    private Map<String, Object> mockTheResponse(MockResponseToSend mockResponseToSend, Route route) {
-        Route.FulfillOptions options = new Route.FulfillOptions();
-        Integer responseCode = mockResponseToSend.getResponseCode();
-        if (responseCode == null) {
-            System.out.println("Mock Response Code not available. Using Default");
-            responseCode = route.fetch().status();
-        }
-        options.setStatus(responseCode);
-        Map<String, String> responseHeaders = mockResponseToSend.getResponseHeaders();
-        if (responseHeaders == null) {
-            System.out.println("Mock Response Headers not available. Using Default");
-            responseHeaders = route.fetch().headers();
-        }
-        options.setHeaders(responseHeaders);
-        String responseBody = mockResponseToSend.getResponseBody();
-        Map<String, Object> responseBodyModificationParams = mockResponseToSend.getResponseBodyModificationParams();
-        String actualResponseBody = route.fetch().text();
-        if (responseBodyModificationParams != null) {
-            System.out.println("Dynamic Mocking of Response Body activated");
-            System.out.println(actualResponseBody);
-            responseBody = otherHelpers.modifyJsonValues(actualResponseBody, responseBodyModificationParams);
-            System.out.println(responseBody);
-        } else {
-            if (responseBody != null) {
-                System.out.println("Static Mocking of Response Body activated");
-            } else {
-                System.out.println("Mock Response Body not available. Using Default");
-                responseBody = actualResponseBody;
-            }
-        }
-        options.setBody(responseBody);
-        route.fulfill(options);
-        return Map.of("mockResponseCode", responseCode, "mockResponseHeaders", responseHeaders, "mockResponseBody", responseBody);
-    }
-
-    private boolean isMockingRequired(RequestConditionsToMock requestConditionsToMock, Route route) {
-        Request request = route.request();
-        Set<String> expectedRequestURLs = requestConditionsToMock.getRequestURLSubStrings();
-        Map<String, String> expectedRequestHeaders = requestConditionsToMock.getRequestHeaders();
-        Map<String, String> expectedRequestBodyKeyPathsAndValues = requestConditionsToMock.getRequestBodyKeyPathsAndValues();
-        if (expectedRequestURLs == null && expectedRequestHeaders == null && expectedRequestBodyKeyPathsAndValues == null) {
-            //No rule specified hence mocking not required
-            return false;
-        }
-        if (expectedRequestURLs != null) {
-            String actualURL = request.url();
-            for (String expectedUrl : expectedRequestURLs) {
-                if (!actualURL.contains(expectedUrl)) {
-                    return false;
-                }
-            }
-        }
-        if (expectedRequestHeaders != null) {
-            Map<String, String> actualRequestHeaders = request.allHeaders();
-            for (Map.Entry<String, String> entry : expectedRequestHeaders.entrySet()) {
-                String expectedKey = entry.getKey();
-                String expectedValue = entry.getValue();
-                if (!actualRequestHeaders.containsKey(expectedKey)) {
-                    return false;
-                } else {
-                    if (!actualRequestHeaders.get(expectedKey).equals(expectedValue)) {
-                        return false;
-                    }
-                }
-            }
-        }
-        if (expectedRequestBodyKeyPathsAndValues != null) {
-            String actualBody = request.postData();
-            for (Map.Entry<String, String> entry : expectedRequestBodyKeyPathsAndValues.entrySet()) {
-                String expectedKeyPath = entry.getKey();
-                String expectedValue = entry.getValue();
-                if (otherHelpers.getJsonValue(actualBody, expectedKeyPath) == null) { //key doesn't exist
-                    return false;
-                } else {
-                    if (expectedValue != null) {//Validate value only if expected value is not null
-                        if (!otherHelpers.getJsonValue(actualBody, expectedKeyPath).equals(expectedValue)) { //value is not as expected
-                            return false;
-                        }
-                    }
-                }
-            }
-        }
-        return true; //As every rule is matched, we need to mock
-    }
-
     @Override
     public void scrollPageHeight() {
         int innerHeight = (int) page.evaluate("window.innerHeight");
@@ -1054,7 +1322,7 @@ public class PlaywrightImplementation implements Selewright {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("API " + apiName + " was not triggered", e);
         }
 
         return false;
@@ -1133,9 +1401,9 @@ public class PlaywrightImplementation implements Selewright {
 
     public boolean waitTillTextPresent(String locator, int waitTimeInSeconds) {
         try {
-            page.waitForFunction("locator => document.querySelector(locator) && " +
+            Instrumentation.timeWait("text", waitTimeInSeconds, () -> page.waitForFunction("locator => document.querySelector(locator) && " +
                             "document.querySelector(locator).value.trim() != ''", locator,
-                    new Page.WaitForFunctionOptions().setTimeout(waitTimeInSeconds * 1000));
+                    new Page.WaitForFunctionOptions().setTimeout(waitTimeInSeconds * 1000)));
             return true;
         } catch (PlaywrightException e) {
             return false;
@@ -1198,11 +1466,7 @@ public class PlaywrightImplementation implements Selewright {
      */
     @Override
     public void enterTextLetterByLetter(String locator, String text) {
-        Locator inputBox = findElement(locator);
-        for (char c : text.toCharArray()) {
-            inputBox.type(String.valueOf(c));
-            page.waitForTimeout(500);
-        }
+        enterText(locator, text, TypingStrategy.keyboard(TypingStrategy.DEFAULT_KEY_DELAY_MS));
     }
 
     /**
@@ -1220,7 +1484,7 @@ public class PlaywrightImplementation implements Selewright {
                         responseData[0] = String.valueOf(response.status());
                         // You can also use response.json() based on the response type
                     } catch (Exception e) {
-                        e.printStackTrace();
+                        logger.error("Not able to read the response status of " + response.url(), e);
                     }
                 }
             });
@@ -1268,7 +1532,7 @@ public class PlaywrightImplementation implements Selewright {
                 dialog.accept(); // Accept the alert
             });
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Not able to accept the alert", e);
         }
     }
 
@@ -1325,31 +1589,40 @@ public class PlaywrightImplementation implements Selewright {
      */
     @Override
     public int scrollTillEnd(String api) {
-        final int[] apiCallCount = {0};
+        return scrollTillEnd(api, new InfiniteScrollOptions());
+    }
 
-        // Track every call of specific api endpoint
-        page.onRequest(request -> {
-            if (request.url().contains(api)) {
-                apiCallCount[0]++;
+    @Override
+    @SuppressWarnings("unchecked")
+    public int scrollTillEnd(String api, InfiniteScrollOptions options) {
+        return Instrumentation.action(BACKEND, "scrollTillEnd", api, () -> {
+            // Paging calls are counted from the network, which also sees clients holding their own reference to fetch
+            int[] calls = {0};
+            Consumer<Request> counter = request -> {
+                if (api != null && !api.isEmpty() && request.url().contains(api)) {
+                    calls[0]++;
+                }
+            };
+            page.onRequest(counter);
+            try {
+                // The whole scroll runs inside the page and returns once the list stopped growing
+                Map<String, Object> result = Instrumentation.timeWait("infinite-scroll", (int) (options.getOverallTimeoutMillis() / 1000),
+                        () -> (Map<String, Object>) page.evaluate(InfiniteScrollOptions.SCROLL_FUNCTION, options.toScriptArguments(api)));
+                return scrollCalls(api, calls[0], result);
+            } finally {
+                page.offRequest(counter);
             }
         });
+    }
 
-        int lastHeight = (int) page.evaluate("() => document.body.scrollHeight");
-        int scrollCount = 0;
-
-        while (true) {
-            page.evaluate("window.scrollTo(0, document.body.scrollHeight);");
-            scrollCount++;
-
-            page.waitForTimeout(2000);
-
-            int newHeight = (int) page.evaluate("() => document.body.scrollHeight");
-            if (newHeight == lastHeight) {
-                break;
-            }
-            lastHeight = newHeight;
+    private int scrollCalls(String api, int calls, Map<String, Object> result) {
+        int pages = ((Number) result.get("pages")).intValue();
+        Object reason = result.get("reason");
+        if (!"end".equals(reason)) {
+            logger.warn(() -> "Stopped scrolling after " + pages + " pages: " + reason);
         }
-        return apiCallCount[0];
+        logger.debug(() -> "Scrolled " + pages + " pages, " + calls + " calls to " + api);
+        return calls;
     }
 
     @Override
@@ -1379,7 +1652,7 @@ public class PlaywrightImplementation implements Selewright {
         boolean isHorizontallyScrollable = (boolean) element.evaluate("element => element.scrollWidth > element.clientWidth");
 
         if (isHorizontallyScrollable) {
-            System.out.println("The element is scrollable horizontally.");
+            logger.debug("The element is scrollable horizontally.");
 
             // Scroll the element to the right
             element.evaluate("element => element.scrollLeft = element.scrollWidth");
@@ -1407,7 +1680,7 @@ public class PlaywrightImplementation implements Selewright {
         for (Locator element : list) {
             element.click();
             switchToChildWindow();
-            System.out.println(getCurrentPageUrl());
+            logger.info(getCurrentPageUrl());
             switchToParentWindow();
         }
         return false;
@@ -1434,7 +1707,7 @@ public class PlaywrightImplementation implements Selewright {
     @Override
     public boolean checkForElementToBeInvisible(String address, int timeInSeconds) {
         try {
-            findElement(address).waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.DETACHED).setTimeout(5000));
+            Instrumentation.timeWait("invisible", 5, () -> findElement(address).waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.DETACHED).setTimeout(5000)));
             return true;
         } catch (Exception e) {
             return false;
@@ -1458,7 +1731,7 @@ public class PlaywrightImplementation implements Selewright {
         context.route("**/*", route -> {
             String url = route.request().url();
             if (url.contains(apiName)) { // Check if URL contains the substring
-                System.out.println("Intercepted request for URL: " + url);
+                logger.debug(() -> "Intercepted request for URL: " + url);
                 route.fulfill(new Route.FulfillOptions()
                         .setStatus(500) // Set HTTP status to 500
                         .setContentType("application/json") // Specify response content type
@@ -1488,150 +1761,51 @@ public class PlaywrightImplementation implements Selewright {
 
     @Override
     public void swipeElement() {
-        ElementHandle body = page.querySelector("body");
-        JsonObject dimensions = JsonParser.parseString(page.evaluate("() => ({ width: window.innerWidth, height: window.innerHeight })").toString()).getAsJsonObject();
-        int screenWidth = dimensions.get("width").getAsInt();
-        int screenHeight = dimensions.get("height").getAsInt();
-
-        int startX = screenWidth / 2;
-        int startY = (int) (screenHeight * 0.8);
-        int endX = screenWidth / 2;
-        int endY = (int) (screenHeight * 0.2);
-
-        page.mouse().move(startX, startY);
-        page.mouse().down();
-        page.mouse().move(endX, endY);
-        page.mouse().up();
+        Instrumentation.action(BACKEND, "swipeElement", null, () -> {
+            swipe(50, 80, 50, 20, SWIPE_DURATION_MS);
+        });
     }
 
     @Override
     public void swipeHorizontal(double startXPercent, double endXPercent, double yPercent, int durationMs) {
-        int viewportWidth = page.viewportSize().width;
-        int viewportHeight = page.viewportSize().height;
-
-        double startX = (viewportWidth * startXPercent) / 100;
-        double endX = (viewportWidth * endXPercent) / 100;
-        double y = (viewportHeight * yPercent) / 100;
-
-        String direction = startX > endX ? "left" : "right";
-        System.out.println("Performing touch swipe " + direction + " from (" +
-                startX + "," + y + ") to (" + endX + "," + y + ")");
-
-        page.evaluate("([startX, endX, y]) => {" +
-                "const canvas = document.createElement('canvas');" +
-                "canvas.style.position = 'fixed';" +
-                "canvas.style.top = '0';" +
-                "canvas.style.left = '0';" +
-                "canvas.width = window.innerWidth;" +
-                "canvas.height = window.innerHeight;" +
-                "canvas.style.pointerEvents = 'none';" +
-                "canvas.style.zIndex = '9999';" +
-                "document.body.appendChild(canvas);" +
-
-                "const ctx = canvas.getContext('2d');" +
-                "ctx.strokeStyle = 'blue';" +
-                "ctx.lineWidth = 5;" +
-                "ctx.beginPath();" +
-                "ctx.moveTo(startX, y);" +
-                "ctx.lineTo(endX, y);" +
-                "ctx.stroke();" +
-
-                "setTimeout(() => canvas.remove(), 2000);" +
-                "}", new Object[]{
-                (int) (startX),
-                (int) (endX),
-                (int) (y)
-        });
-
-        try {
-            page.touchscreen().tap(startX, y);
-
-            int steps = Math.max(5, durationMs / 20);
-            int stepDelay = durationMs / steps;
-
-            for (int i = 1; i <= steps; i++) {
-                double progress = (double) i / steps;
-                double currentX = startX + progress * (endX - startX);
-
-                page.evaluate("([x, y]) => {" +
-                        "const touchObj = new Touch({" +
-                        "  identifier: Date.now()," +
-                        "  target: document.elementFromPoint(x, y)," +
-                        "  clientX: x," +
-                        "  clientY: y," +
-                        "  pageX: x," +
-                        "  pageY: y," +
-                        "  screenX: x," +
-                        "  screenY: y" +
-                        "});" +
-
-                        "const touchEvent = new TouchEvent('touchmove', {" +
-                        "  cancelable: true," +
-                        "  bubbles: true," +
-                        "  touches: [touchObj]," +
-                        "  targetTouches: [touchObj]," +
-                        "  changedTouches: [touchObj]," +
-                        "  view: window" +
-                        "});" +
-
-                        "const element = document.elementFromPoint(x, y) || document.body;" +
-                        "element.dispatchEvent(touchEvent);" +
-                        "return element.tagName;" +
-                        "}", new Object[]{currentX, y});
-
-                page.waitForTimeout(stepDelay);
+        Instrumentation.action(BACKEND, "swipeHorizontal", null, () -> {
+            logger.debug(() -> "Performing touch swipe " + (startXPercent > endXPercent ? "left" : "right") + " from ("
+                    + startXPercent + "%," + yPercent + "%) to (" + endXPercent + "%," + yPercent + "%)");
+            try {
+                swipe(startXPercent, yPercent, endXPercent, yPercent, durationMs);
+                logger.debug("Touch swipe completed");
+            } catch (Exception e) {
+                logger.error("Error during touch swipe: " + e.getMessage(), e);
             }
-
-            page.evaluate("([x, y]) => {" +
-                    "const touchObj = new Touch({" +
-                    "  identifier: Date.now()," +
-                    "  target: document.elementFromPoint(x, y)," +
-                    "  clientX: x," +
-                    "  clientY: y," +
-                    "  pageX: x," +
-                    "  pageY: y," +
-                    "  screenX: x," +
-                    "  screenY: y" +
-                    "});" +
-
-                    "const touchEvent = new TouchEvent('touchend', {" +
-                    "  cancelable: true," +
-                    "  bubbles: true," +
-                    "  touches: []," +
-                    "  targetTouches: []," +
-                    "  changedTouches: [touchObj]," +
-                    "  view: window" +
-                    "});" +
-
-                    "const element = document.elementFromPoint(x, y) || document.body;" +
-                    "element.dispatchEvent(touchEvent);" +
-                    "return element.tagName;" +
-                    "}", new Object[]{endX, y});
-
-            System.out.println("Touch swipe completed");
-
-        } catch (Exception e) {
-            System.err.println("Error during touch swipe: " + e.getMessage());
-            e.printStackTrace();
-        }
+        });
     }
 
     @Override
     public void swipeDown() {
-        ElementHandle body = page.querySelector("body");
-        JsonObject dimensions = JsonParser.parseString(page.evaluate("() => ({ width: window.innerWidth, height: window.innerHeight })").toString()).getAsJsonObject();
-        int screenWidth = dimensions.get("width").getAsInt();
-        int screenHeight = dimensions.get("height").getAsInt();
-
-        int endX = screenWidth / 2;
-        int endY = (int) (screenHeight * 0.8);
-        int startX = screenWidth / 2;
-        int startY = (int) (screenHeight * 0.2);
+        Instrumentation.action(BACKEND, "swipeDown", null, () -> {
+            swipe(50, 20, 50, 80, SWIPE_DURATION_MS);
+        });
+    }
 
-        page.mouse().move(startX, startY);
-        page.mouse().down();
-        page.mouse().move(endX, endY);
-        page.mouse().up();
+    private void swipe(double startXPercent, double startYPercent, double endXPercent, double endYPercent, int durationMs) {
+        // The whole path is played inside the page, so a touch swipe is a single round trip
+        Object viewport = page.evaluate(TouchGesture.SWIPE_FUNCTION, TouchGesture.swipe(startXPercent, startYPercent, endXPercent, endYPercent, durationMs));
+        if (viewport instanceof Map) {
+            // No touch support: the same path as native mouse input
+            double width = ((Number) ((Map<?, ?>) viewport).get("width")).doubleValue() / 100;
+            double height = ((Number) ((Map<?, ?>) viewport).get("height")).doubleValue() / 100;
+            int steps = TouchGesture.steps(durationMs);
+            double pause = (double) Math.max(0, durationMs) / steps;
+            page.mouse().move(width * startXPercent, height * startYPercent);
+            page.mouse().down();
+            for (int step = 1; step <= steps; step++) {
+                double progress = (double) step / steps;
+                page.waitForTimeout(pause);
+                page.mouse().move(width * (startXPercent + progress * (endXPercent - startXPercent)),
+                        height * (startYPercent + progress * (endYPercent - startYPercent)));
+            }
+            page.mouse().up();
+        }
     }
 
     /*
@@ -1695,9 +1869,9 @@ public class PlaywrightImplementation implements Selewright {
         final boolean[] check = {true};
         page.route("**/*", route -> {
             if (route.request().url().contains(apiName)) {
-                System.out.println("API request intercepted: " + route.request().url());
+                logger.debug(() -> "API request intercepted: " + route.request().url());
                 try {
-                    System.out.println("Pausing request...");
+                    logger.debug("Pausing request...");
                     Thread.sleep(1000);
                     for (String ele : uiElements) {
                         if (isDisplayed(ele)) {
@@ -0,0 +1,311 @@
+package com.redbus.selewright;
+
+import com.microsoft.playwright.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class starts Playwright drivers and browsers in the background and hands out ready to use {@link PlaywrightImplementation}s,
+ * so that the driver start and browser launch are not paid on the critical path of a test.
+ * <pre>
+ * PlaywrightLauncher launcher = PlaywrightLauncher.getDefault();   // as early as possible, e.g. in the suite setup
+ * PlaywrightImplementation selewright = launcher.acquire();       // a new context and page on an already running browser
+ * ...
+ * launcher.release(selewright);                                   // closes the context, keeps the browser warm for the next test
+ * </pre>
+ * Every warm browser has its own Playwright instance, so the sessions handed out can be used by parallel test threads.
+ * The browser download check and the browser executable lookup are done once, by the first launch, and reused by the following ones.
+ * Launches started meanwhile wait for the download check instead of running their own.
+ */
+public class PlaywrightLauncher implements AutoCloseable {
+    private static volatile PlaywrightLauncher defaultLauncher;
+
+    private String browserName = "chromium";
+    private BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions();
+    private BrowserType.LaunchOptions resolvedLaunchOptions;
+    private Browser.NewContextOptions contextOptions;
+    private Map<String, String> environment = new HashMap<>();
+    private int poolSize = 1;
+    private int acquireTimeoutInSeconds = 120;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("selewright-warmup-", 0).factory());
+    private final BlockingDeque<Future<WarmBrowser>> idle = new LinkedBlockingDeque<>();
+    private final Map<PlaywrightImplementation, WarmBrowser> leased = new ConcurrentHashMap<>();
+    private final SelewrightLogger logger = new SelewrightLogger("playwright-launcher");
+    private final ReentrantLock installLock = new ReentrantLock();
+    private volatile boolean browsersInstalled = false;
+    private volatile boolean started = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Get the launcher shared by the JVM, warming up as soon as it is first requested. It is configured with the system properties
+     * "selewright.playwright.browser" (chromium, firefox or webkit), "selewright.playwright.headless" (default true) and
+     * "selewright.playwright.pool" (number of browsers kept running, default 1), and closed by a shutdown hook.
+     */
+    public static PlaywrightLauncher getDefault() {
+        if (defaultLauncher == null) {
+            synchronized (PlaywrightLauncher.class) {
+                if (defaultLauncher == null) {
+                    PlaywrightLauncher launcher = new PlaywrightLauncher()
+                            .setBrowser(System.getProperty("selewright.playwright.browser", "chromium"))
+                            .setLaunchOptions(new BrowserType.LaunchOptions()
+                                    .setHeadless(Boolean.parseBoolean(System.getProperty("selewright.playwright.headless", "true"))))
+                            .setPoolSize(Integer.getInteger("selewright.playwright.pool", 1));
+                    Runtime.getRuntime().addShutdownHook(new Thread(launcher::close, "selewright-launcher-shutdown"));
+                    defaultLauncher = launcher.start();
+                }
+            }
+        }
+        return defaultLauncher;
+    }
+
+    /**
+     * Set the browser to launch: "chromium" (default), "firefox" or "webkit"
+     */
+    public PlaywrightLauncher setBrowser(String browserName) {
+        this.browserName = browserName;
+        return this;
+    }
+
+    /**
+     * Set the options every browser is launched with. They are copied when the first browser is launched and not modified.
+     */
+    public synchronized PlaywrightLauncher setLaunchOptions(BrowserType.LaunchOptions launchOptions) {
+        this.launchOptions = launchOptions;
+        this.resolvedLaunchOptions = null;
+        return this;
+    }
+
+    /**
+     * Set the options of the context created for every session. By default the Playwright defaults are used.
+     */
+    public PlaywrightLauncher setContextOptions(Browser.NewContextOptions contextOptions) {
+        this.contextOptions = contextOptions;
+        return this;
+    }
+
+    /**
+     * Set environment variables passed to the Playwright driver, e.g. a proxy or PLAYWRIGHT_BROWSERS_PATH
+     */
+    public PlaywrightLauncher setEnvironment(Map<String, String> environment) {
+        this.environment = new HashMap<>(environment);
+        return this;
+    }
+
+    /**
+     * Set the number of browsers kept running, idle or in use. Set it to the number of parallel test threads. Default is 1.
+     */
+    public PlaywrightLauncher setPoolSize(int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+        return this;
+    }
+
+    /**
+     * Set how long {@link #acquire()} waits for a browser which is still starting. Default is 120 seconds.
+     */
+    public PlaywrightLauncher setAcquireTimeout(int acquireTimeoutInSeconds) {
+        this.acquireTimeoutInSeconds = acquireTimeoutInSeconds;
+        return this;
+    }
+
+    /**
+     * Starts launching the warm browsers in the background and returns immediately
+     */
+    public synchronized PlaywrightLauncher start() {
+        if (!started) {
+            started = true;
+            for (int i = 0; i < poolSize; i++) {
+                idle.add(executor.submit(this::launch));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Get a session with a new context and page on a warm browser. When every warm browser is in use, a new one is launched
+     * and this call waits for it.
+     *
+     * @return A ready to use implementation. Hand it back with {@link #release(PlaywrightImplementation)}.
+     */
+    public PlaywrightImplementation acquire() {
+        if (closed) {
+            throw new IllegalStateException("The launcher is closed");
+        }
+        start();
+        Future<WarmBrowser> next = idle.pollFirst();
+        if (next == null) {
+            next = executor.submit(this::launch);
+        }
+        Future<WarmBrowser> pending = next;
+        WarmBrowser warm = Instrumentation.timeWait("browser-warmup", acquireTimeoutInSeconds, () -> {
+            try {
+                return pending.get(acquireTimeoutInSeconds, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Could not launch " + browserName, e.getCause());
+            } catch (TimeoutException | InterruptedException e) {
+                pending.cancel(true);
+                throw new RuntimeException("No warm " + browserName + " within " + acquireTimeoutInSeconds + " seconds", e);
+            }
+        });
+        PlaywrightImplementation implementation = new PlaywrightImplementation(warm.page);
+        warm.page = null;
+        leased.put(implementation, warm);
+        if (idle.size() + leased.size() < poolSize) {
+            idle.add(executor.submit(this::launch));
+        }
+        return implementation;
+    }
+
+    /**
+     * Closes the context of a session returned by {@link #acquire()}. The browser is kept warm, with a new context, for the next
+     * session while the pool is not full, otherwise it is closed.
+     */
+    public void release(PlaywrightImplementation implementation) {
+        WarmBrowser warm = leased.remove(implementation);
+        if (warm == null) {
+            return;
+        }
+        try {
+            implementation.context.close();
+        } catch (PlaywrightException e) {
+            logger.debug(() -> "Context already closed: " + e.getMessage());
+        }
+        if (closed || idle.size() + leased.size() >= poolSize) {
+            warm.close();
+            return;
+        }
+        if (!warm.browser.isConnected()) {
+            warm.close();
+            idle.add(executor.submit(this::launch));
+            return;
+        }
+        idle.add(executor.submit(() -> {
+            warm.page = newPage(warm.browser);
+            return warm;
+        }));
+    }
+
+    /**
+     * Closes every browser and Playwright driver started by this launcher, including the ones of sessions not released yet
+     */
+    @Override
+    public void close() {
+        closed = true;
+        List<Future<WarmBrowser>> pending = new ArrayList<>();
+        idle.drainTo(pending);
+        for (Future<WarmBrowser> future : pending) {
+            try {
+                future.get(acquireTimeoutInSeconds, TimeUnit.SECONDS).close();
+            } catch (Exception e) {
+                future.cancel(true);
+            }
+        }
+        leased.values().forEach(WarmBrowser::close);
+        leased.clear();
+        executor.shutdownNow();
+    }
+
+    private WarmBrowser launch() {
+        long start = System.nanoTime();
+        Playwright playwright = createPlaywright();
+        try {
+            BrowserType type = browserType(playwright);
+            Browser browser = type.launch(resolvedLaunchOptions(type));
+            WarmBrowser warm = new WarmBrowser(playwright, browser);
+            warm.page = newPage(browser);
+            logger.info(() -> browserName + " warmed up in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return warm;
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    private Playwright createPlaywright() {
+        if (!browsersInstalled) {
+            installLock.lock();
+            try {
+                if (!browsersInstalled) {
+                    // Only the first driver runs the download check, the launches started meanwhile wait for it
+                    Playwright playwright = Playwright.create(new Playwright.CreateOptions().setEnv(new HashMap<>(environment)));
+                    browsersInstalled = true;
+                    return playwright;
+                }
+            } finally {
+                installLock.unlock();
+            }
+        }
+        Map<String, String> env = new HashMap<>(environment);
+        env.put("PLAYWRIGHT_SKIP_BROWSER_DOWNLOAD", "1");
+        return Playwright.create(new Playwright.CreateOptions().setEnv(env));
+    }
+
+    private synchronized BrowserType.LaunchOptions resolvedLaunchOptions(BrowserType type) {
+        if (resolvedLaunchOptions == null) {
+            resolvedLaunchOptions = copy(launchOptions);
+            if (resolvedLaunchOptions.executablePath == null && resolvedLaunchOptions.channel == null) {
+                // Resolved once and reused, so every launch starts the same executable without looking it up again
+                resolvedLaunchOptions.setExecutablePath(Paths.get(type.executablePath()));
+            }
+        }
+        // Every launch gets its own copy, the caller's options are never modified
+        return copy(resolvedLaunchOptions);
+    }
+
+    private static BrowserType.LaunchOptions copy(BrowserType.LaunchOptions options) {
+        BrowserType.LaunchOptions copy = new BrowserType.LaunchOptions();
+        try {
+            for (Field field : BrowserType.LaunchOptions.class.getFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.set(copy, field.get(options));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Not able to copy the launch options", e);
+        }
+        return copy;
+    }
+
+    private Page newPage(Browser browser) {
+        BrowserContext context = contextOptions == null ? browser.newContext() : browser.newContext(contextOptions);
+        return context.newPage();
+    }
+
+    private BrowserType browserType(Playwright playwright) {
+        switch (browserName.trim().toLowerCase()) {
+            case "chromium":
+                return playwright.chromium();
+            case "firefox":
+                return playwright.firefox();
+            case "webkit":
+                return playwright.webkit();
+            default:
+                throw new IllegalArgumentException("Invalid browser: " + browserName);
+        }
+    }
+
+    private static final class WarmBrowser {
+        private final Playwright playwright;
+        private final Browser browser;
+        private Page page;
+
+        private WarmBrowser(Playwright playwright, Browser browser) {
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        void close() {
+            try {
+                browser.close();
+            } catch (PlaywrightException e) {
+                // Already disconnected
+            }
+            playwright.close();
+        }
+    }
+}
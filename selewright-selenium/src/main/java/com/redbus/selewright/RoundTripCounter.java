@@ -0,0 +1,38 @@
+package com.redbus.selewright;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * This class counts the commands a Selenium driver sends to the browser and reports them to {@link Instrumentation}.
+ * Decorate the driver before passing it to {@link SeleniumImplementation}:
+ * <pre>
+ * Selewright selewright = InstrumentedSelewright.wrap(new SeleniumImplementation(RoundTripCounter.decorate(new ChromeDriver())), registry);
+ * </pre>
+ */
+public class RoundTripCounter implements WebDriverListener {
+    // Calls which only return a local helper object and do not reach the browser
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    /**
+     * Decorates a driver so that every command it sends is counted.
+     *
+     * @param driver The driver to be decorated.
+     * @return The decorated driver.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(new RoundTripCounter()).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_CALLS.contains(method.getName())) {
+            Instrumentation.recordRoundTrip();
+        }
+    }
+}
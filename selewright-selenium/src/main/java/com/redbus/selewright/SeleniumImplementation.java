@@ -0,0 +1,1531 @@
+package com.redbus.selewright;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.*;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Script;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * This class implements Selewright Interface using Selenium. For method documentation please refer to the interface.
+ * Please note: Few methods in this class are yet to be implemented as Selenium is not the preferred choice to perform these tasks. Feel free to implement them as per your requirements.
+ */
+public class SeleniumImplementation implements Selewright {
+
+    private static final String BACKEND = "selenium";
+
+    final WebDriver driver;
+    JavascriptExecutor js;
+    private static final int SWIPE_DURATION_MS = 400;
+    /**
+     * Hook collecting console.error calls, uncaught errors and unhandled rejections in the page, for drivers without the log API.
+     * It is installed by the first call on a page, so errors raised before that call are not seen. Every call returns, then
+     * forgets, what was collected since the previous call.
+     */
+    private static final String CONSOLE_HOOK_FUNCTION = "() => {"
+            + "var w = window;"
+            + "if (!w.__selewrightConsoleErrors) {"
+            + "  var errors = w.__selewrightConsoleErrors = [];"
+            + "  var push = function (m) { if (errors.length < 500) errors.push(String(m)); };"
+            + "  var original = console.error;"
+            + "  console.error = function () { push(Array.prototype.map.call(arguments, String).join(' ')); return original.apply(console, arguments); };"
+            + "  w.addEventListener('error', function (e) { if (e.message) push(e.message); });"
+            + "  w.addEventListener('unhandledrejection', function (e) { push('Unhandled rejection: ' + (e.reason && e.reason.message || e.reason)); });"
+            + "}"
+            + "}";
+    private static final String CONSOLE_ERRORS_SCRIPT = "(" + CONSOLE_HOOK_FUNCTION + ")(); return window.__selewrightConsoleErrors.splice(0);";
+    private boolean browserLogsUnsupported;
+    private CompletableFuture<String> traceStream;
+    private EmulationProfile emulationProfile = EmulationProfile.NONE;
+    private static int defaultWait = 30;
+    String parentWindowHandle;
+    SelewrightLogger logger = new SelewrightLogger("selenium");
+
+    public SeleniumImplementation(WebDriver driver) {
+        this.driver = driver;
+        js = (JavascriptExecutor) driver;
+        try {
+            this.parentWindowHandle = driver.getWindowHandle();
+        } catch (Exception e) {
+
+        }
+    }
+
+    static By getLocator(String address) {
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c != '(') {
+                if (c == '/') {
+                    return By.xpath(address);
+                } else {
+                    return By.cssSelector(address);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a locator of this backend. Subclasses supporting other locator syntaxes override it.
+     */
+    By locator(String address) {
+        return getLocator(address);
+    }
+
+    @Override
+    public WebElement findElement(String address) {
+        waitForPresenceOfElement(address, getGlobalWait());
+        return driver.findElement(locator(address));
+    }
+
+    @Override
+    public List<WebElement> findElements(String address) {
+        waitForPresenceOfAllElements(address, getGlobalWait());
+        return driver.findElements(locator(address));
+    }
+
+    @Override
+    public void click(String address) {
+        Instrumentation.action(BACKEND, "click", address, () -> {
+            waitForElementToBeClickable(address, getGlobalWait());
+            List<WebElement> elements = findElements(address);
+            if(elements.size()>1){
+                logger.warn(() -> "Multiple elements found for the locator: " + address + ". Clicking on the first one.");
+                throw new RuntimeException("Multiple elements found for the locator: "+address+". Clicking on the first one.");
+            }
+            highlight(elements.get(0));
+            try {
+                findElement(address).click();
+            } catch (Exception e) {
+                logger.warn(() -> "Normal click did not work for " + address + " Trying with js");
+                js.executeScript("arguments[0].click();", elements.get(0));
+            }
+            unhighlight(elements.get(0));
+            waitUntilPageLoadComplete();
+        });
+    }
+
+    @Override
+    public void tap(String address) {
+        click(address);
+    }
+
+    @Override
+    public void clear(String address) {
+        Instrumentation.action(BACKEND, "clear", address, () -> {
+            waitForElementToBeVisible(address, getGlobalWait());
+            findElement(address).clear();
+        });
+    }
+
+    @Override
+    public void openUrl(String url) {
+        Instrumentation.action(BACKEND, "openUrl", url, () -> {
+            driver.get(url);
+            waitUntilPageLoadComplete();
+        });
+    }
+
+    @Override
+    public String getPageTitle() {
+        waitUntilPageLoadComplete();
+        return driver.getTitle();
+    }
+
+    @Override
+    public String getCurrentPageUrl() {
+        waitUntilPageLoadComplete();
+        return driver.getCurrentUrl();
+    }
+
+    @Override
+    public String getHtmlPageContent() {
+        waitUntilPageLoadComplete();
+        return (String) js.executeScript("return document.documentElement.outerHTML;");
+    }
+
+    @Override
+    public void enterText(String address, String text) {
+        Instrumentation.action(BACKEND, "enterText", address, () -> {
+            waitForElementToBeClickable(address, getGlobalWait());
+            findElement(address).sendKeys(text);
+        });
+    }
+
+    @Override
+    public void enterText(String address, String text, TypingStrategy strategy) {
+        Instrumentation.action(BACKEND, "enterText", address, () -> {
+            waitForElementToBeClickable(address, getGlobalWait());
+            WebElement input = driver.findElement(locator(address));
+            switch (strategy.getMode()) {
+                case FILL:
+                    input.clear();
+                    input.sendKeys(text);
+                    break;
+                case KEYBOARD:
+                    type(input, text, strategy.getKeyDelay());
+                    break;
+                case UNTIL_API:
+                    js.executeScript("(" + TypingStrategy.ARM_API_OBSERVER_FUNCTION + ")(arguments[0]);", strategy.getApiUrlSubString());
+                    type(input, text, strategy.getKeyDelay());
+                    boolean completed = Instrumentation.timeWait("typing-api", strategy.getApiTimeout(), () -> Boolean.TRUE.equals(executeAsync(
+                            "(" + TypingStrategy.AWAIT_API_FUNCTION + ")(arguments[0]).then(arguments[arguments.length - 1]);", strategy.getApiTimeout() * 1000,
+                            strategy.getApiTimeout() * 1000L)));
+                    if (!completed) {
+                        logger.warn(() -> "No " + strategy.getApiUrlSubString() + " request completed within " + strategy.getApiTimeout() + " seconds after typing in " + address);
+                    }
+                    break;
+            }
+        });
+    }
+
+    private void type(WebElement input, String text, int keyDelayMs) {
+        if (keyDelayMs == 0) {
+            input.sendKeys(text);
+            return;
+        }
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            input.sendKeys(new String(Character.toChars(codePoint)));
+            i += Character.charCount(codePoint);
+            if (i < text.length()) {
+                Instrumentation.sleep("typing", keyDelayMs);
+            }
+        }
+    }
+
+    @Override
+    public String getText(String address) {
+        return findElement(address).getText();
+    }
+
+    @Override
+    public List<String> getAllText(String locator) {
+        List<WebElement> elements = findElements(locator);
+        List<String> texts = new ArrayList<>();
+        for (WebElement element : elements) {
+            texts.add(element.getText());
+        }
+        return texts;
+    }
+
+    @Override
+    public List<String> getAllAttributes(String locator, String attribute) {
+        List<WebElement> elements = findElements(locator);
+        List<String> links = new ArrayList<>();
+        for (WebElement element : elements) {
+            links.add(element.getAttribute(attribute));
+        }
+        return links;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, LinkStatus> auditLinks(String address) {
+        return Instrumentation.action(BACKEND, "auditLinks", address, () -> {
+            // All links are read in a single call instead of one getAttribute call per element
+            List<String> links = (List<String>) js.executeScript("return (" + LinkAuditor.LINKS_FUNCTION + ")(arguments[0]);",
+                    driver.findElements(locator(address)));
+            return new LinkAuditor(logger).audit(links, driver.getCurrentUrl());
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> getBrokenImages(String address) {
+        return Instrumentation.action(BACKEND, "getBrokenImages", address, () -> (List<String>) js.executeScript(
+                "return (" + SiteCrawler.BROKEN_IMAGES_FUNCTION + ")(arguments[0]);", driver.findElements(locator(address))));
+    }
+
+    /**
+     * Chromium drivers read the browser logs. Other drivers hook the console in the page: with BiDi enabled (capability
+     * "webSocketUrl") the hook is preloaded in every new document, so errors logged while a page loads are reported as long as
+     * the first call is made before the navigation. Without BiDi the hook is installed by each call, so only the errors logged
+     * after the first call on a page are reported.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> getConsoleErrors() {
+        List<String> errors = new ArrayList<>();
+        if (!browserLogsUnsupported) {
+            try {
+                for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                    if (entry.getLevel().intValue() >= Level.SEVERE.intValue()) {
+                        errors.add(entry.getMessage());
+                    }
+                }
+                return errors;
+            } catch (WebDriverException e) {
+                // Only Chromium drivers implement the log API, other browsers use the hook in the page
+                logger.debug(() -> "Browser logs not available, using an in-page hook: " + e.getMessage());
+                browserLogsUnsupported = true;
+                preloadConsoleHook();
+            }
+        }
+        try {
+            errors.addAll((List<String>) js.executeScript(CONSOLE_ERRORS_SCRIPT));
+        } catch (WebDriverException e) {
+            logger.debug(() -> "Not able to read console errors: " + e.getMessage());
+        }
+        return errors;
+    }
+
+    private void preloadConsoleHook() {
+        if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+            try {
+                new Script(driver).addPreloadScript(CONSOLE_HOOK_FUNCTION);
+                return;
+            } catch (WebDriverException e) {
+                logger.debug(() -> "Not able to preload the console hook: " + e.getMessage());
+            }
+        }
+        logger.debug("No BiDi session, console errors logged while a page loads are not reported");
+    }
+
+    @Override
+    public PagePerformance getPagePerformance() {
+        return Instrumentation.action(BACKEND, "getPagePerformance", null, () -> {
+            PagePerformance performance = PagePerformance.fromJson((String) js.executeAsyncScript("(" + PagePerformance.COLLECT_FUNCTION
+                    + ")(arguments[0]).then(arguments[arguments.length - 1]);", Map.of("settleMs", PagePerformance.SETTLE_MS)));
+            logger.debug(performance::toString);
+            return performance;
+        });
+    }
+
+    @Override
+    public void startTrace() {
+        Instrumentation.action(BACKEND, "startTrace", null, () -> {
+            DevTools devTools = devTools();
+            if (traceStream == null) {
+                devTools.addListener(new Event<Map<String, Object>>("Tracing.tracingComplete", input -> input.read(Map.class)),
+                        event -> traceStream.complete((String) event.get("stream")));
+            }
+            traceStream = new CompletableFuture<>();
+            devTools.send(new Command<Void>("Tracing.start", Map.of("categories", String.join(",", TraceSummary.CATEGORIES),
+                    "transferMode", "ReturnAsStream")));
+            return null;
+        });
+    }
+
+    @Override
+    public TraceSummary stopTrace(String locationToStore) {
+        return Instrumentation.action(BACKEND, "stopTrace", locationToStore, () -> {
+            DevTools devTools = devTools();
+            devTools.send(new Command<Void>("Tracing.end", Map.of()));
+            String path = TraceSummary.newPath(locationToStore, "json");
+            try (OutputStream file = new BufferedOutputStream(new FileOutputStream(path))) {
+                String stream = traceStream.get(getGlobalWait(), TimeUnit.SECONDS);
+                // The trace is read from the browser in chunks, so a large trace is never held in memory at once
+                Map<String, Object> chunk;
+                do {
+                    chunk = devTools.send(new Command<Map<String, Object>>("IO.read", Map.of("handle", stream, "size", 1 << 20), Map.class));
+                    String data = (String) chunk.get("data");
+                    file.write(Boolean.TRUE.equals(chunk.get("base64Encoded")) ? Base64.getDecoder().decode(data)
+                            : data.getBytes(StandardCharsets.UTF_8));
+                } while (!Boolean.TRUE.equals(chunk.get("eof")));
+                devTools.send(new Command<Void>("IO.close", Map.of("handle", stream)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Not able to write trace " + path, e);
+            } catch (ExecutionException | java.util.concurrent.TimeoutException e) {
+                throw new RuntimeException("The browser did not complete the trace", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the trace", e);
+            }
+            TraceSummary summary = TraceSummary.parse(Paths.get(path));
+            logger.info(summary::toString);
+            return summary;
+        });
+    }
+
+    @Override
+    public TraceSummary profile(String locationToStore, Runnable actions) {
+        startTrace();
+        try {
+            actions.run();
+        } catch (RuntimeException | Error e) {
+            // The trace is still stopped, without hiding the failure of the actions
+            try {
+                stopTrace(locationToStore);
+            } catch (RuntimeException stopError) {
+                e.addSuppressed(stopError);
+            }
+            throw e;
+        }
+        return stopTrace(locationToStore);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MemorySnapshot getMemorySnapshot() {
+        return Instrumentation.action(BACKEND, "getMemorySnapshot", null, () -> {
+            if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                return MemorySnapshot.fromDevTools(cdp.executeCdpCommand("Runtime.getHeapUsage", new HashMap<>()),
+                        cdp.executeCdpCommand("Memory.getDOMCounters", new HashMap<>()));
+            }
+            return MemorySnapshot.fromPage((Map<String, Object>) js.executeScript("return (" + MemorySnapshot.PAGE_FUNCTION + ")();"));
+        });
+    }
+
+    @Override
+    public void setEmulationProfile(EmulationProfile profile) {
+        EmulationProfile applied = profile == null ? EmulationProfile.NONE : profile;
+        Instrumentation.action(BACKEND, "setEmulationProfile", applied.getName(), () -> {
+            if (driver instanceof HasCdp) {
+                applyEmulation((HasCdp) driver, applied);
+            } else if (applied != EmulationProfile.NONE || emulationProfile != EmulationProfile.NONE) {
+                throw new UnsupportedOperationException("Emulation profiles need a Chromium driver");
+            }
+            emulationProfile = applied;
+            logger.info(() -> "Emulation profile: " + applied.getName());
+            return null;
+        });
+    }
+
+    @Override
+    public EmulationProfile getEmulationProfile() {
+        return emulationProfile;
+    }
+
+    /**
+     * Applies the emulation profile to the window the session switched to, as DevTools commands only act on the current window
+     */
+    private void followEmulation() {
+        if (emulationProfile != EmulationProfile.NONE && driver instanceof HasCdp) {
+            applyEmulation((HasCdp) driver, emulationProfile);
+        }
+    }
+
+    private static void applyEmulation(HasCdp cdp, EmulationProfile profile) {
+        cdp.executeCdpCommand("Network.enable", new HashMap<>());
+        cdp.executeCdpCommand("Network.emulateNetworkConditions", profile.toNetworkConditions());
+        cdp.executeCdpCommand("Emulation.setCPUThrottlingRate", profile.toCpuThrottling());
+    }
+
+    private DevTools devTools() {
+        if (!(driver instanceof HasDevTools)) {
+            throw new UnsupportedOperationException("Tracing needs a Chromium driver with DevTools, remote drivers have to be augmented");
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        return devTools;
+    }
+
+    @Override
+    public String takeScreenshotAsPNG(String locationToStore) {
+        return Instrumentation.action(BACKEND, "takeScreenshotAsPNG", locationToStore, () -> {
+            ScreenshotOptions options = new ScreenshotOptions().withoutTimeout();
+            String path = ScreenshotPipeline.newPath(locationToStore, options);
+            try {
+                // The image is decoded and written straight to the file, without the temporary file of OutputType.FILE
+                ScreenshotPipeline.getDefault().write(capture(options), path).join();
+            } catch (Exception e) {
+                logger.warn(() -> "Not able to take screenshot: " + e.getMessage());
+            }
+            return path;
+        });
+    }
+
+    @Override
+    public String takeScreenshotAsBase64(boolean fullPageScreenshot) {
+        // The browser already returns Base64, so the image is neither decoded nor encoded again
+        return Instrumentation.action(BACKEND, "takeScreenshotAsBase64", null, () -> capture(new ScreenshotOptions().setFullPage(fullPageScreenshot).withoutTimeout()));
+    }
+
+    @Override
+    public CompletableFuture<String> takeScreenshot(String locationToStore, ScreenshotOptions options) {
+        return Instrumentation.action(BACKEND, "takeScreenshot", locationToStore, () -> {
+            String path = ScreenshotPipeline.newPath(locationToStore, options);
+            String data = capture(options);
+            ScreenshotPipeline pipeline = ScreenshotPipeline.getDefault();
+            CompletableFuture<String> written = capturedAsRequested(options) ? pipeline.write(data, path)
+                    : pipeline.submit(() -> pipeline.transcode(Base64.getDecoder().decode(data), options)).thenCompose(image -> pipeline.write(image, path));
+            written.thenAccept(file -> logger.info(() -> "Screenshot taken: " + file));
+            return written;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> takeScreenshotAsBase64(ScreenshotOptions options) {
+        return Instrumentation.action(BACKEND, "takeScreenshotAsBase64", null, () -> {
+            String data = capture(options);
+            if (capturedAsRequested(options)) {
+                return CompletableFuture.completedFuture(data);
+            }
+            ScreenshotPipeline pipeline = ScreenshotPipeline.getDefault();
+            return pipeline.submit(() -> Base64.getEncoder().encodeToString(pipeline.transcode(Base64.getDecoder().decode(data), options)));
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public VisualDiffResult compareScreenshot(String baselineName, String... ignoredLocators) {
+        return Instrumentation.action(BACKEND, "compareScreenshot", baselineName, () -> {
+            byte[] image = Base64.getDecoder().decode(capture(new ScreenshotOptions()));
+            List<java.awt.Rectangle> ignoredRegions = new ArrayList<>();
+            List<WebElement> elements = new ArrayList<>();
+            for (String locator : ignoredLocators) {
+                elements.addAll(driver.findElements(locator(locator)));
+            }
+            if (!elements.isEmpty()) {
+                // The boxes of all ignored elements and the pixel ratio are read in a single call
+                Map<String, Object> boxes = (Map<String, Object>) js.executeScript("return {scale: window.devicePixelRatio, "
+                        + "rects: arguments[0].map((e) => { const r = e.getBoundingClientRect(); return [r.x, r.y, r.width, r.height]; })};", elements);
+                double scale = ((Number) boxes.get("scale")).doubleValue();
+                for (List<Number> rect : (List<List<Number>>) boxes.get("rects")) {
+                    ignoredRegions.add(VisualComparator.region(rect.get(0).doubleValue(), rect.get(1).doubleValue(), rect.get(2).doubleValue(),
+                            rect.get(3).doubleValue(), scale));
+                }
+            }
+            VisualDiffResult result = VisualComparator.getDefault().compare(baselineName, image, ignoredRegions);
+            logger.debug(result::toString);
+            return result;
+        });
+    }
+
+    /**
+     * Captures a Base64 screenshot, giving up after the timeout of the options so that a hanging page does not slow the test down.
+     * A capture which timed out is interrupted, and waited for briefly, so that it does not keep using the driver.
+     */
+    private String capture(ScreenshotOptions options) {
+        if (options.getTimeout() == 0) {
+            return captureBase64(options);
+        }
+        FutureTask<String> task = new FutureTask<>(() -> captureBase64(options));
+        Thread capturing = Thread.ofVirtual().name("selewright-screenshot-capture").start(task);
+        try {
+            return task.get(options.getTimeout(), TimeUnit.SECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            task.cancel(true);
+            try {
+                capturing.join(Duration.ofSeconds(1));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RuntimeException("Screenshot not taken within " + options.getTimeout() + " seconds");
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String captureBase64(ScreenshotOptions options) {
+        if (driver instanceof HasCdp) {
+            // Chromium captures the full page, the clip and JPEG itself
+            HasCdp cdp = (HasCdp) driver;
+            double width = 0;
+            double height = 0;
+            if (options.isFullPage() && options.getClip() == null) {
+                Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", new HashMap<>());
+                Map<String, Object> size = (Map<String, Object>) metrics.getOrDefault("cssContentSize", metrics.get("contentSize"));
+                width = ((Number) size.get("width")).doubleValue();
+                height = ((Number) size.get("height")).doubleValue();
+            }
+            return (String) cdp.executeCdpCommand("Page.captureScreenshot", options.toCdpParameters(width, height)).get("data");
+        }
+        if (options.isFullPage() && driver instanceof HasFullPageScreenshot) {
+            return ((HasFullPageScreenshot) driver).getFullPageScreenshotAs(OutputType.BASE64);
+        }
+        if (options.isFullPage()) {
+            logger.warn("Full page screenshot needs Chromium or Firefox, taking the viewport");
+        }
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+    }
+
+    private boolean capturedAsRequested(ScreenshotOptions options) {
+        return driver instanceof HasCdp || !options.needsTranscoding();
+    }
+
+    @Override
+    public int getElementCount(String address) {
+        return findElements(address).size();
+    }
+
+    @Override
+    public void waitForElementToBeVisible(String address, int timeInSeconds) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeInSeconds));
+        Instrumentation.timeWait("visible", timeInSeconds, () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator(address))));
+    }
+
+    @Override
+    public void waitForElementToBeClickable(String address, int timeInSeconds) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeInSeconds));
+        Instrumentation.timeWait("clickable", timeInSeconds, () -> wait.until(ExpectedConditions.elementToBeClickable(locator(address))));
+    }
+
+    @Override
+    public void waitForPresenceOfElement(String address, int timeInSeconds) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeInSeconds));
+        Instrumentation.timeWait("present", timeInSeconds, () -> wait.until(ExpectedConditions.presenceOfElementLocated(locator(address))));
+    }
+
+    @Override
+    public void waitForPresenceOfAllElements(String address, int timeInSeconds) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeInSeconds));
+        Instrumentation.timeWait("all-present", timeInSeconds, () -> wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator(address))));
+    }
+
+    @Override
+    public boolean waitUntilPageLoadComplete() {
+        for (int i = 0; i < getGlobalWait(); i++) {
+            Instrumentation.sleep("page-load", 1000);
+            if (js.executeScript("return document.readyState").equals("complete")) {
+                return true;
+            }
+        }
+        logger.warn(() -> "Page did not finish loading within " + getGlobalWait() + " seconds");
+        return false;
+    }
+
+    @Override
+    public void selectDropdownBasedOnValue(String address, String value) {
+        Instrumentation.action(BACKEND, "selectDropdownBasedOnValue", address, () -> {
+            Select dropdown = new Select(findElement(address));
+            dropdown.selectByValue(value);
+        });
+    }
+
+    @Override
+    public boolean isChecked(String address) {
+        return findElement(address).isSelected();
+    }
+
+    @Override
+    public boolean isDisplayed(String address) {
+        try {
+            waitForElementToBeVisible(address, getGlobalWait());
+            findElement(address).isDisplayed();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isViewable(String address) {
+        try {
+            WebElement element = findElement(address);
+
+            if (!element.isDisplayed()) {
+                return false;
+            }
+
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            return (Boolean) js.executeScript("""
+                            var elem = arguments[0];
+
+                            if (!elem || !elem.getBoundingClientRect) {
+                                return false;
+                            }
+
+                            var rect = elem.getBoundingClientRect();
+
+                            if (rect.width === 0 || rect.height === 0) {
+                                return false;
+                            }
+
+                            if (rect.bottom < 0 || rect.top > window.innerHeight ||
+                                rect.right < 0 || rect.left > window.innerWidth) {
+                                return false;
+                            }
+
+                            var centerX = rect.left + rect.width/2;
+                            var centerY = rect.top + rect.height/2;
+                            var elementAtPoint = document.elementFromPoint(centerX, centerY);
+
+                            return elem.contains(elementAtPoint) || elem === elementAtPoint;
+                            """,
+                    element
+            );
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isDisplayed(String address, int timeOutInSeconds) {
+        try {
+            waitForElementToBeVisible(address, timeOutInSeconds);
+            findElement(address).isDisplayed();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getAttribute(String address, String attributeName) {
+        return findElement(address).getAttribute(attributeName);
+    }
+
+    @Override
+    public boolean switchToChildWindow() {
+        Set<String> windows = driver.getWindowHandles();
+        if (windows.size() > 2) {
+            logger.warn("More than 2 windows found!!");
+            return false;
+        } else if (windows.size() < 1) {
+            logger.warn("No windows found!!");
+            return false;
+        } else {
+            for (String windowHandle : windows) {
+                if (!windowHandle.equals(parentWindowHandle)) {
+                    driver.switchTo().window(windowHandle);
+                    followEmulation();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean switchToParentWindow() {
+        driver.switchTo().window(parentWindowHandle);
+        followEmulation();
+        return true;
+    }
+
+    @Override
+    public void setCookie(String name, String value, String domain) {
+        Cookie c = new Cookie.Builder(name, value).domain(domain).path("/").build();
+        driver.manage().addCookie(c);
+        Instrumentation.sleep("cookie", 2000);
+        refreshPage();
+    }
+
+    @Override
+    public boolean doesCookieExist(String cookieName) {
+        Set<Cookie> cookies = driver.manage().getCookies();
+        boolean isCookiePresent = cookies.stream()
+                .anyMatch(cookie -> cookie.getName().equals(cookieName));
+        return isCookiePresent;
+    }
+
+    @Override
+    public String getCookieValue(String cookieName) {
+        Set<Cookie> cookies = driver.manage().getCookies();
+        for (Cookie cookie : cookies) {
+            if (cookie.getName().equals(cookieName)) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void deleteCookie(String cookieName) {
+        Set<Cookie> cookies = driver.manage().getCookies();
+        Set<Cookie> remainingCookies = cookies.stream()
+                .filter(cookie -> !cookie.getName().equals(cookieName))
+                .collect(Collectors.toSet());
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : remainingCookies) {
+            driver.manage().addCookie(cookie);
+        }
+
+    }
+
+    @Override
+    public void refreshPage() {
+        Instrumentation.action(BACKEND, "refreshPage", null, () -> {
+            driver.navigate().refresh();
+            waitUntilPageLoadComplete();
+        });
+    }
+
+    @Override
+    public double[] getBoundingBoxCoordinates(String address) {
+        double[] coordinates = new double[2];
+        try {
+            Long leftCoordinate = (Long) js.executeScript("return arguments[0].getBoundingClientRect().left", findElement(address));
+            coordinates[0] = (double) leftCoordinate.doubleValue();
+        } catch (ClassCastException e) {
+            try {
+                Double leftCoordinate = (Double) js.executeScript("return arguments[0].getBoundingClientRect().left", findElement(address));
+                coordinates[0] = (double) leftCoordinate;
+            } catch (Exception ex) {
+                Integer leftCoordinate = (Integer) js.executeScript("return arguments[0].getBoundingClientRect().left", findElement(address));
+                coordinates[0] = (double) leftCoordinate.doubleValue();
+            }
+        }
+        try {
+            Long topCoordinate = (Long) js.executeScript("return arguments[0].getBoundingClientRect().top", findElement(address));
+            coordinates[1] = (double) topCoordinate.doubleValue();
+        } catch (ClassCastException e) {
+            try {
+                Double topCoordinate = (Double) js.executeScript("return arguments[0].getBoundingClientRect().top", findElement(address));
+                coordinates[1] = (double) topCoordinate;
+            } catch (ClassCastException e1) {
+                Integer topCoordinate = (Integer) js.executeScript("return arguments[0].getBoundingClientRect().top", findElement(address));
+                coordinates[1] = (double) topCoordinate.doubleValue();
+            }
+        }
+        return coordinates;
+    }
+
+    @Override
+    public void scrollToElement(String address) {
+        Instrumentation.action(BACKEND, "scrollToElement", address, () -> {
+            // Scroll steps and visibility probes run inside the page, returning as soon as the element is visible
+            long timeoutMs = getGlobalWait() * 1000L;
+            Map<String, Object> result = Instrumentation.timeWait("scroll-into-view", getGlobalWait(),
+                    () -> executeAsync(ScrollIntoView.SCROLL_ASYNC_SCRIPT, ScrollIntoView.probe(address, timeoutMs), timeoutMs));
+            if (ScrollIntoView.isVisible(result)) {
+                return;
+            }
+            logger.debug(() -> "Element " + address + " not visible after " + result.get("steps") + " scrolls: " + result.get("reason"));
+            js.executeScript("arguments[0].scrollIntoView({behavior: 'auto', block: 'center', inline: 'center'});", findElement(address));
+            isDisplayed(address);
+        });
+    }
+
+    @Override
+    public void closeBrowser() {
+        driver.quit();
+    }
+
+    @Override
+    public void closeCurrentTab() {
+        driver.close();
+    }
+
+    @Override
+    public void navigateForward() {
+        Instrumentation.action(BACKEND, "navigateForward", null, () -> {
+            driver.navigate().forward();
+            waitUntilPageLoadComplete();
+        });
+    }
+
+    @Override
+    public void hover(String address) {
+        Instrumentation.action(BACKEND, "hover", address, () -> {
+            Actions actions = new Actions(driver);
+            WebElement element = findElement(address);
+            actions.moveToElement(element).click().build().perform();
+        });
+    }
+
+    @Override
+    public void navigateBack() {
+        Instrumentation.action(BACKEND, "navigateBack", null, () -> {
+            driver.navigate().back();
+            waitUntilPageLoadComplete();
+        });
+    }
+
+    @Override
+    public void enterTextUsingKeyboard(String text) {
+        Instrumentation.action(BACKEND, "enterTextUsingKeyboard", null, () -> {
+            Actions actions = new Actions(driver);
+            actions.sendKeys(text).perform();
+        });
+    }
+
+    @Override
+    public void swipeHorizontal(double startXPercent, double endXPercent, double yPercent, int durationMs) {
+        Instrumentation.action(BACKEND, "swipeHorizontal", null, () -> {
+            swipe(startXPercent, yPercent, endXPercent, yPercent, durationMs);
+        });
+    }
+
+    @Override
+    public String getGAEvents() {
+        waitUntilPageLoadComplete();
+        return (String) js.executeScript("return JSON.stringify(dataLayer)");
+    }
+
+    /**
+     * Given the common address of the checkboxes this method clicks on all checkboxes
+     *
+     * @param address
+     */
+    public void clickAllElements(String address) {
+        waitForElementToBeClickable(address, getGlobalWait());
+        for (WebElement element : findElements(address)) {
+            highlight(element);
+            element.click();
+            unhighlight(element);
+        }
+    }
+
+    /**
+     * Validate Element is in ViewPort or not
+     *
+     * @param
+     * @return boolean
+     */
+    @Override
+    public boolean validateElementInViewportOrNot(String locator) {
+        try {
+            // Using JavaScript to determine if the element is in the viewport
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            boolean isVisibleInViewport = (Boolean) js.executeScript(
+                    "var elem = arguments[0],                 " +
+                            "  box = elem.getBoundingClientRect(),    " +
+                            "  cx = box.left + box.width / 2,         " +
+                            "  cy = box.top + box.height / 2,         " +
+                            "  e = document.elementFromPoint(cx, cy); " +
+                            "for (; e; e = e.parentElement) {         " +
+                            "  if (e === elem)                        " +
+                            "    return true;                         " +
+                            "}                                        " +
+                            "return false;", findElement(locator));
+
+            return isVisibleInViewport;
+        } catch (Exception e) {
+            return false;  // Return false if the element is not found or any error occurs
+        }
+    }
+
+    /**
+     * Fetch the newtork response
+     *
+     * @param apiName , locator , action
+     * @return json String
+     */
+    @Override
+    public String fetchResponse(String apiName, String locator, BrowserAction action) {
+        return null;
+        //TODO
+    }
+
+    /**
+     * Fetch the newtork response
+     *
+     * @param apiName , locator , action , text
+     * @return json String
+     */
+    @Override
+    public String fetchResponse(String apiName, String locator, BrowserAction action, String text) {
+        return null;
+        //TODO
+    }
+
+    /**
+     * Fetch the newtork response
+     *
+     * @param apiName , locator
+     * @return json String
+     */
+    @Override
+    public String fetchRequestPayload(String apiName, String locator, BrowserAction action) {
+        return null;
+        //TODO
+    }
+
+    @Override
+    public String[] fetchHeaderRequestPayLoad(String apiName, String locator, BrowserAction action) {
+        //TODO
+        return null;
+    }
+
+    /**
+     * Wait for the Response to be Captured
+     *
+     * @param
+     * @return json String
+     */
+    @Override
+    public String waitForResponseToBeCaptured(String result) {
+        try {
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));  // Set an appropriate timeout
+            Instrumentation.timeWait("response", 15, () -> wait.until(new ExpectedCondition<Boolean>() {
+                @Override
+                public Boolean apply(WebDriver driver) {
+                    // Return true when abc[0] is not null or empty, indicating the response has been captured
+                    return result != null && !result.isEmpty();
+                }
+            }));
+        } catch (Exception e) {
+            return result;
+        }
+        return result;
+    }
+
+    /**
+     * Click using Coordinates of x & y
+     *
+     * @params xCoordinate , yCoordinate
+     */
+    @Override
+    public void clickUsingCoordinates(int xCoordinates, int yCoordinates) {
+        Instrumentation.action(BACKEND, "clickUsingCoordinates", xCoordinates + "," + yCoordinates, () -> {
+            Actions actions = new Actions(driver);
+            actions.moveToLocation(xCoordinates, yCoordinates) // Example offset from top-left corner
+                    .click().build().perform();
+        });
+    }
+
+    @Override
+    public void clickUsingCoordinatesInsideCanvas(int xCoordinates, int yCoordinates) {
+        String clickOnPoint = "var canvas = document.getElementsByTagName('canvas')[0];" +
+                "if (canvas) {" +
+                "  var clickEvent = new MouseEvent('click', {" +
+                "    clientX: " + xCoordinates + "," +
+                "    clientY: " + yCoordinates + "," +
+                "    bubbles: true," +
+                "    cancelable: true" +
+                "  });" +
+                "  canvas.dispatchEvent(clickEvent);" +
+                "}" +
+                "else {" +
+                "  console.error('No canvas element found');" +
+                "}";
+        js.executeScript(clickOnPoint);
+    }
+
+    @Override
+    public boolean verifyAlertMessage(String toast_msg) {
+        Alert alert = driver.switchTo().alert();
+
+        String alertMsg = alert.getText();
+        if (alertMsg.contains(toast_msg)) return true;
+
+        return false;
+    }
+
+    @Override
+    public void scrollPageUpAndDown(int xCoordinates, int yCoordinates) {
+        try {
+            js.executeScript("window.scrollBy(" + xCoordinates + "," + yCoordinates + ")");
+        } catch (Exception e) {
+            logger.warn(e.getMessage());
+        }
+    }
+
+    @Override
+    public void scrollPageSlowly(int count) {
+        if (count <= 0) {
+            count = 2;
+        }
+        for (int i = 0; i < count / 2; i++) {
+            try {
+                js.executeScript("window.scrollBy(0,400)");
+                Instrumentation.sleep("scroll", 1000L);
+            } catch (Exception e) {
+                logger.warn(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> clickAndMock(String address, Map<RequestConditionsToMock, MockResponseToSend> map) {
+        //TODO
+        return null;
+    }
+
+    @Override
+    public boolean isRadioChecked(String address) {
+        return findElement(address).isSelected();
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> openUrlAndMock(String url, Map<RequestConditionsToMock, MockResponseToSend> map) {
+        //TODO
+        return null;
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> swipeAndMock(String url, Map<RequestConditionsToMock, MockResponseToSend> map) {
+        //TODO
+        return null;
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> scrollToElementAndMock(String address, Map<RequestConditionsToMock, MockResponseToSend> map) {
+        //TODO
+        return null;
+    }
+
+    @Override
+    public void updateGlobalWait(int waitInSeconds) {
+        defaultWait = waitInSeconds;
+    }
+
+    int getGlobalWait() {
+        return defaultWait;
+    }
+
+    @Override
+    public void setLogLevel(LogLevel level) {
+        logger.setLevel(level);
+    }
+
+    /**
+     * Get the logger of this session
+     */
+    public SelewrightLogger getLogger() {
+        return logger;
+    }
+
+    public Map<String, Map<String, Object>> refreshAndMock(Map<RequestConditionsToMock, MockResponseToSend> map) {
+        //TODO
+        return null;
+    }
+
+    private CompletableFuture<String> futureURL(String apiName, String locator, Selewright.BrowserAction action, String text) {
+        return null;
+        //TODO
+    }
+
+    @Override
+    public String getCompleteUrlFromRequestCall(String apiName, String locator, Selewright.BrowserAction action, String text) {
+        CompletableFuture<String> future = futureURL(apiName, locator, action, text);
+        return future.join();
+    }
+
+    @Override
+    public void scrollPageHeight() {
+        scrollPageUpAndDown(0, (int) js.executeScript("return window.innerHeight;"));
+    }
+
+    @Override
+    public String getCssColor(String classname) {
+        WebElement ratingBadge = driver.findElement(By.cssSelector(classname));
+        return ratingBadge.getCssValue("color");
+    }
+
+    @Override
+    public List<String> getAllCssColor(String classname) {
+        List<WebElement> elements = findElements(classname);
+        List<String> colors = new ArrayList<>();
+        for (WebElement element : elements) {
+            colors.add(element.getCssValue("background-color"));
+        }
+        return colors;
+    }
+
+    @Override
+    public boolean waitTillTextPresent(String locator, int waitTimeInSeconds) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+
+        try {
+            return Instrumentation.timeWait("text", 10, () -> wait.until((ExpectedCondition<Boolean>) driver -> {
+                String text = getText(locator);
+                return text != null && !text.isEmpty();
+            }));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isInputEnabled(String address) {
+        return findElement(address).isEnabled();
+    }
+
+    @Override
+    public void highlight(Object elem) {
+        WebElement element = (WebElement) elem;
+        js.executeScript("arguments[0].style.border = '3px solid green'", element);
+        js.executeScript("arguments[0].style.outline='2px solid green'", element);
+        js.executeScript("arguments[0].style.padding='5px'", element);
+    }
+
+    @Override
+    public void unhighlight(Object elem) {
+        try {
+            WebElement element = (WebElement) elem;
+            js.executeScript("arguments[0].style.border = ''", element);
+            js.executeScript("arguments[0].style.outline=''", element);
+            js.executeScript("arguments[0].style.padding=''", element);
+        } catch (Exception e) {
+
+        }
+    }
+
+    @Override
+    public boolean validateAPI(String apiName, String locator, BrowserAction action) {
+        return true;
+    }
+
+    @Override
+    public String getCompleteUrlFromRequestCall(String apiName) {
+        //TODO
+        return "";
+    }
+
+    @Override
+    public void removeElements(String address) {
+        findElement(address).sendKeys(Keys.BACK_SPACE);
+    }
+
+    @Override
+    public void removeElements(String address, String data) {
+        for (int i = 0; i < data.length(); i++) {
+            findElement(address).sendKeys(Keys.BACK_SPACE);
+        }
+    }
+
+    /**
+     * Enter the text letter by letter
+     */
+    @Override
+    public void enterTextLetterByLetter(String locator, String text) {
+        clear(locator);
+        enterText(locator, text, TypingStrategy.keyboard(TypingStrategy.DEFAULT_KEY_DELAY_MS));
+    }
+
+    /**
+     * Fetch the newtork response status
+     *
+     * @param apiName , locator
+     * @return status
+     */
+    @Override
+    public int fetchResponseStatus(String apiName, String locator, BrowserAction action, String text) {
+        return 0;
+        //TODO
+    }
+
+    /**
+     * use this method to aport any specific api
+     *
+     * @param apiName
+     * @param locator
+     * @param action
+     */
+    @Override
+    public void abortApi(String apiName, String locator, BrowserAction action) {
+        //TODO
+    }
+
+
+    public String[] alertMessage = new String[1];
+
+    /**
+     * Accept the alert message
+     */
+    @Override
+    public void acceptAlertMessage() {
+        try {
+            Alert alert = driver.switchTo().alert();
+            alertMessage[0] = alert.getText();
+            alert.accept();
+        } catch (Exception e) {
+            logger.error("Not able to accept the alert", e);
+        }
+    }
+
+    /**
+     * Get the alert message
+     */
+    @Override
+    public String getAlertMessage() {
+        return alertMessage[0];
+    }
+
+    /**
+     * returns the string which have opacity 0.2
+     */
+    @Override
+    public String opacityText(String locator) {
+        String result = "";
+        WebElement element = findElement(locator);
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String op = (String) js.executeScript("return window.getComputedStyle(arguments[0], null).getPropertyValue('opacity');", element);
+
+        if (op.equals("0.2")) {
+            result = element.getText();
+        }
+
+        return result;
+    }
+
+    /**
+     * Click and trigger the alert and accept the alert
+     *
+     * @return alert message
+     */
+    @Override
+    public String clickAndAcceptAlert(String locator) {
+        click(locator);
+        Instrumentation.sleep("alert", 5000);
+        this.acceptAlertMessage();
+
+        return getAlertMessage();
+    }
+
+    /**
+     * refresh and trigger the alert and accept the alert
+     *
+     * @return alert message
+     */
+    @Override
+    public String refreshAndAcceptAlert() {
+        refreshPage();
+        Instrumentation.sleep("alert", 5000);
+        this.acceptAlertMessage();
+
+        return getAlertMessage();
+    }
+
+
+    /**
+     * Scroll till the bottom of the page
+     *
+     * @return int ( number of times scrolled )
+     */
+    @Override
+    public int scrollTillEnd(String api) {
+        return scrollTillEnd(api, new InfiniteScrollOptions());
+    }
+
+    @Override
+    public int scrollTillEnd(String api, InfiniteScrollOptions options) {
+        return Instrumentation.action(BACKEND, "scrollTillEnd", api, () -> {
+            // The whole scroll runs inside the page and returns once the list stopped growing
+            Map<String, Object> result = Instrumentation.timeWait("infinite-scroll", (int) (options.getOverallTimeoutMillis() / 1000),
+                    () -> executeAsync("(" + InfiniteScrollOptions.SCROLL_FUNCTION + ")(arguments[0]).then(arguments[arguments.length - 1]);",
+                            options.toScriptArguments(api), options.getOverallTimeoutMillis()));
+            int calls = ((Number) result.get("calls")).intValue();
+            int pages = ((Number) result.get("pages")).intValue();
+            Object reason = result.get("reason");
+            if (!"end".equals(reason)) {
+                logger.warn(() -> "Stopped scrolling after " + pages + " pages: " + reason);
+            }
+            logger.debug(() -> "Scrolled " + pages + " pages, " + calls + " calls to " + api);
+            return calls;
+        });
+    }
+
+    /**
+     * Runs an asynchronous script which may take up to the given time, raising the script timeout meanwhile
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T executeAsync(String script, Object argument, long timeoutMs) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration scriptTimeout = timeouts.getScriptTimeout();
+        timeouts.scriptTimeout(Duration.ofMillis(timeoutMs + 5000));
+        try {
+            return (T) js.executeAsyncScript(script, argument);
+        } finally {
+            timeouts.scriptTimeout(scriptTimeout);
+        }
+    }
+
+    @Override
+    public String fetchResponseWithQueryParam(String apiName, String query, String locator, BrowserAction action, String text) {
+        return null; //TODO
+    }
+
+
+    /**
+     * @return whether image specified in locator came in html or not
+     */
+    @Override
+    public boolean isImageLoaded(String locator) {
+        try {
+            // Check if the image is displayed
+            if (!isDisplayed(locator)) {
+                return false;
+            }
+
+            // Use JavaScript to check if the image is fully loaded
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            return (Boolean) js.executeScript(
+                    "return arguments[0].complete && " +
+                            "typeof arguments[0].naturalWidth != 'undefined' && " +
+                            "arguments[0].naturalWidth > 0", findElement(locator));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public double getYCoordinates(String locator) {
+        return findElement(locator).getRect().getY();
+    }
+
+    @Override
+    public boolean scrollHorizontally(String locator) {
+        WebElement element = findElement(locator);
+        boolean isHorizontallyScrollable = (boolean) js.executeScript(
+                "return arguments[0].scrollWidth > arguments[0].clientWidth;", element);
+
+        if (isHorizontallyScrollable) {
+            logger.debug("The element is scrollable horizontally.");
+
+            // Scroll the element to the right
+            js.executeScript("arguments[0].scrollLeft = arguments[0].scrollWidth;", element);
+            return true;
+        }
+        return false;
+    }
+
+    public String getUserAgent() {
+        return (String) ((JavascriptExecutor) driver).executeScript("return navigator.userAgent;");
+    }
+
+    @Override
+    public Map<String, String> fetchMultipleResponse(List<String> apiNames, String locator, BrowserAction action) {
+        //TODO
+        return null;
+    }
+
+    @Override
+    public int countElements(String locator) {
+        List<WebElement> list = findElements(locator);
+        return list.size();
+    }
+
+    @Override
+    public boolean validateLinksWithoutHref(String locator) {
+        return false;
+    }
+
+    /**
+     * Get the color of the element
+     */
+    @Override
+    public String getElementColor(String locator) {
+        return findElement(locator).getCssValue("color");
+    }
+
+    @Override
+    public boolean assertRelativePosition(String locator1, String locator2) {
+        boolean flag = false;
+        int elem1Y = findElement(locator1).getLocation().getY();
+        int elem2Y = findElement(locator2).getLocation().getY();
+
+        if (elem1Y < elem2Y) flag = true;
+        return flag;
+    }
+
+    @Override
+    public boolean checkForElementToBeInvisible(String address, int timeInSeconds) {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeInSeconds));
+        return Instrumentation.timeWait("invisible", timeInSeconds, () -> wait.until(ExpectedConditions.invisibilityOfElementLocated(locator(address))));
+    }
+
+    @Override
+    public String getCssValue(String locator, String property) {
+        return findElement(locator).getCssValue(property);
+    }
+
+    @Override
+    public void swipeElement() {
+        Instrumentation.action(BACKEND, "swipeElement", null, () -> {
+            swipe(50, 80, 50, 20, SWIPE_DURATION_MS);
+        });
+    }
+
+    @Override
+    public void swipeDown() {
+        Instrumentation.action(BACKEND, "swipeDown", null, () -> {
+            swipe(50, 20, 50, 80, SWIPE_DURATION_MS);
+        });
+    }
+
+    private void swipe(double startXPercent, double startYPercent, double endXPercent, double endYPercent, int durationMs) {
+        // The whole path is played inside the page, so a touch swipe is a single round trip
+        Map<String, Object> viewport = executeAsync(TouchGesture.SWIPE_ASYNC_SCRIPT,
+                TouchGesture.swipe(startXPercent, startYPercent, endXPercent, endYPercent, durationMs), durationMs);
+        if (viewport != null) {
+            // No touch support: the same path as a native mouse drag, sent in a single action sequence
+            int width = ((Number) viewport.get("width")).intValue();
+            int height = ((Number) viewport.get("height")).intValue();
+            int steps = TouchGesture.steps(durationMs);
+            Duration pause = Duration.ofMillis(Math.max(0, durationMs) / steps);
+            Actions drag = new Actions(driver)
+                    .moveToLocation(position(width, startXPercent), position(height, startYPercent))
+                    .clickAndHold();
+            for (int step = 1; step <= steps; step++) {
+                double progress = (double) step / steps;
+                drag.pause(pause).moveToLocation(position(width, startXPercent + progress * (endXPercent - startXPercent)),
+                        position(height, startYPercent + progress * (endYPercent - startYPercent)));
+            }
+            drag.release().perform();
+        }
+    }
+
+    /**
+     * Converts a percent of the viewport to a pixel, kept inside the viewport as WebDriver rejects moves out of it
+     */
+    private static int position(int size, double percent) {
+        return Math.max(0, Math.min(size - 1, (int) (size * percent / 100)));
+    }
+
+    @Override
+    public void clickUsingJavascriptExecutor(String locator) {
+        js.executeScript("arguments[0].click();", locator);
+    }
+
+    @Override
+    public void mockApiResponseCode(int rCode, String apiName, String locator, BrowserAction action) {
+    }
+
+
+    /*
+     * Fetch the complete URL for the matched api triggered
+     */
+    @Override
+    public String fetchRequestUrl(String apiName, String locator, BrowserAction action, String text) {
+        return null;
+    }
+
+    /*
+     * Scroll to the top of the page
+     */
+    @Override
+    public void scrollToTheTopOfPage() {
+        js.executeScript("window.scrollTo(0, 0);");
+    }
+
+    /*
+     * Reached the end of the page or not
+     */
+    @Override
+    public boolean isAtPageEnd() {
+        long scrollHeight = (long) js.executeScript("return document.documentElement.scrollHeight");
+        long clientHeight = (long) js.executeScript("return document.documentElement.clientHeight");
+        long scrollTop = (long) js.executeScript("return document.documentElement.scrollTop");
+
+        return (scrollTop + clientHeight) >= scrollHeight;
+    }
+
+    /**
+     * pauses request for sometime
+     */
+    public boolean pauseRequest(String apiName, String locator, List<String> locators, BrowserAction action) {
+        return false;
+        // todo implementation
+    }
+
+    @Override
+    public boolean isTouchDevice() {
+        return false;
+    }
+
+
+}